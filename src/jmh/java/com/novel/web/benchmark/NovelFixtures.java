@@ -0,0 +1,55 @@
+package com.novel.web.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.novel.web.domain.Novel;
+import com.novel.web.domain.NovelDetails;
+import com.novel.web.domain.NovelOpinion;
+
+/**
+ * Realistic library content for the benchmarks: names of usual length and
+ * description/tags LOBs in the size range real novels carry.
+ */
+final class NovelFixtures {
+
+    static final int DESCRIPTION_LENGTH = 4_000;
+
+    static final int TAGS_LENGTH = 600;
+
+    private static final String[] WORDS = { "cultivation", "sect", "young", "master", "heaven", "dao",
+            "martial", "system", "reincarnation", "dragon", "sword", "immortal", "empire", "alchemy", "realm" };
+
+    private NovelFixtures() {
+    }
+
+    static List<Novel> novels(int count) {
+        Random random = new Random(42);
+        List<Novel> novels = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Novel novel = new Novel("Novel " + i + " " + text(random, 30), "https://example.com/novel/" + i,
+                    WORDS[i % WORDS.length], "原名 " + i);
+            novel.setID((long) i + 1);
+            NovelDetails details = new NovelDetails(text(random, DESCRIPTION_LENGTH), "Lin " + i,
+                    text(random, TAGS_LENGTH), 1_000 + i, text(random, 200));
+            details.setAddedOn(LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(i));
+            details.setLastUpdatedOn(details.getAddedOn());
+            NovelOpinion opinion = new NovelOpinion(4, i % 900, i % 7 == 0, "yes", null);
+            novel.setNovelDetails(details);
+            novel.setNovelOpinion(opinion);
+            novels.add(novel);
+        }
+        return novels;
+    }
+
+    private static String text(Random random, int length) {
+        StringBuilder text = new StringBuilder(length + 16);
+        while (text.length() < length) {
+            text.append(WORDS[random.nextInt(WORDS.length)]).append(", ");
+        }
+        return text.substring(0, length);
+    }
+
+}
@@ -0,0 +1,101 @@
+package com.novel.web.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.novel.web.dto.request.NovelRequestDTO;
+import com.novel.web.mapper.NovelRequestMapper;
+
+/**
+ * Throughput of the Jackson (de)serialization of {@link NovelRequestDTO}
+ * lists, the shape of the list endpoints and of bulk payloads, in each of the
+ * negotiated encodings (JSON, CBOR, Smile). The mapper is configured like the
+ * application's (Java time module, Spring defaults). The encoded size, raw and
+ * gzipped, of every combination is printed during setup.
+ *
+ * @author Vikas Yadav
+ * @version 1.0
+ * @since 2025
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NovelJsonBenchmark {
+
+    @Param({ "1", "100", "10000" })
+    public int records;
+
+    @Param({ "json", "cbor", "smile" })
+    public String format;
+
+    private ObjectWriter writer;
+
+    private ObjectReader reader;
+
+    private List<NovelRequestDTO> dtos;
+
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+            case "smile" -> Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        TypeReference<List<NovelRequestDTO>> listType = new TypeReference<>() {
+        };
+        writer = objectMapper.writerFor(listType);
+        reader = objectMapper.readerFor(listType);
+        dtos = Mappers.getMapper(NovelRequestMapper.class)
+                .toDTOList(NovelFixtures.novels(records));
+        encoded = writer.writeValueAsBytes(dtos);
+        System.out.printf("%n%s, %d record(s) : %d bytes, %d gzipped%n", format, records, encoded.length,
+                gzippedSize(encoded));
+    }
+
+    private static int gzippedSize(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.size();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return writer.writeValueAsBytes(dtos);
+    }
+
+    @Benchmark
+    public List<NovelRequestDTO> deserialize() throws IOException {
+        return reader.readValue(encoded);
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.novel.web.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.novel.web.domain.Novel;
+import com.novel.web.dto.request.NovelRequestDTO;
+import com.novel.web.mapper.NovelRequestMapper;
+
+/**
+ * Throughput of the MapStruct mapping every list response and write goes
+ * through. Run with {@code -prof gc} (the default of the jmh profile) for the
+ * allocation rate per operation.
+ *
+ * @author Vikas Yadav
+ * @version 1.0
+ * @since 2025
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NovelMapperBenchmark {
+
+    @Param({ "1", "100", "10000" })
+    public int records;
+
+    private NovelRequestMapper mapper;
+
+    private List<Novel> novels;
+
+    private List<NovelRequestDTO> dtos;
+
+    @Setup
+    public void setUp() {
+        mapper = Mappers.getMapper(NovelRequestMapper.class);
+        novels = NovelFixtures.novels(records);
+        dtos = mapper.toDTOList(novels);
+    }
+
+    @Benchmark
+    public List<Novel> toEntity() {
+        List<Novel> result = new ArrayList<>(dtos.size());
+        for (NovelRequestDTO dto : dtos) {
+            result.add(mapper.toEntity(dto));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<NovelRequestDTO> toDTO() {
+        List<NovelRequestDTO> result = new ArrayList<>(novels.size());
+        for (Novel novel : novels) {
+            result.add(mapper.toDTO(novel));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<NovelRequestDTO> toDTOList() {
+        return mapper.toDTOList(novels);
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.novel.web.loadtest;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Latencies of one worker, per operation. Each worker owns its recorder, so
+ * recording takes no lock; recorders are merged once the run is over.
+ */
+final class LatencyRecorder {
+
+    private final Map<Operation, Samples> samples = new EnumMap<>(Operation.class);
+
+    void record(Operation operation, long nanos, boolean success) {
+        samples.computeIfAbsent(operation, op -> new Samples()).add(nanos, success);
+    }
+
+    void mergeInto(LatencyRecorder total) {
+        samples.forEach((operation, own) -> total.samples.computeIfAbsent(operation, op -> new Samples()).addAll(own));
+    }
+
+    Samples get(Operation operation) {
+        return samples.get(operation);
+    }
+
+    static final class Samples {
+
+        private long[] nanos = new long[1024];
+
+        private int size;
+
+        private long errors;
+
+        void add(long value, boolean success) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = value;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        void addAll(Samples other) {
+            if (size + other.size > nanos.length) {
+                nanos = Arrays.copyOf(nanos, Math.max(size + other.size, nanos.length * 2));
+            }
+            System.arraycopy(other.nanos, 0, nanos, size, other.size);
+            size += other.size;
+            errors += other.errors;
+        }
+
+        int count() {
+            return size;
+        }
+
+        long errors() {
+            return errors;
+        }
+
+        /**
+         * @param percentile - share of requests, 0 to 100; call {@link #sort()} first
+         * @return the latency in milliseconds under which that share of the
+         *         requests completed
+         */
+        double percentileMillis(double percentile) {
+            if (size == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100 * size) - 1;
+            return nanos[Math.min(size - 1, Math.max(0, rank))] / 1_000_000.0;
+        }
+
+        void sort() {
+            Arrays.sort(nanos, 0, size);
+        }
+
+    }
+
+}
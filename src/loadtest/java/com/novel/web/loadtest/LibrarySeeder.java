@@ -0,0 +1,76 @@
+package com.novel.web.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.novel.web.domain.Novel;
+import com.novel.web.domain.NovelDetails;
+import com.novel.web.domain.NovelOpinion;
+import com.novel.web.index.GenreDictionary;
+import com.novel.web.repositories.NovelBatchRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fills the embedded database with {@code loadtest.novels} synthetic novels
+ * before the application reports ready, so the in-memory indexes are built
+ * over the full library.
+ */
+@Slf4j
+@Component
+@Profile("loadtest")
+public class LibrarySeeder {
+
+    private final NovelBatchRepository novelBatchRepo;
+
+    private final GenreDictionary genreDictionary;
+
+    private final LoadTestProperties properties;
+
+    public LibrarySeeder(NovelBatchRepository novelBatchRepo, GenreDictionary genreDictionary,
+            LoadTestProperties properties) {
+        this.novelBatchRepo = novelBatchRepo;
+        this.genreDictionary = genreDictionary;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void seed() {
+        long start = System.nanoTime();
+        Integer[] genreIds = new Integer[SyntheticLibrary.genreCount()];
+        for (int g = 0; g < genreIds.length; g++) {
+            genreIds[g] = genreDictionary.resolve(SyntheticLibrary.genre(g));
+        }
+        List<Novel> batch = new ArrayList<>(properties.getSeedBatchSize());
+        for (long i = 1; i <= properties.getNovels(); i++) {
+            batch.add(novel(i, genreIds[(int) (i % genreIds.length)]));
+            if (batch.size() == properties.getSeedBatchSize()) {
+                novelBatchRepo.insertAll(batch);
+                batch = new ArrayList<>(properties.getSeedBatchSize());
+            }
+            if (i % 100_000 == 0) {
+                log.info("Seeded {} novel(s)", i);
+            }
+        }
+        novelBatchRepo.insertAll(batch);
+        log.info("Seeded {} novel(s) in {} ms", properties.getNovels(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private Novel novel(long i, Integer genreId) {
+        Novel novel = new Novel(SyntheticLibrary.name(i), SyntheticLibrary.link(i), SyntheticLibrary.genre(i),
+                null);
+        novel.setGenreId(genreId);
+        NovelDetails details = new NovelDetails(
+                SyntheticLibrary.description(i, properties.getDescriptionLength()), "Mc " + i,
+                SyntheticLibrary.genre(i).toLowerCase() + ", cultivation, system", (int) (i % 3_000), null);
+        novel.setNovelDetails(details);
+        novel.setNovelOpinion(new NovelOpinion((int) (i % 6), (int) (i % 1_000), i % 10 == 0, "yes", null));
+        return novel;
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.novel.web.loadtest;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Load test wiring, active with the {@code loadtest} Spring profile only. See
+ * {@code application-loadtest.yml}.
+ */
+@Configuration
+@Profile("loadtest")
+@EnableConfigurationProperties(LoadTestProperties.class)
+public class LoadTestConfig {
+
+}
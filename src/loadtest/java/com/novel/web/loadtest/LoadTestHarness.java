@@ -0,0 +1,268 @@
+package com.novel.web.loadtest;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.novel.web.index.GenreDictionary;
+import com.novel.web.index.NovelNameIndex;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drives a weighted mix of reads and writes against the running application
+ * over HTTP, from {@code loadtest.concurrency} client threads, and writes the
+ * throughput and latency percentiles of each operation to
+ * {@code loadtest.report}.
+ *
+ * Starts once the application is ready and its in-memory indexes are built.
+ * A warm-up phase runs first and is not measured.
+ */
+@Slf4j
+@Component
+@Profile("loadtest")
+public class LoadTestHarness {
+
+    private static final double[] PERCENTILES = { 50, 90, 95, 99, 99.9 };
+
+    private final LoadTestProperties properties;
+
+    private final NovelNameIndex novelNameIndex;
+
+    private final GenreDictionary genreDictionary;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5)).build();
+
+    /** suffix keeping the names of novels added during the run unique */
+    private final AtomicLong added = new AtomicLong();
+
+    private String baseUrl;
+
+    public LoadTestHarness(LoadTestProperties properties, NovelNameIndex novelNameIndex,
+            GenreDictionary genreDictionary) {
+        this.properties = properties;
+        this.novelNameIndex = novelNameIndex;
+        this.genreDictionary = genreDictionary;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start(ApplicationReadyEvent event) {
+        if (!properties.isRun()) {
+            log.info("loadtest.run is false, the application is left running for manual tests");
+            return;
+        }
+        ConfigurableApplicationContext context = event.getApplicationContext();
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/novels";
+        Thread runner = new Thread(() -> {
+            try {
+                awaitIndexes();
+                run();
+            } catch (Exception ex) {
+                log.error("Load test failed : {}", ex.getMessage(), ex);
+            } finally {
+                if (properties.isExitWhenDone()) {
+                    System.exit(SpringApplication.exit(context));
+                }
+            }
+        }, "loadtest-harness");
+        runner.start();
+    }
+
+    private void awaitIndexes() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(10);
+        while (!(novelNameIndex.isReady() && genreDictionary.isReady()) && System.nanoTime() < deadline) {
+            Thread.sleep(200);
+        }
+    }
+
+    private void run() throws Exception {
+        log.info("Warming up for {}", properties.getWarmUp());
+        runPhase(properties.getWarmUp());
+        log.info("Measuring for {} with {} client(s)", properties.getDuration(), properties.getConcurrency());
+        long start = System.nanoTime();
+        LatencyRecorder total = runPhase(properties.getDuration());
+        double seconds = (System.nanoTime() - start) / 1e9;
+        String report = report(total, seconds);
+        Path path = Path.of(properties.getReport());
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Files.writeString(path, report);
+        log.info("Load test report written to {}\n{}", path.toAbsolutePath(), report);
+    }
+
+    private LatencyRecorder runPhase(Duration duration) throws InterruptedException {
+        int[] cumulativeWeights = cumulativeWeights();
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<LatencyRecorder> recorders = new ArrayList<>();
+        ExecutorService workers = Executors.newFixedThreadPool(properties.getConcurrency());
+        for (int w = 0; w < properties.getConcurrency(); w++) {
+            LatencyRecorder recorder = new LatencyRecorder();
+            recorders.add(recorder);
+            workers.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    Operation operation = pick(cumulativeWeights);
+                    long begin = System.nanoTime();
+                    boolean success = call(operation);
+                    recorder.record(operation, System.nanoTime() - begin, success);
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(duration.toSeconds() + 300, TimeUnit.SECONDS);
+        LatencyRecorder total = new LatencyRecorder();
+        recorders.forEach(recorder -> recorder.mergeInto(total));
+        return total;
+    }
+
+    private boolean call(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long id = random.nextLong(1, properties.getNovels() + 1L);
+        try {
+            HttpResponse<Void> response = switch (operation) {
+                case GET_BY_ID -> send(get("/" + id));
+                case SEARCH_BY_NAME -> send(get("?name=" + encode(SyntheticLibrary.nameTerm(id))));
+                case SEARCH_BY_GENRE -> send(get("?genre=" + encode(SyntheticLibrary.genre(id))));
+                case ALL -> send(get("/all"));
+                case ADD -> send(json("POST", "", newNovel()));
+                case BULK_ADD -> send(json("POST", "/bulk", newNovels()));
+                case PATCH -> send(json("PATCH", "/" + id, patch(id, random)));
+            };
+            return response.statusCode() < 400;
+        } catch (IOException ex) {
+            return false;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private HttpResponse<Void> send(HttpRequest request) throws IOException, InterruptedException {
+        // the body is drained, not kept: the cost of reading it is part of the latency
+        return client.send(request, HttpResponse.BodyHandlers.discarding());
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofMinutes(2)).GET().build();
+    }
+
+    private HttpRequest json(String method, String path, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofMinutes(2))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+
+    private String newNovel() {
+        long n = added.incrementAndGet();
+        return "{\"name\":\"Loadtest Novel " + n + "\",\"link\":\"https://loadtest.example/" + n
+                + "\",\"genre\":\"" + SyntheticLibrary.genre(n) + "\",\"novelDetails\":{\"description\":\""
+                + SyntheticLibrary.description(n, properties.getDescriptionLength())
+                + "\",\"tags\":\"cultivation\"},\"novelOpinion\":{\"rating\":3,\"chaptersRead\":1}}";
+    }
+
+    private String newNovels() {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < properties.getBulkSize(); i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append(newNovel());
+        }
+        return body.append(']').toString();
+    }
+
+    private String patch(long id, ThreadLocalRandom random) {
+        return "{\"name\":\"" + SyntheticLibrary.name(id) + "\",\"link\":\"" + SyntheticLibrary.link(id)
+                + "\",\"originalName\":\"patched " + random.nextInt(1_000) + "\",\"genre\":\""
+                + SyntheticLibrary.genre(random.nextInt(SyntheticLibrary.genreCount())) + "\"}";
+    }
+
+    private int[] cumulativeWeights() {
+        Operation[] operations = Operation.values();
+        int[] cumulative = new int[operations.length];
+        int sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            sum += operations[i].weight(properties.getMix());
+            cumulative[i] = sum;
+        }
+        if (sum == 0) {
+            throw new IllegalStateException("loadtest.mix gives every operation a weight of 0");
+        }
+        return cumulative;
+    }
+
+    private static Operation pick(int[] cumulativeWeights) {
+        int roll = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return Operation.values()[i];
+            }
+        }
+        throw new IllegalStateException("unreachable");
+    }
+
+    private String report(LatencyRecorder total, double seconds) {
+        StringWriter out = new StringWriter();
+        PrintWriter report = new PrintWriter(out);
+        report.printf("# novel library load test, %s%n", LocalDateTime.now().withNano(0));
+        report.printf("# library=%d novels, clients=%d, warm-up=%s, measured=%.1fs, java=%s%n",
+                properties.getNovels(), properties.getConcurrency(), properties.getWarmUp(), seconds,
+                Runtime.version());
+        report.printf("%-20s %9s %7s %9s", "operation", "requests", "errors", "req/s");
+        for (double percentile : PERCENTILES) {
+            report.printf(" %9s", "p" + (percentile % 1 == 0 ? String.valueOf((int) percentile) : percentile));
+        }
+        report.printf(" %9s%n", "max");
+        LatencyRecorder.Samples all = new LatencyRecorder.Samples();
+        for (Operation operation : Operation.values()) {
+            LatencyRecorder.Samples samples = total.get(operation);
+            if (samples != null) {
+                all.addAll(samples);
+                row(report, operation.label(), samples, seconds);
+            }
+        }
+        row(report, "all", all, seconds);
+        report.println("# latencies in milliseconds");
+        report.flush();
+        return out.toString();
+    }
+
+    private static void row(PrintWriter report, String label, LatencyRecorder.Samples samples, double seconds) {
+        samples.sort();
+        report.printf("%-20s %9d %7d %9.1f", label, samples.count(), samples.errors(), samples.count() / seconds);
+        for (double percentile : PERCENTILES) {
+            report.printf(" %9.2f", samples.percentileMillis(percentile));
+        }
+        report.printf(" %9.2f%n", samples.percentileMillis(100));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+}
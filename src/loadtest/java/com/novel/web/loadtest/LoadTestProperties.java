@@ -0,0 +1,72 @@
+package com.novel.web.loadtest;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Load test settings bound from {@code loadtest.*}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "loadtest")
+public class LoadTestProperties {
+
+    /** novels seeded before the run, 10k to 1M */
+    private int novels = 10_000;
+
+    /** novels written per seeding batch */
+    private int seedBatchSize = 1_000;
+
+    /** length of the seeded descriptions */
+    private int descriptionLength = 400;
+
+    /** run the workload once the application is ready */
+    private boolean run = true;
+
+    /** concurrent client connections */
+    private int concurrency = 16;
+
+    /** workload run before measuring, results discarded */
+    private Duration warmUp = Duration.ofSeconds(15);
+
+    /** measured workload */
+    private Duration duration = Duration.ofSeconds(60);
+
+    /** novels per POST /novels/bulk request */
+    private int bulkSize = 50;
+
+    /** where the report is written */
+    private String report = "target/loadtest-report.txt";
+
+    /** shut the application down when the report is written */
+    private boolean exitWhenDone = true;
+
+    /** relative weight of each operation in the workload mix */
+    private Mix mix = new Mix();
+
+    @Getter
+    @Setter
+    public static class Mix {
+
+        private int getById = 40;
+
+        private int searchByName = 15;
+
+        private int searchByGenre = 10;
+
+        /** GET /novels/all reads the whole library; keep rare on large libraries */
+        private int all = 1;
+
+        private int add = 10;
+
+        private int bulkAdd = 4;
+
+        private int patch = 20;
+
+    }
+
+}
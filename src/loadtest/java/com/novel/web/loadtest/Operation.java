@@ -0,0 +1,35 @@
+package com.novel.web.loadtest;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * Requests the harness issues, with the weight each has in the mix.
+ */
+enum Operation {
+
+    GET_BY_ID("GET /novels/{id}", LoadTestProperties.Mix::getGetById),
+    SEARCH_BY_NAME("GET /novels?name", LoadTestProperties.Mix::getSearchByName),
+    SEARCH_BY_GENRE("GET /novels?genre", LoadTestProperties.Mix::getSearchByGenre),
+    ALL("GET /novels/all", LoadTestProperties.Mix::getAll),
+    ADD("POST /novels", LoadTestProperties.Mix::getAdd),
+    BULK_ADD("POST /novels/bulk", LoadTestProperties.Mix::getBulkAdd),
+    PATCH("PATCH /novels/{id}", LoadTestProperties.Mix::getPatch);
+
+    private final String label;
+
+    private final ToIntFunction<LoadTestProperties.Mix> weight;
+
+    Operation(String label, ToIntFunction<LoadTestProperties.Mix> weight) {
+        this.label = label;
+        this.weight = weight;
+    }
+
+    String label() {
+        return label;
+    }
+
+    int weight(LoadTestProperties.Mix mix) {
+        return Math.max(0, weight.applyAsInt(mix));
+    }
+
+}
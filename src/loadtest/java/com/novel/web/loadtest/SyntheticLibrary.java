@@ -0,0 +1,53 @@
+package com.novel.web.loadtest;
+
+/**
+ * Deterministic synthetic library shared by the seeder and the harness, so the
+ * harness can address seeded novels by id, name and genre without reading
+ * them back.
+ */
+final class SyntheticLibrary {
+
+    private static final String[] WORDS = { "Nine", "Star", "Hegemon", "Martial", "Peak", "Sword", "Dragon",
+            "Immortal", "Emperor", "Heaven", "Dao", "Saint", "Body", "Alchemy", "Sect", "Realm", "Demon", "God",
+            "Path", "Eternal", "Supreme", "Spirit", "Phoenix", "Abyss" };
+
+    private static final String[] GENRES = { "Xianxia", "Xuanhuan", "Wuxia", "Eastern Fantasy", "Fantasy",
+            "Sci-fi", "Urban", "Historical", "Romance", "Mystery", "Horror", "Game", "Apocalypse", "Harem",
+            "Slice Of Life" };
+
+    private SyntheticLibrary() {
+    }
+
+    /** name of the i-th seeded novel (1 based, equal to its id on a fresh database) */
+    static String name(long i) {
+        return WORDS[(int) (i % WORDS.length)] + " " + WORDS[(int) ((i / WORDS.length) % WORDS.length)] + " "
+                + Long.toString(i, 36);
+    }
+
+    /** a search term matching the i-th novel and only a handful of others */
+    static String nameTerm(long i) {
+        return WORDS[(int) ((i / WORDS.length) % WORDS.length)] + " " + Long.toString(i, 36);
+    }
+
+    static String link(long i) {
+        return "https://novels.example/" + i;
+    }
+
+    static String genre(long i) {
+        return GENRES[(int) (i % GENRES.length)];
+    }
+
+    static int genreCount() {
+        return GENRES.length;
+    }
+
+    static String description(long i, int length) {
+        StringBuilder text = new StringBuilder(length + 16);
+        long word = i;
+        while (text.length() < length) {
+            text.append(WORDS[(int) (word++ % WORDS.length)].toLowerCase()).append(' ');
+        }
+        return text.substring(0, length);
+    }
+
+}
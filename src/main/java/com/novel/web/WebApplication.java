@@ -3,11 +3,13 @@ package com.novel.web;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @EnableJpaAuditing
+@EnableScheduling
 @SpringBootApplication
 public class WebApplication {
 
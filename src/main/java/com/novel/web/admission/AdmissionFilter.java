@@ -0,0 +1,200 @@
+package com.novel.web.admission;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Admission control in front of the {@code /novels} endpoints.
+ *
+ * Each request is first charged to its client's token bucket
+ * ({@link ClientRateLimiter}) and answered with a 429 when the bucket is
+ * empty. It then has to get a slot in the bulkhead of its
+ * {@link EndpointClass}; when the bulkhead and its queue are full, or no slot
+ * frees up within the class's max-wait, it is answered with a 503. Both carry
+ * a {@code Retry-After}. Rejections cost no database work, and a class
+ * flooded with requests (bulk uploads, full listings) keeps its overflow to
+ * itself: the cheap reads keep their own slots and latency.
+ *
+ * A streamed response (the export) holds its slot until the stream is done.
+ *
+ * Rejections are counted in {@code novel.admission.rejected} (tagged with the
+ * class and the reason); {@code novel.admission.active} and
+ * {@code novel.admission.queued} report each bulkhead's occupancy.
+ *
+ * @author Vikas Yadav
+ * @version 1.0
+ * @since 2025
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@EnableConfigurationProperties(AdmissionProperties.class)
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    private final AdmissionProperties properties;
+
+    private final ClientRateLimiter rateLimiter;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<EndpointClass, Bulkhead> bulkheads = new EnumMap<>(EndpointClass.class);
+
+    public AdmissionFilter(AdmissionProperties properties, ClientRateLimiter rateLimiter,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.rateLimiter = rateLimiter;
+        this.meterRegistry = meterRegistry;
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            AdmissionProperties.Limits limits = properties.limitsOf(endpointClass);
+            Bulkhead bulkhead = new Bulkhead(limits.getMaxConcurrent(), limits.getMaxQueue(), limits.getMaxWait());
+            bulkheads.put(endpointClass, bulkhead);
+            String tag = tagOf(endpointClass);
+            Gauge.builder("novel.admission.active", bulkhead, Bulkhead::getActive)
+                    .description("Requests holding a bulkhead slot")
+                    .tag("class", tag)
+                    .register(meterRegistry);
+            Gauge.builder("novel.admission.queued", bulkhead, Bulkhead::getQueued)
+                    .description("Requests waiting for a bulkhead slot")
+                    .tag("class", tag)
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        EndpointClass endpointClass = EndpointClass.of(request.getMethod(), pathOf(request));
+        if (endpointClass == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        if (properties.getRateLimit().isEnabled()) {
+            String client = clientOf(request);
+            long waitNanos = rateLimiter.tryAcquire(client);
+            if (waitNanos > 0) {
+                log.debug("Rate limited {} on {} {}", client, request.getMethod(), request.getRequestURI());
+                reject(response, endpointClass, "rate-limit", HttpStatus.TOO_MANY_REQUESTS,
+                        TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L),
+                        "Too many requests, slow down");
+                return;
+            }
+        }
+
+        Bulkhead bulkhead = bulkheads.get(endpointClass);
+        Bulkhead.Admission admission = bulkhead.tryEnter();
+        if (admission != Bulkhead.Admission.ADMITTED) {
+            log.warn("Rejected {} {}: {} bulkhead {}", request.getMethod(), request.getRequestURI(),
+                    tagOf(endpointClass), admission == Bulkhead.Admission.QUEUE_FULL ? "full" : "wait timed out");
+            reject(response, endpointClass, admission == Bulkhead.Admission.QUEUE_FULL ? "queue-full" : "timeout",
+                    HttpStatus.SERVICE_UNAVAILABLE, Math.max(1, properties.getRetryAfter().toSeconds()),
+                    "Server busy, try again later");
+            return;
+        }
+
+        AtomicBoolean exited = new AtomicBoolean();
+        Runnable exit = () -> {
+            if (exited.compareAndSet(false, true)) {
+                bulkhead.exit();
+            }
+        };
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ExitOnCompletion(exit));
+            } else {
+                exit.run();
+            }
+        }
+    }
+
+    private void reject(HttpServletResponse response, EndpointClass endpointClass, String reason,
+            HttpStatus status, long retryAfterSeconds, String message) throws IOException {
+        Counter.builder("novel.admission.rejected")
+                .description("Requests turned away by admission control")
+                .tag("class", tagOf(endpointClass))
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(message);
+    }
+
+    private String clientOf(HttpServletRequest request) {
+        String header = properties.getRateLimit().getClientHeader();
+        if (header != null && !header.isBlank()) {
+            String client = request.getHeader(header);
+            if (client != null && !client.isBlank()) {
+                return client;
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private static String pathOf(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static String tagOf(EndpointClass endpointClass) {
+        return endpointClass.name().toLowerCase().replace('_', '-');
+    }
+
+    /** frees the slot of a request once its asynchronous processing is over */
+    private record ExitOnCompletion(Runnable exit) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            exit.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            exit.run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            exit.run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // the listener is carried over to the next cycle, nothing to do
+        }
+
+    }
+
+}
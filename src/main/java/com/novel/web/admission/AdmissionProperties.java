@@ -0,0 +1,102 @@
+package com.novel.web.admission;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Admission control settings bound from {@code novel.admission.*}: one
+ * bulkhead per {@link EndpointClass} and a per-client rate limit.
+ *
+ * @author Vikas Yadav
+ * @version 1.0
+ * @since 2025
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "novel.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = true;
+
+    /** Retry-After sent with a 503 when a bulkhead is full */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    private Limits cheapRead = new Limits(64, 256, Duration.ofMillis(100));
+
+    private Limits search = new Limits(16, 64, Duration.ofMillis(500));
+
+    private Limits heavyRead = new Limits(2, 4, Duration.ofSeconds(2));
+
+    private Limits write = new Limits(4, 32, Duration.ofSeconds(2));
+
+    private Limits heavyWrite = new Limits(2, 4, Duration.ofSeconds(2));
+
+    private RateLimit rateLimit = new RateLimit();
+
+    public Limits limitsOf(EndpointClass endpointClass) {
+        return switch (endpointClass) {
+        case CHEAP_READ -> cheapRead;
+        case SEARCH -> search;
+        case HEAVY_READ -> heavyRead;
+        case WRITE -> write;
+        case HEAVY_WRITE -> heavyWrite;
+        };
+    }
+
+    @Getter
+    @Setter
+    public static class Limits {
+
+        /** requests of the class processed at once */
+        private int maxConcurrent;
+
+        /** requests waiting for a slot, beyond which they are rejected right away */
+        private int maxQueue;
+
+        /** how long a queued request waits for a slot before it is rejected */
+        private Duration maxWait;
+
+        public Limits() {
+        }
+
+        Limits(int maxConcurrent, int maxQueue, Duration maxWait) {
+            this.maxConcurrent = maxConcurrent;
+            this.maxQueue = maxQueue;
+            this.maxWait = maxWait;
+        }
+
+    }
+
+    @Getter
+    @Setter
+    public static class RateLimit {
+
+        private boolean enabled = true;
+
+        /** sustained requests per second allowed to one client */
+        private double requestsPerSecond = 50;
+
+        /** requests a client may send at once after being idle */
+        private int burst = 100;
+
+        /**
+         * header identifying the client (e.g. an API key), the remote address
+         * when blank or absent from the request; behind a proxy, set
+         * {@code server.forward-headers-strategy} so the remote address is
+         * the client's
+         */
+        private String clientHeader;
+
+        /** clients tracked at once, the rest share one bucket */
+        private int maxClients = 10_000;
+
+        /** how often buckets of idle clients are dropped */
+        private Duration purgeInterval = Duration.ofMinutes(1);
+
+    }
+
+}
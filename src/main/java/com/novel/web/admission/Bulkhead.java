@@ -0,0 +1,87 @@
+package com.novel.web.admission;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit with a bounded wait queue for one {@link EndpointClass}.
+ *
+ * Up to {@code maxConcurrent} requests run at once; up to {@code maxQueue}
+ * more wait on a fair {@link Semaphore} for at most {@code maxWait}. A
+ * request arriving to a full queue is rejected without waiting, so an
+ * overloaded class answers fast instead of piling up threads.
+ *
+ * @author Vikas Yadav
+ * @version 1.0
+ * @since 2025
+ */
+public class Bulkhead {
+
+    /** outcome of {@link #tryEnter()} */
+    public enum Admission {
+        ADMITTED, QUEUE_FULL, TIMED_OUT
+    }
+
+    private final Semaphore permits;
+
+    private final int maxConcurrent;
+
+    private final int maxQueue;
+
+    private final long maxWaitNanos;
+
+    private final AtomicInteger queued = new AtomicInteger();
+
+    public Bulkhead(int maxConcurrent, int maxQueue, Duration maxWait) {
+        if (maxConcurrent <= 0 || maxQueue < 0) {
+            throw new IllegalArgumentException("max-concurrent must be positive and max-queue not negative");
+        }
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueue = maxQueue;
+        this.maxWaitNanos = maxWait.toNanos();
+    }
+
+    /**
+     * takes a slot, waiting in the queue if there is room in it; every
+     * {@code ADMITTED} must be followed by one {@link #exit()}
+     */
+    public Admission tryEnter() {
+        if (permits.tryAcquire()) {
+            return Admission.ADMITTED;
+        }
+        if (queued.incrementAndGet() > maxQueue) {
+            queued.decrementAndGet();
+            return Admission.QUEUE_FULL;
+        }
+        try {
+            return permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS) ? Admission.ADMITTED : Admission.TIMED_OUT;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return Admission.TIMED_OUT;
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    public void exit() {
+        permits.release();
+    }
+
+    /**
+     * @return requests holding a slot
+     */
+    public int getActive() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    /**
+     * @return requests waiting for a slot
+     */
+    public int getQueued() {
+        return queued.get();
+    }
+
+}
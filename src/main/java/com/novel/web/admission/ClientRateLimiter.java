@@ -0,0 +1,83 @@
+package com.novel.web.admission;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-client rate limit: one {@link TokenBucket} per client key, created on
+ * the first request and dropped once it has refilled and sits idle.
+ *
+ * At most {@code novel.admission.rate-limit.max-clients} buckets are kept, so
+ * a flood of distinct keys cannot grow the map without bound; clients beyond
+ * it share a single overflow bucket until idle buckets are purged.
+ *
+ * @author Vikas Yadav
+ * @version 1.0
+ * @since 2025
+ */
+@Slf4j
+@Component
+public class ClientRateLimiter {
+
+    private final AdmissionProperties.RateLimit settings;
+
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    private final TokenBucket overflow;
+
+    public ClientRateLimiter(AdmissionProperties properties) {
+        this.settings = properties.getRateLimit();
+        this.overflow = newBucket(System.nanoTime());
+    }
+
+    /**
+     * takes a token from the client's bucket
+     *
+     * @param client - key of the client
+     * @return 0 if the request is allowed, otherwise the nanoseconds until it
+     *         would be
+     */
+    public long tryAcquire(String client) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(client);
+        if (bucket == null) {
+            if (buckets.size() >= settings.getMaxClients()) {
+                log.debug("Rate limiting {} with the overflow bucket, {} clients tracked", client, buckets.size());
+                return overflow.tryAcquire(now);
+            }
+            bucket = buckets.computeIfAbsent(client, key -> newBucket(now));
+        }
+        return bucket.tryAcquire(now);
+    }
+
+    /**
+     * forgets clients whose bucket has refilled, they would get a full bucket
+     * again anyway
+     */
+    @Scheduled(fixedDelayString = "${novel.admission.rate-limit.purge-interval:1m}")
+    public void purgeIdle() {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+        if (before > 0) {
+            log.debug("Purged {} idle rate limit bucket(s), {} left", before - buckets.size(), buckets.size());
+        }
+    }
+
+    /**
+     * @return clients currently tracked
+     */
+    public int getTrackedClients() {
+        return buckets.size();
+    }
+
+    private TokenBucket newBucket(long now) {
+        return new TokenBucket(settings.getRequestsPerSecond(), settings.getBurst(), now);
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.novel.web.admission;
+
+import org.springframework.http.HttpMethod;
+
+/**
+ * Cost classes of the {@code /novels} endpoints, each with its own bulkhead so
+ * that a flood of expensive requests cannot take the capacity of the cheap
+ * ones.
+ *
+ * @author Vikas Yadav
+ * @version 1.0
+ * @since 2025
+ */
+public enum EndpointClass {
+
+    /** single novel, counts, genres, facets, ratings, job status: index or cache lookups */
+    CHEAP_READ,
+
+    /** searches by name, genre or tags and keyset pages (favorites included) */
+    SEARCH,
+
+    /** whole-library reads: {@code /novels/all} and {@code /novels/export} */
+    HEAVY_READ,
+
+    /**
+     * writes of a single novel or a queued job: create, patch, progress,
+     * rating, bulk job submission
+     */
+    WRITE,
+
+    /**
+     * writes streaming a whole payload into the library in the request:
+     * {@code POST /novels/bulk} and {@code POST /novels/import}; kept apart so
+     * that long imports cannot hold the slots of the single novel writes
+     */
+    HEAVY_WRITE;
+
+    private static final String ROOT = "/novels";
+
+    /**
+     * @param method - HTTP method of the request
+     * @param path   - request path, without the context path
+     * @return class of the endpoint, null if the path is not admission
+     *         controlled (actuator, API docs, ...)
+     */
+    public static EndpointClass of(String method, String path) {
+        if (!path.equals(ROOT) && !path.startsWith(ROOT + "/")) {
+            return null;
+        }
+        if (HttpMethod.OPTIONS.matches(method)) {
+            // CORS preflights are answered by the framework
+            return null;
+        }
+        String rest = path.substring(ROOT.length());
+        if (!HttpMethod.GET.matches(method) && !HttpMethod.HEAD.matches(method)) {
+            return switch (rest) {
+            case "/bulk", "/import" -> HEAVY_WRITE;
+            default -> WRITE;
+            };
+        }
+        return switch (rest) {
+        case "/all", "/export" -> HEAVY_READ;
+        case "", "/", "/page", "/tags/search", "/favorites" -> SEARCH;
+        default -> CHEAP_READ;
+        };
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.novel.web.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket, implemented as the generic cell rate algorithm.
+ *
+ * Instead of a token count and a refill timestamp, which would have to change
+ * together, the bucket keeps one number: the theoretical arrival time (TAT),
+ * the instant at which the bucket will be full again. Taking a token pushes it
+ * one emission interval ({@code 1 / rate}) further; a request is allowed as
+ * long as the TAT stays within {@code burst} intervals of now. A single CAS
+ * on an {@link AtomicLong} therefore updates the bucket, and a rejected request
+ * also learns exactly when its token will be available.
+ *
+ * @author Vikas Yadav
+ * @version 1.0
+ * @since 2025
+ */
+public class TokenBucket {
+
+    private final long emissionIntervalNanos;
+
+    private final long burstNanos;
+
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * @param requestsPerSecond - sustained rate
+     * @param burst             - requests allowed at once to a full bucket
+     * @param nowNanos          - current {@link System#nanoTime()}
+     */
+    public TokenBucket(double requestsPerSecond, int burst, long nowNanos) {
+        if (requestsPerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("requests-per-second and burst must be positive");
+        }
+        this.emissionIntervalNanos = Math.max(1, Math.round(1_000_000_000d / requestsPerSecond));
+        this.burstNanos = emissionIntervalNanos * burst;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * takes a token if one is available
+     *
+     * @param nowNanos - current {@link System#nanoTime()}
+     * @return 0 if the token was taken, otherwise the nanoseconds until one
+     *         will be available
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long next = Math.max(tat, nowNanos) + emissionIntervalNanos;
+            long wait = next - burstNanos - nowNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(tat, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * @return true if the bucket has refilled completely, i.e. forgetting it
+     *         changes nothing
+     */
+    public boolean isFull(long nowNanos) {
+        return theoreticalArrival.get() - nowNanos <= 0;
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.novel.web.cache;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import com.novel.web.configuration.CacheConfig;
+import com.novel.web.domain.Novel;
+import com.novel.web.service.NovelChangeListener;
+import com.novel.web.service.NovelSnapshot;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Evicts exactly the cache entries a write makes stale: the novel itself and
+ * the genre searches it appears (or appeared) in. Reading progress written
+ * behind clears the genre searches altogether.
+ * 
+ * With a read replica, a read served from it in the meantime may put the
+ * pre-write state back into a cache, so the entries are evicted a second time
+ * once the replica can have caught up ({@code db.replica.max-lag}).
+ */
+@Slf4j
+@Component
+public class NovelCacheInvalidator implements NovelChangeListener {
+
+    private final CacheManager cacheManager;
+
+    private final TaskScheduler taskScheduler;
+
+    /** null without a replica */
+    private final Duration replicaMaxLag;
+
+    public NovelCacheInvalidator(CacheManager cacheManager, TaskScheduler taskScheduler,
+            @Value("${db.replica.url:}") String replicaUrl,
+            @Value("${db.replica.max-lag:5s}") Duration replicaMaxLag) {
+        this.cacheManager = cacheManager;
+        this.taskScheduler = taskScheduler;
+        this.replicaMaxLag = replicaUrl.isBlank() ? null : replicaMaxLag;
+    }
+
+    @Override
+    public void novelAdded(Novel novel) {
+        evict(CacheConfig.NOVELS_BY_GENRE, novel.getGenreId());
+    }
+
+    @Override
+    public void novelUpdated(NovelSnapshot before, Novel after) {
+        evict(CacheConfig.NOVELS, after.getID());
+        evict(CacheConfig.NOVELS_BY_GENRE, before.genreId());
+        evict(CacheConfig.NOVELS_BY_GENRE, after.getGenreId());
+    }
+
+    @Override
+    public void progressWritten(Map<Long, Integer> chaptersRead) {
+        chaptersRead.keySet().forEach(id -> evict(CacheConfig.NOVELS, id));
+        // the genres of the novels are not known without reading them
+        clear(CacheConfig.NOVELS_BY_GENRE);
+    }
+
+    private void evict(String cacheName, Object key) {
+        evictNow(cacheName, key);
+        if (replicaMaxLag != null && key != null) {
+            taskScheduler.schedule(() -> evictNow(cacheName, key), Instant.now().plus(replicaMaxLag));
+        }
+    }
+
+    private void clear(String cacheName) {
+        clearNow(cacheName);
+        if (replicaMaxLag != null) {
+            taskScheduler.schedule(() -> clearNow(cacheName), Instant.now().plus(replicaMaxLag));
+        }
+    }
+
+    private void clearNow(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+            log.debug("Cleared cache {}", cacheName);
+        }
+    }
+
+    private void evictNow(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null) {
+            cache.evict(key);
+            log.debug("Evicted {} from cache {}", key, cacheName);
+        }
+    }
+
+}
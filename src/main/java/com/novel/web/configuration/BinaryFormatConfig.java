@@ -0,0 +1,43 @@
+package com.novel.web.configuration;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Binary encodings of the REST payloads, picked through content negotiation.
+ *
+ * A client sending {@code Accept: application/cbor} or
+ * {@code Accept: application/x-jackson-smile} gets the same document as the
+ * JSON one in a binary encoding: no quoting or escaping of the long text
+ * fields, length-prefixed strings and (Smile) back-references to repeated
+ * field names, which makes it smaller and faster to parse. Request bodies are
+ * accepted in both encodings too. JSON stays the default when the client
+ * does not ask for one of them.
+ *
+ * Both mappers come from Spring Boot's {@link Jackson2ObjectMapperBuilder}, so
+ * {@code spring.jackson.*} settings apply to every encoding alike.
+ *
+ * @author Vikas Yadav
+ * @version 1.0
+ * @since 2025
+ */
+@Configuration
+public class BinaryFormatConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.novel.web.configuration;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Enables Spring's cache abstraction for the read paths of the novel service.
+ * 
+ * The provider is chosen through {@code spring.cache.*}: Caffeine (bounded by
+ * size, expiring by TTL, recording stats) by default, or {@code simple} /
+ * {@code none} in tests. Hit, miss and eviction counters of the Caffeine
+ * caches are published as the {@code cache.gets} and {@code cache.evictions}
+ * metrics on the actuator.
+ * 
+ * The cache advice runs outside the transaction advice, so a hit does not
+ * begin a transaction.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    /** novels by id */
+    public static final String NOVELS = "novels";
+
+    /** result of a genre search, by genre id */
+    public static final String NOVELS_BY_GENRE = "novelsByGenre";
+
+}
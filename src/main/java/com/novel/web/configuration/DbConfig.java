@@ -1,20 +1,53 @@
 package com.novel.web.configuration;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.context.event.ApplicationReadyEvent;
-import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 
 import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.sql.DataSource;
 
+/**
+ * Pooled {@link DataSource} for the library database.
+ *
+ * Pool sizing, timeouts and leak detection come from {@link DbPoolProperties}
+ * ({@code db.pool.*}); on MySQL, statements are prepared server side and
+ * cached per connection and batches are rewritten into multi-row inserts.
+ * Pool metrics ({@code hikaricp.connections.*}) are published through the
+ * actuator. With {@code db.pool.concurrency-limit} set, callers queue in
+ * front of the pool (see {@link ConnectionLimitingDataSource}).
+ *
+ * With {@code db.replica.url} set ({@link DbReplicaProperties}), a second pool
+ * is opened on the read replica and read-only service transactions are routed
+ * to it while its lag allows (see {@link ReplicaRoutingDataSource}).
+ *
+ * The pools sit behind wrappers, so Spring cannot infer their close method;
+ * they are closed when this configuration is destroyed, after the beans using
+ * the data source.
+ *
+ * @author Vikas Yadav
+ * @version 1.0
+ * @since 2025
+ */
 @Slf4j
 @Configuration
+@EnableConfigurationProperties({ DbPoolProperties.class, DbReplicaProperties.class })
 public class DbConfig {
 
     @Value("${db.url}")
@@ -29,24 +62,119 @@ public class DbConfig {
     @Value("${db.driver}")
     private String driverclassString;
 
+    private final DbPoolProperties pool;
+
+    private final DbReplicaProperties replica;
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public DbConfig(DbPoolProperties pool, DbReplicaProperties replica, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.pool = pool;
+        this.replica = replica;
+        this.meterRegistry = meterRegistry;
+    }
+
     @Bean
     public DataSource dataSource() {
         log.info("Bean declared for data source");
-        return DataSourceBuilder.create().url(dbUrl).username(username).password(password)
-                .driverClassName(driverclassString).build();
+        DataSource primary = pooled(pool.getName(), dbUrl, username, password);
+        DataSource routed = primary;
+        if (replica.isEnabled()) {
+            DataSource replicaPool = pooled(pool.getName() + "-replica", replica.getUrl(),
+                    replica.getUsername() != null ? replica.getUsername() : username,
+                    replica.getPassword() != null ? replica.getPassword() : password);
+            log.info("Read-only service transactions go to the replica while it lags less than {} ms",
+                    replica.getMaxLag().toMillis());
+            routed = new ReplicaRoutingDataSource(primary, replicaPool, replica.getMaxLag());
+        }
+        // connections are fetched at the first statement, once the transaction is
+        // set up and can be routed, and not at all by transactions issuing none
+        return new LazyConnectionDataSourceProxy(routed);
+    }
+
+    private DataSource pooled(String name, String url, String user, String secret) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(name);
+        config.setJdbcUrl(url);
+        config.setUsername(user);
+        config.setPassword(secret);
+        config.setDriverClassName(driverclassString);
+        config.setMaximumPoolSize(pool.getMaximumPoolSize());
+        config.setMinimumIdle(pool.getMinimumIdle());
+        config.setConnectionTimeout(pool.getConnectionTimeout().toMillis());
+        config.setValidationTimeout(pool.getValidationTimeout().toMillis());
+        config.setIdleTimeout(pool.getIdleTimeout().toMillis());
+        config.setMaxLifetime(pool.getMaxLifetime().toMillis());
+        config.setLeakDetectionThreshold(pool.getLeakDetectionThreshold().toMillis());
+        if (url.startsWith("jdbc:mysql:")) {
+            DbPoolProperties.Mysql mysql = pool.getMysql();
+            config.addDataSourceProperty("useServerPrepStmts", mysql.isUseServerPrepStmts());
+            config.addDataSourceProperty("cachePrepStmts", mysql.isCachePrepStmts());
+            config.addDataSourceProperty("prepStmtCacheSize", mysql.getPrepStmtCacheSize());
+            config.addDataSourceProperty("prepStmtCacheSqlLimit", mysql.getPrepStmtCacheSqlLimit());
+            config.addDataSourceProperty("rewriteBatchedStatements", mysql.isRewriteBatchedStatements());
+        }
+        if (replica.isEnabled()) {
+            // the actuator cannot see the pools behind the routing data source
+            meterRegistry.ifAvailable(registry -> config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        }
+        HikariDataSource hikari = new HikariDataSource(config);
+        pools.add(hikari);
+        if (pool.getConcurrencyLimit() > 0) {
+            log.info("At most {} thread(s) may use the {} connection pool at once",
+                    pool.getConcurrencyLimit(), name);
+            return new ConnectionLimitingDataSource(hikari, pool.getConcurrencyLimit(),
+                    pool.getConnectionTimeout());
+        }
+        return hikari;
     }
 
-    @EventListener(ApplicationReadyEvent.class)
-    public void getConnection() {
-        try (Connection connection = dataSource().getConnection()) {
-            if (connection != null && !connection.isClosed()) {
-                log.info("Connected to the database");
+    /**
+     * closes the connection pools, with their connections and housekeeping
+     * threads, when the context shuts down
+     */
+    @PreDestroy
+    public void closePools() {
+        for (HikariDataSource hikari : pools) {
+            log.info("Closing the {} connection pool", hikari.getPoolName());
+            hikari.close();
+        }
+        pools.clear();
+    }
 
+    /**
+     * opens minimum-idle connections before the application reports ready, so
+     * the first requests after a deploy do not pay the connection setup
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void warmUp() {
+        if (!pool.isWarmUp()) {
+            return;
+        }
+        long start = System.nanoTime();
+        List<Connection> connections = new ArrayList<>();
+        try {
+            // straight from the pools, the concurrency limit may be below minimum-idle
+            for (HikariDataSource hikari : pools) {
+                for (int i = 0; i < pool.getMinimumIdle(); i++) {
+                    connections.add(hikari.getConnection());
+                }
             }
-
+            log.info("Connected to the database, {} connection(s) warmed up in {} ms", connections.size(),
+                    (System.nanoTime() - start) / 1_000_000);
         } catch (Exception exc) {
-            log.error("connection  to the database is unsuccessful");
-            exc.printStackTrace();
+            log.error("connection  to the database is unsuccessful", exc);
+        } finally {
+            for (Connection connection : connections) {
+                try {
+                    // returned to the pool, not closed
+                    connection.close();
+                } catch (Exception exc) {
+                    log.warn("Could not return a warmed up connection : {}", exc.getMessage());
+                }
+            }
         }
     }
 
@@ -0,0 +1,79 @@
+package com.novel.web.configuration;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Connection pool settings bound from {@code db.pool.*}.
+ *
+ * @author Vikas Yadav
+ * @version 1.0
+ * @since 2025
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "db.pool")
+public class DbPoolProperties {
+
+    private String name = "library-pool";
+
+    /** upper bound of open connections, idle and in use */
+    private int maximumPoolSize = 10;
+
+    /** connections kept open while idle, and opened up front by the warm-up */
+    private int minimumIdle = 5;
+
+    /** how long a caller waits for a free connection before failing */
+    private Duration connectionTimeout = Duration.ofSeconds(5);
+
+    /** how long a liveness check of a connection may take */
+    private Duration validationTimeout = Duration.ofSeconds(2);
+
+    /** idle connections above minimum-idle are closed after this */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    /** connections are recycled after this, keep below the server's wait_timeout */
+    private Duration maxLifetime = Duration.ofMinutes(30);
+
+    /** a connection held longer than this is logged as a possible leak, 0 disables */
+    private Duration leakDetectionThreshold = Duration.ZERO;
+
+    /**
+     * threads allowed into the pool at once, holding a connection or waiting in
+     * it; the rest queue in front of it (see
+     * {@link ConnectionLimitingDataSource}). 0 disables the limit
+     */
+    private int concurrencyLimit = 0;
+
+    /** open minimum-idle connections before the application reports ready */
+    private boolean warmUp = true;
+
+    private Mysql mysql = new Mysql();
+
+    /**
+     * MySQL Connector/J statement settings, applied only to MySQL urls
+     */
+    @Getter
+    @Setter
+    public static class Mysql {
+
+        /** let the server parse each statement once per connection */
+        private boolean useServerPrepStmts = true;
+
+        /** keep prepared statements per connection instead of re-preparing */
+        private boolean cachePrepStmts = true;
+
+        private int prepStmtCacheSize = 250;
+
+        private int prepStmtCacheSqlLimit = 2048;
+
+        /** send JDBC batches as multi-row statements */
+        private boolean rewriteBatchedStatements = true;
+
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.novel.web.configuration;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Read replica settings bound from {@code db.replica.*}. Replica routing is
+ * off unless {@code db.replica.url} is set; the replica pool is sized like
+ * the primary one ({@code db.pool.*}).
+ *
+ * @author Vikas Yadav
+ * @version 1.0
+ * @since 2025
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "db.replica")
+public class DbReplicaProperties {
+
+    /** jdbc url of the replica, reads stay on the primary when unset */
+    private String url;
+
+    /** defaults to the primary's */
+    private String username;
+
+    /** defaults to the primary's */
+    private String password;
+
+    /**
+     * replication lag above which reads fall back to the primary; keep it
+     * above the heartbeat interval, the lag is only measured that finely
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /** how often the heartbeat is written to the primary and read back from the replica */
+    private Duration heartbeatInterval = Duration.ofSeconds(1);
+
+    public boolean isEnabled() {
+        return url != null && !url.isBlank();
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.novel.web.configuration;
+
+import java.sql.SQLException;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Measures the replication lag of the read replica with a heartbeat row.
+ *
+ * Every {@code db.replica.heartbeat-interval} the current time is written to
+ * {@code library.replica_heartbeat} on the primary and the last replicated
+ * value is read back from the replica: the difference is the lag, give or take
+ * one interval. It does not depend on the replication technology, and a
+ * replica that stopped applying changes shows a growing lag even when its
+ * server reports itself healthy. While the lag is above
+ * {@code db.replica.max-lag}, or cannot be read, {@link ReplicaRoutingDataSource}
+ * keeps every read on the primary.
+ *
+ * The lag is published as the {@code db.replica.lag} gauge, in seconds (NaN
+ * while unknown).
+ *
+ * @author Vikas Yadav
+ * @version 1.0
+ * @since 2025
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "db.replica", name = "url")
+public class ReplicaLagMonitor {
+
+    private static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS library.replica_heartbeat "
+            + "(id INT PRIMARY KEY, beat BIGINT NOT NULL)";
+
+    private static final String READ_BEAT = "SELECT beat FROM library.replica_heartbeat WHERE id = 1";
+
+    private static final String UPDATE_BEAT = "UPDATE library.replica_heartbeat SET beat = ? WHERE id = 1";
+
+    private static final String INSERT_BEAT = "INSERT INTO library.replica_heartbeat (id, beat) VALUES (1, ?)";
+
+    private final ReplicaRoutingDataSource routingDataSource;
+
+    private final JdbcTemplate primary;
+
+    private final JdbcTemplate replica;
+
+    private volatile boolean tableCreated;
+
+    public ReplicaLagMonitor(DataSource dataSource, MeterRegistry meterRegistry) throws SQLException {
+        this.routingDataSource = dataSource.unwrap(ReplicaRoutingDataSource.class);
+        this.primary = new JdbcTemplate(routingDataSource.getPrimary());
+        this.replica = new JdbcTemplate(routingDataSource.getReplica());
+        Gauge.builder("db.replica.lag", routingDataSource, ReplicaLagMonitor::lagSeconds)
+                .description("Replication lag of the read replica, measured with a heartbeat row")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * reads the replicated heartbeat, then writes the next one
+     */
+    @Scheduled(fixedDelayString = "${db.replica.heartbeat-interval:1s}")
+    public void check() {
+        routingDataSource.updateLag(readLag());
+        try {
+            if (!tableCreated) {
+                primary.execute(CREATE_TABLE);
+                tableCreated = true;
+            }
+            long now = System.currentTimeMillis();
+            if (primary.update(UPDATE_BEAT, now) == 0) {
+                primary.update(INSERT_BEAT, now);
+            }
+        } catch (DataAccessException exc) {
+            log.warn("Could not write the replica heartbeat : {}", exc.getMessage());
+        }
+    }
+
+    private Duration readLag() {
+        try {
+            Long beat = replica.query(READ_BEAT, rs -> rs.next() ? rs.getLong(1) : null);
+            if (beat == null) {
+                log.debug("No heartbeat replicated yet");
+                return null;
+            }
+            return Duration.ofMillis(Math.max(0, System.currentTimeMillis() - beat));
+        } catch (DataAccessException exc) {
+            log.debug("Could not read the replica heartbeat : {}", exc.getMessage());
+            return null;
+        }
+    }
+
+    private static double lagSeconds(ReplicaRoutingDataSource routingDataSource) {
+        Duration lag = routingDataSource.getLag();
+        return lag == null ? Double.NaN : lag.toMillis() / 1000.0;
+    }
+
+}
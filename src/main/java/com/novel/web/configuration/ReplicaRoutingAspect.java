@@ -0,0 +1,35 @@
+package com.novel.web.configuration;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Marks the {@code @Transactional(readOnly = true)} methods of the novel
+ * service as safe to serve from the replica; see
+ * {@link ReplicaRoutingDataSource}. Does nothing without a replica.
+ *
+ * @author Vikas Yadav
+ * @version 1.0
+ * @since 2025
+ */
+@Aspect
+@Component
+public class ReplicaRoutingAspect {
+
+    @Around("execution(public * com.novel.web.service.NovelService+.*(..)) && @annotation(transactional)")
+    public Object routeReadOnly(ProceedingJoinPoint joinPoint, Transactional transactional) throws Throwable {
+        if (!transactional.readOnly()) {
+            return joinPoint.proceed();
+        }
+        Boolean previous = ReplicaRoutingDataSource.allowReplicaReads();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ReplicaRoutingDataSource.restore(previous);
+        }
+    }
+
+}
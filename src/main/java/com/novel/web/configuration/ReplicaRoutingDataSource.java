@@ -0,0 +1,121 @@
+package com.novel.web.configuration;
+
+import java.time.Duration;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sends the connections of read-only service transactions to the replica
+ * pool and every other connection to the primary.
+ *
+ * A connection goes to the replica only when all of these hold:
+ * <ul>
+ * <li>it is taken inside a {@code @Transactional(readOnly = true)} method of
+ * the novel service (see {@link ReplicaRoutingAspect}); Spring Data's own
+ * read-only repository transactions, e.g. the duplicate checks of the write
+ * paths, stay on the primary</li>
+ * <li>the replica's lag, as last measured by {@link ReplicaLagMonitor}, is
+ * known and within {@code db.replica.max-lag}</li>
+ * </ul>
+ *
+ * The decision is taken when the first statement runs, which is why this
+ * data source sits behind a {@code LazyConnectionDataSourceProxy}: the
+ * transaction manager opens its connection before the read-only flag of the
+ * transaction is published.
+ *
+ * @author Vikas Yadav
+ * @version 1.0
+ * @since 2025
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private static final ThreadLocal<Boolean> REPLICA_READS = new ThreadLocal<>();
+
+    private final DataSource primary;
+
+    private final DataSource replica;
+
+    private final Duration maxLag;
+
+    /** null while unknown (replica unreachable, heartbeat missing) */
+    private volatile Duration lag;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration maxLag) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLag = maxLag;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * lets the read-only transactions of the current thread use the replica
+     *
+     * @return the previous setting, to be handed back to {@link #restore}
+     */
+    static Boolean allowReplicaReads() {
+        Boolean previous = REPLICA_READS.get();
+        REPLICA_READS.set(Boolean.TRUE);
+        return previous;
+    }
+
+    static void restore(Boolean previous) {
+        if (previous == null) {
+            REPLICA_READS.remove();
+        } else {
+            REPLICA_READS.set(previous);
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean replicaRead = Boolean.TRUE.equals(REPLICA_READS.get())
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        return replicaRead && isReplicaUsable() ? Target.REPLICA : Target.PRIMARY;
+    }
+
+    public boolean isReplicaUsable() {
+        Duration current = lag;
+        return current != null && current.compareTo(maxLag) <= 0;
+    }
+
+    /**
+     * @param lag - measured replication lag, null if it could not be measured
+     */
+    void updateLag(Duration lag) {
+        boolean wasUsable = isReplicaUsable();
+        this.lag = lag;
+        boolean usable = isReplicaUsable();
+        if (wasUsable && !usable) {
+            log.warn("Replica lag is {}, above {}: reads fall back to the primary",
+                    lag == null ? "unknown" : lag.toMillis() + " ms", maxLag.toMillis() + " ms");
+        } else if (!wasUsable && usable) {
+            log.info("Replica lag is {} ms: read-only transactions use the replica", lag.toMillis());
+        }
+    }
+
+    public Duration getLag() {
+        return lag;
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public DataSource getReplica() {
+        return replica;
+    }
+
+}
@@ -0,0 +1,135 @@
+package com.novel.web.configuration;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Makes the container's response compression honor its size threshold, and
+ * marks responses as negotiated.
+ *
+ * Tomcat only knows the length of a body, and so only skips compressing a
+ * small one, when the body is complete before the response is committed. The
+ * Jackson converters flush after every document, which commits the response
+ * right away and gets even a two byte body gzipped. Flushes are therefore held
+ * back until {@code server.compression.min-response-size} bytes are written:
+ * a smaller body goes out in one piece with a Content-Length, while a larger
+ * (or streamed) one is flushed as usual and compressed.
+ *
+ * Bodies are rendered as JSON, CBOR or Smile depending on the Accept header
+ * (see {@link BinaryFormatConfig}), so every response varies on it.
+ *
+ * @author Vikas Yadav
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class ResponseEncodingFilter extends OncePerRequestFilter {
+
+    private final long minResponseSize;
+
+    public ResponseEncodingFilter(@Value("${server.compression.min-response-size:2KB}") DataSize minResponseSize) {
+        this.minResponseSize = minResponseSize.toBytes();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        chain.doFilter(request, new ThresholdResponse(response, minResponseSize));
+    }
+
+    private static final class ThresholdResponse extends HttpServletResponseWrapper {
+
+        private final long threshold;
+
+        private ThresholdOutputStream outputStream;
+
+        ThresholdResponse(HttpServletResponse response, long threshold) {
+            super(response);
+            this.threshold = threshold;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new ThresholdOutputStream(super.getOutputStream(), threshold);
+            }
+            return outputStream;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (outputStream == null || outputStream.isPastThreshold()) {
+                super.flushBuffer();
+            }
+        }
+
+    }
+
+    private static final class ThresholdOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        private final long threshold;
+
+        private long written;
+
+        ThresholdOutputStream(ServletOutputStream delegate, long threshold) {
+            this.delegate = delegate;
+            this.threshold = threshold;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            written++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            written += len;
+        }
+
+        boolean isPastThreshold() {
+            return written >= threshold;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (isPastThreshold()) {
+                delegate.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.novel.web.controller;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.novel.web.dto.request.NovelRequestDTO;
+import com.novel.web.dto.response.BulkJobDTO;
+import com.novel.web.job.BulkJob;
+import com.novel.web.job.BulkJobManager;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RestController
+@RequestMapping("/novels/bulk/jobs")
+@CrossOrigin(origins = "http://localhost:5173")
+public class BulkJobController {
+
+    private final BulkJobManager bulkJobManager;
+
+    public BulkJobController(BulkJobManager bulkJobManager) {
+        this.bulkJobManager = bulkJobManager;
+    }
+
+    @Operation(summary = "Submits a bulk upload job", description = "Queues the novels for upload in the "
+            + "background and returns the job at once. Poll the Location header for progress")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Job queued"),
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "503", description = "Too many jobs queued, retry later")
+    })
+    @PostMapping
+    public ResponseEntity<BulkJobDTO> submitJob(@RequestBody List<NovelRequestDTO> novels) {
+        if (novels == null || novels.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "at least one novel is required");
+        }
+        try {
+            BulkJob job = bulkJobManager.submit(novels);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/novels/bulk/jobs/" + job.getId()))
+                    .body(job.toDTO());
+        } catch (RejectedExecutionException ex) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "30").build();
+        }
+    }
+
+    @Operation(summary = "Progress of a bulk upload job", description = "returns the counts processed so far "
+            + "and the throughput of the job")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Job found"),
+            @ApiResponse(responseCode = "404", description = "Unknown or expired job")
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<BulkJobDTO> getJob(@PathVariable String id) {
+        BulkJobDTO job = bulkJobManager.get(id);
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No bulk job with id " + id);
+        }
+        return ResponseEntity.ok(job);
+    }
+
+    @Operation(summary = "Cancels a bulk upload job", description = "stops the job before its next chunk; "
+            + "novels of the chunks already committed stay in the library")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cancellation requested, or job already finished"),
+            @ApiResponse(responseCode = "404", description = "Unknown or expired job")
+    })
+    @DeleteMapping("/{id}")
+    public ResponseEntity<BulkJobDTO> cancelJob(@PathVariable String id) {
+        BulkJobDTO job = bulkJobManager.cancel(id);
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No bulk job with id " + id);
+        }
+        log.info("Bulk job {} is {}", id, job.getStatus());
+        return ResponseEntity.ok(job);
+    }
+
+}
@@ -1,24 +1,39 @@
 package com.novel.web.controller;
 
+import java.io.InputStream;
 import java.util.List;
 
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.novel.web.domain.Novel;
 import com.novel.web.dto.request.NovelRequestDTO;
-import com.novel.web.mapper.NovelRequestMapper;
+import com.novel.web.dto.request.ReadingProgressRequestDTO;
+import com.novel.web.dto.response.BulkInsertResultDTO;
+import com.novel.web.dto.response.FacetsDTO;
+import com.novel.web.dto.response.GenreCountDTO;
+import com.novel.web.dto.response.ImportResultDTO;
+import com.novel.web.dto.response.NovelPageDTO;
+import com.novel.web.dto.response.TagSearchPageDTO;
+import com.novel.web.service.CacheValidator;
 import com.novel.web.service.NovelService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -36,11 +51,8 @@ public class NovelController {
 
     private final NovelService novelService;
 
-    private final NovelRequestMapper novelRequestMapper;
-
-    public NovelController(NovelService novelService, NovelRequestMapper novelRequestMapper) {
+    public NovelController(NovelService novelService) {
         this.novelService = novelService;
-        this.novelRequestMapper = novelRequestMapper;
 
     }
 
@@ -58,42 +70,161 @@ public class NovelController {
         }
     }
 
+    @Operation(summary = "Genres of the library", description = "returns every genre with its number of novels")
+    @GetMapping("/genres")
+    public ResponseEntity<List<GenreCountDTO>> getGenres() {
+        try {
+            List<GenreCountDTO> genres = novelService.getGenreCounts();
+            log.info("{} genre(s) in the library", genres.size());
+            return ResponseEntity.ok(genres);
+        } catch (Exception ex) {
+            log.error("Error fetching genres: {}", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Operation(summary = "Facet counts of the library", description = "returns the number of novels per genre, "
+            + "reading status, favorite flag and for the most used tags, from in-memory counts")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Facet counts retreived successfully"),
+            @ApiResponse(responseCode = "400", description = "Negative tag limit"),
+            @ApiResponse(responseCode = "503", description = "Counts still being seeded"),
+            @ApiResponse(responseCode = "500", description = "Server error")
+    })
+    @GetMapping("/facets")
+    public ResponseEntity<FacetsDTO> getFacets(
+            @Parameter(description = "number of most used tags returned") @RequestParam(required = false) Integer tags) {
+        try {
+            FacetsDTO facets = novelService.getFacets(tags);
+            log.info("Facet counts of {} novel(s)", facets.getTotal());
+            return ResponseEntity.ok(facets);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        } catch (IllegalStateException ex) {
+            log.warn("Facet counts unavailable: {}", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5").build();
+        } catch (Exception ex) {
+            log.error("Error fetching facet counts: {}", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @Operation(summary = "Home route", description = "Returns a welcome message for the novel library")
     @GetMapping("/home")
     public String home() {
         return "Novel library";
     }
 
-    @Operation(summary = "Get all novels", description = "Returns all novels in the library")
+    @Operation(summary = "Get all novels", description = "Returns all novels in the library. Honors "
+            + "If-None-Match / If-Modified-Since with a 304 checked against the novel's version and modification time")
     @GetMapping("/{id}")
-    public ResponseEntity<Novel> getNovels(@PathVariable Long id) {
+    public ResponseEntity<Novel> getNovels(@PathVariable Long id, WebRequest request) {
         if (id == null || id <= 0) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ID must be a positive number");
         }
         try {
+            CacheValidator validator = novelService.getNovelValidator(id);
+            if (validator != null && request.checkNotModified(validator.eTag(), validator.lastModifiedMillis())) {
+                log.info("Novel {} not modified", id);
+                return null;
+            }
             Novel novel = novelService.getNovelById(id);
 
-            return ResponseEntity.ok(novel);
+            return withValidator(ResponseEntity.ok(), validator).body(novel);
         } catch (Exception ex) {
             log.error("Error fetching all novels: {}", ex.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
-    @Operation(summary = "Get all novels", description = "Returns all novels in the library")
+    @Operation(summary = "Get all novels", description = "Returns all novels in the library in one response. "
+            + "Prefer /novels/page for large libraries. Honors If-None-Match / If-Modified-Since with a 304")
     @GetMapping("/all")
-    public ResponseEntity<List<NovelRequestDTO>> getAllNovels() {
+    public ResponseEntity<List<NovelRequestDTO>> getAllNovels(WebRequest request) {
         try {
-            List<Novel> novels = novelService.getAllNovels();
-            List<NovelRequestDTO> novelsDTO = novelRequestMapper.toDTOList(novels);
-            return ResponseEntity.ok(novelsDTO);
+            CacheValidator validator = novelService.getLibraryValidator();
+            if (request.checkNotModified(validator.eTag(), validator.lastModifiedMillis())) {
+                log.info("Library not modified");
+                return null;
+            }
+            List<NovelRequestDTO> novelsDTO = novelService.getAllNovels();
+            return withValidator(ResponseEntity.ok(), validator).body(novelsDTO);
         } catch (Exception ex) {
             log.error("Error fetching all novels: {}", ex.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
-    // ...existing code...
+    @Operation(summary = "Export the library", description = "Streams every novel in the library straight from "
+            + "a database cursor. format=ndjson writes one novel per line, ready to be fed back to /novels/import")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportNovels(
+            @Parameter(description = "json (default) or ndjson") @RequestParam(defaultValue = "json") String format) {
+        boolean ndjson = "ndjson".equalsIgnoreCase(format);
+        if (!ndjson && !"json".equalsIgnoreCase(format)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format must be json or ndjson");
+        }
+        log.info("Exporting the library as {}", format);
+        StreamingResponseBody body = out -> novelService.exportNovels(out, ndjson);
+        return ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=novels." + (ndjson ? "ndjson" : "json"))
+                .body(body);
+    }
+
+    @Operation(summary = "Get a page of novels", description = "Returns novels in id order using keyset "
+            + "pagination. Pass the returned nextCursor back as cursor to read the next page")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page retreived successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or size"),
+            @ApiResponse(responseCode = "500", description = "Server error")
+    })
+    @GetMapping("/page")
+    public ResponseEntity<NovelPageDTO> getNovelPage(
+            @Parameter(description = "opaque continuation token from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "page size, capped server side") @RequestParam(required = false) Integer size) {
+        try {
+            NovelPageDTO page = novelService.getNovelPage(cursor, size);
+            log.info("returning page of {} novel(s)", page.getSize());
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        } catch (Exception ex) {
+            log.error("Error fetching page of novels: {}", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+
+    @Operation(summary = "Search novels by tags", description = "Returns the novels matching a boolean tag "
+            + "expression, e.g. cultivation AND (system OR \"weak to strong\") AND NOT harem, a page at a time in "
+            + "id order. Pass the returned nextCursor back as cursor to read the next page")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page retreived successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid expression, cursor or size"),
+            @ApiResponse(responseCode = "503", description = "Tag index still being built"),
+            @ApiResponse(responseCode = "500", description = "Server error")
+    })
+    @GetMapping("/tags/search")
+    public ResponseEntity<TagSearchPageDTO> searchByTags(
+            @Parameter(description = "tag expression with AND, OR, NOT and parentheses") @RequestParam String q,
+            @Parameter(description = "opaque continuation token from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "page size, capped server side") @RequestParam(required = false) Integer size) {
+        try {
+            TagSearchPageDTO page = novelService.searchByTags(q, cursor, size);
+            log.info("returning {} of {} novel(s) matching the tags", page.getSize(), page.getTotal());
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        } catch (IllegalStateException ex) {
+            log.warn("Tag search unavailable: {}", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5").build();
+        } catch (Exception ex) {
+            log.error("Error searching novels by tags: {}", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
 
     @Operation(summary = "searches for a novel with a name/genre", description = "returns novel details if exists")
     @ApiResponses(value = {
@@ -114,7 +245,7 @@ public class NovelController {
                     "At least one search parameter (name or genre) must be provided");
         }
         try {
-            List<Novel> novels;
+            List<NovelRequestDTO> novels;
             if (hasGenre) {
                 log.info("Searching novels by genre: {}", genre.trim());
                 novels = novelService.findNovelByGenre(genre.trim());
@@ -130,8 +261,7 @@ public class NovelController {
                         "No novels found for " + searchType + ": " + searchTerm);
             }
             log.info("{} novel(s) found", novels.size());
-            List<NovelRequestDTO> novelsDTO = novelRequestMapper.toDTOList(novels);
-            return ResponseEntity.ok(novelsDTO);
+            return ResponseEntity.ok(novels);
 
         } catch (ResponseStatusException ex) {
             throw ex;
@@ -174,7 +304,9 @@ public class NovelController {
 
     }
 
-    @Operation(summary = "Updates novel information", description = "updates a already existing novel information")
+    @Operation(summary = "Updates novel information", description = "updates a already existing novel information. "
+            + "The body is a JSON merge patch: only the fields present are changed, nested novelDetails/novelOpinion "
+            + "are merged field by field")
     @ApiResponses(value = {
 
             @ApiResponse(responseCode = "200", description = "Novel updated successfully"),
@@ -183,28 +315,18 @@ public class NovelController {
             @ApiResponse(responseCode = "409", description = "Novel with specified name/link already exists"),
             @ApiResponse(responseCode = "500", description = "Internal Server Error")
     })
-    @PatchMapping("/{id}")
+    @PatchMapping(path = "/{id}", consumes = { MediaType.APPLICATION_JSON_VALUE, "application/merge-patch+json" })
     public ResponseEntity<?> updateNovel(
             @PathVariable Long id,
-            @RequestBody NovelRequestDTO novelDTO) {
+            @RequestBody JsonNode patch) {
         if (id == null || id <= 0) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ID must be a positive number");
         }
-        // if ((novelDTO.getName() == null || novelDTO.getName().trim().isEmpty()) &&
-        // (novelDTO.getLink() == null || novelDTO.getLink().trim().isEmpty()) &&
-        // (novelDTO.getOriginalName() == null ||
-        // novelDTO.getOriginalName().trim().isEmpty()) &&
-        // (novelDTO.getGenre() == null || novelDTO.getGenre().trim().isEmpty())) {
-        // throw new ResponseStatusException(HttpStatus.NOT_FOUND,
-        // "At least one field (name, link, originalName, genre) must be provided for
-        // update");
-        // }
         try {
-            log.info("Updating novel with ID: {} - Fields: name={}, link={}, originalName={}, genre={}",
-                    id, novelDTO.getName(), novelDTO.getLink(), novelDTO.getOriginalName(), novelDTO.getGenre());
-            Novel novel = novelService.updateNovel(id, novelDTO.getName(), novelDTO.getLink(),
-                    novelDTO.getOriginalName(), novelDTO.getGenre(), novelDTO.getNovelDetails(),
-                    novelDTO.getNovelOpinion());
+            log.info("Updating novel with ID: {} - Fields: {}", id, patch.isObject()
+                    ? String.join(", ", (Iterable<String>) patch::fieldNames)
+                    : patch.getNodeType());
+            Novel novel = novelService.updateNovel(id, patch);
             log.info("Novel updated successfully with ID: {}", id);
             return ResponseEntity.ok(novel);
         } catch (EntityNotFoundException ex) {
@@ -215,6 +337,10 @@ public class NovelController {
             log.warn("Conflict while updating novel with ID: {} - {}", id, ex.getMessage());
             return ResponseEntity.status(HttpStatus.CONFLICT).body(
                     "Novel with the specified name/link already exists in the library");
+        } catch (OptimisticLockingFailureException ex) {
+            log.warn("Concurrent update of novel with ID: {}", id);
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(
+                    "Novel was modified by another request, retry the update");
         } catch (IllegalArgumentException ex) {
             log.warn("Invalid input for novel update with ID: {} - {}", id, ex.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -226,20 +352,52 @@ public class NovelController {
         }
     }
 
-    @Operation(summary = "Adds  novel in bulk", description = "Adds multiple novel to the library")
+    @Operation(summary = "Reports reading progress", description = "records the chapters read of a novel, as "
+            + "reader clients do after every chapter. Reports are coalesced per novel and written in batches a few "
+            + "seconds later, so reads may show the previous value until then")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Progress recorded"),
+            @ApiResponse(responseCode = "400", description = "Invalid id or chaptersRead"),
+            @ApiResponse(responseCode = "503", description = "Too much progress waiting to be written"),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error")
+    })
+    @PutMapping("/{id}/progress")
+    public ResponseEntity<Void> recordProgress(@PathVariable Long id,
+            @RequestBody ReadingProgressRequestDTO progress) {
+        if (id == null || id <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ID must be a positive number");
+        }
+        try {
+            if (!novelService.recordProgress(id, progress.getChaptersRead())) {
+                log.warn("Progress buffer full, refused the progress of novel {}", id);
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5")
+                        .build();
+            }
+            return ResponseEntity.accepted().build();
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        } catch (Exception ex) {
+            log.error("Error recording the progress of novel {}: {}", id, ex.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Operation(summary = "Adds  novel in bulk", description = "Adds multiple novel to the library and reports "
+            + "how many were inserted, skipped as already existing and skipped as repeated in the payload. "
+            + "Large payloads should go through /novels/bulk/jobs instead")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Novels added successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid input"),
             @ApiResponse(responseCode = "500", description = "Server error")
     })
     @PostMapping("/bulk")
-    public ResponseEntity<String> addNovelsInBulk(@RequestBody List<NovelRequestDTO> novels) {
+    public ResponseEntity<?> addNovelsInBulk(@RequestBody List<NovelRequestDTO> novels) {
         log.info("name of novels needs to be uploaded :  {} ", novels.size());
         try {
-            Long recordsInserted = novelService.addNovelsInBulk(novels);
+            BulkInsertResultDTO result = novelService.addNovelsInBulk(novels);
             log.info("records requested to insert  are : {}  and actually inserted are : {} ", novels.size(),
-                    recordsInserted);
-            return ResponseEntity.status(HttpStatus.CREATED).body("No of records inserted : " + recordsInserted);
+                    result.getInserted());
+            return ResponseEntity.status(HttpStatus.CREATED).body(result);
 
         } catch (Exception ex) {
             log.warn("Exception occured while doing bulk upload");
@@ -248,4 +406,35 @@ public class NovelController {
         }
     }
 
+    @Operation(summary = "Imports novels from NDJSON", description = "Streams newline-delimited novel JSON records "
+            + "into the library, committing every few hundred records. On failure the response names the last "
+            + "committed offset; resend the stream with resumeFrom set to it to continue")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Novels imported successfully"),
+            @ApiResponse(responseCode = "400", description = "Malformed record in the stream"),
+            @ApiResponse(responseCode = "500", description = "Server error")
+    })
+    @PostMapping(path = "/import", consumes = { "application/x-ndjson", "application/jsonl" })
+    public ResponseEntity<ImportResultDTO> importNovels(InputStream ndjson,
+            @Parameter(description = "number of leading records to skip") @RequestParam(defaultValue = "0") long resumeFrom) {
+        if (resumeFrom < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "resumeFrom cannot be negative");
+        }
+        log.info("Importing novels from NDJSON stream, resuming from offset {}", resumeFrom);
+        ImportResultDTO result = novelService.importNovels(ndjson, resumeFrom);
+        log.info("records imported : {}", result.getInserted());
+        return ResponseEntity.status(HttpStatus.CREATED).body(result);
+    }
+
+    private static ResponseEntity.BodyBuilder withValidator(ResponseEntity.BodyBuilder response,
+            CacheValidator validator) {
+        if (validator != null) {
+            response.eTag(validator.eTag());
+            if (validator.lastModified() != null) {
+                response.lastModified(validator.lastModified());
+            }
+        }
+        return response;
+    }
+
 }
@@ -1,11 +1,175 @@
 package com.novel.web.controller;
 
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.novel.web.domain.NovelOpinion;
+import com.novel.web.dto.request.NovelRatingsRequestDto;
+import com.novel.web.dto.request.NovelRequestDTO;
+import com.novel.web.dto.response.FavoritesPageDTO;
+import com.novel.web.dto.response.GenreRatingDTO;
+import com.novel.web.dto.response.RatingStatsDTO;
+import com.novel.web.service.NovelService;
 
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Ratings of the novels: rating, favorite flag and worth-to-continue note of
+ * a novel, the rating statistics of the library and the leaderboards, served
+ * from memory.
+ *
+ * @author Vikas Yadav
+ * @version 1.0
+ * @since 2025
+ */
+@Slf4j
+@RestController
+@RequestMapping("/novels")
+@CrossOrigin(origins = "http://localhost:5173")
 public class NovelRatingsController {
 
-    // public ResponseEntity<String> addRatings() {
+    private final NovelService novelService;
+
+    public NovelRatingsController(NovelService novelService) {
+        this.novelService = novelService;
+    }
+
+    @Operation(summary = "Rates a novel", description = "sets the rating (0 to 5), favorite flag and/or "
+            + "worth-to-continue note of a novel; fields left out keep their value")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Novel rated successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid id, no field given or rating out of range"),
+            @ApiResponse(responseCode = "404", description = "Novel not found with given ID"),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error")
+    })
+    @PutMapping("/{id}/rating")
+    public ResponseEntity<NovelOpinion> rateNovel(@PathVariable Long id,
+            @RequestBody NovelRatingsRequestDto rating) {
+        if (id == null || id <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ID must be a positive number");
+        }
+        try {
+            return ResponseEntity.ok(novelService.rateNovel(id, rating));
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        } catch (EntityNotFoundException ex) {
+            log.warn("Novel not found: {}", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (Exception ex) {
+            log.error("Error rating novel {}: {}", id, ex.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Operation(summary = "Rating histogram", description = "returns the number of novels per rating, how many "
+            + "novels are rated and their average rating")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Rating statistics retreived successfully"),
+            @ApiResponse(responseCode = "503", description = "Aggregates still being built"),
+            @ApiResponse(responseCode = "500", description = "Server error")
+    })
+    @GetMapping("/ratings")
+    public ResponseEntity<RatingStatsDTO> getRatingStats() {
+        try {
+            RatingStatsDTO stats = novelService.getRatingStats();
+            log.info("{} rated novel(s) in the library", stats.getRated());
+            return ResponseEntity.ok(stats);
+        } catch (IllegalStateException ex) {
+            log.warn("Rating statistics unavailable: {}", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5").build();
+        } catch (Exception ex) {
+            log.error("Error fetching rating statistics: {}", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Operation(summary = "Average rating per genre", description = "returns every genre with rated novels, "
+            + "its number of rated novels and their average rating, best rated first")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Genre ratings retreived successfully"),
+            @ApiResponse(responseCode = "503", description = "Aggregates still being built"),
+            @ApiResponse(responseCode = "500", description = "Server error")
+    })
+    @GetMapping("/ratings/genres")
+    public ResponseEntity<List<GenreRatingDTO>> getGenreRatings() {
+        try {
+            List<GenreRatingDTO> genres = novelService.getGenreRatings();
+            log.info("{} genre(s) with rated novels", genres.size());
+            return ResponseEntity.ok(genres);
+        } catch (IllegalStateException ex) {
+            log.warn("Genre ratings unavailable: {}", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5").build();
+        } catch (Exception ex) {
+            log.error("Error fetching genre ratings: {}", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Operation(summary = "Favorite novels", description = "returns the favorite novels a page at a time in id "
+            + "order. Pass the returned nextCursor back as cursor to read the next page")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page retreived successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or size"),
+            @ApiResponse(responseCode = "503", description = "Aggregates still being built"),
+            @ApiResponse(responseCode = "500", description = "Server error")
+    })
+    @GetMapping("/favorites")
+    public ResponseEntity<FavoritesPageDTO> getFavorites(
+            @Parameter(description = "opaque continuation token from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "page size, capped server side") @RequestParam(required = false) Integer size) {
+        try {
+            FavoritesPageDTO page = novelService.getFavorites(cursor, size);
+            log.info("returning {} of {} favorite novel(s)", page.getSize(), page.getTotal());
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        } catch (IllegalStateException ex) {
+            log.warn("Favorites unavailable: {}", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5").build();
+        } catch (Exception ex) {
+            log.error("Error fetching favorites: {}", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
 
-    // }
+    @Operation(summary = "Leaderboard", description = "returns the best ranked novels of a leaderboard: "
+            + "top-rated (by rating), most-read (by chapters read) or recently-updated (by last update of the "
+            + "details); ties go to the most recently added novel")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Leaderboard retreived successfully"),
+            @ApiResponse(responseCode = "400", description = "Unknown leaderboard or invalid limit"),
+            @ApiResponse(responseCode = "500", description = "Server error")
+    })
+    @GetMapping("/leaderboards/{board}")
+    public ResponseEntity<List<NovelRequestDTO>> getLeaderboard(@PathVariable String board,
+            @Parameter(description = "number of novels, capped server side") @RequestParam(required = false) Integer limit) {
+        try {
+            List<NovelRequestDTO> novels = novelService.getLeaderboard(board, limit);
+            log.info("returning {} novel(s) of the {} leaderboard", novels.size(), board);
+            return ResponseEntity.ok(novels);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        } catch (Exception ex) {
+            log.error("Error fetching the {} leaderboard: {}", board, ex.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
 
 }
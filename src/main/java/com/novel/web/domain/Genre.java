@@ -0,0 +1,36 @@
+package com.novel.web.domain;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Normalized genre dimension. Novels reference it through
+ * {@code Novel.genreId}, a small integer key that can be served by an index.
+ */
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@Entity
+@Table(name = "genre", schema = "library", uniqueConstraints = @UniqueConstraint(columnNames = { "name" }))
+public class Genre {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer iD;
+
+    private String name;
+
+    public Genre(String name) {
+        this.name = name;
+    }
+
+}
@@ -2,10 +2,13 @@ package com.novel.web.domain;
 
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -14,9 +17,11 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -27,8 +32,12 @@ import lombok.ToString;
 @ToString
 @NoArgsConstructor
 @Entity
+@DynamicUpdate
 
-@Table(name = "novel", schema = "library", uniqueConstraints = @UniqueConstraint(columnNames = { "name" }))
+@Table(name = "novel", schema = "library", uniqueConstraints = @UniqueConstraint(columnNames = {
+        "name" }), indexes = {
+        @Index(name = "idx_novel_genre_id", columnList = "genre_id"),
+        @Index(name = "idx_novel_modified_on", columnList = "modified_on") })
 public class Novel {
 
     @Id
@@ -43,6 +52,25 @@ public class Novel {
 
     private String genre;
 
+    // key into the genre dictionary; genre keeps the canonical display name
+    @JsonIgnore
+    @Column(name = "genre_id")
+    private Integer genreId;
+
+    // bumped on every update of the novel, its details or its opinion; feeds
+    // the ETag of the novel
+    @JsonIgnore
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private long version;
+
+    // set by every write of the novel, its details or its opinion, along with
+    // the version; feeds the Last-Modified of the novel (null for rows written
+    // before it existed)
+    @JsonIgnore
+    @Column(name = "modified_on")
+    private LocalDateTime modifiedOn;
+
     @OneToOne(mappedBy = "novel", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private NovelDetails novelDetails;
 
@@ -2,6 +2,7 @@ package com.novel.web.domain;
 
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -12,6 +13,7 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.Lob;
 import jakarta.persistence.MapsId;
@@ -28,7 +30,9 @@ import lombok.ToString;
 @ToString(exclude = "novel")
 @NoArgsConstructor
 @Entity
-@Table(name = "noveldetails", schema = "library")
+@DynamicUpdate
+@Table(name = "noveldetails", schema = "library", indexes = @Index(name = "idx_noveldetails_last_updated_on",
+        columnList = "last_updated_on, id"))
 @EntityListeners(AuditingEntityListener.class)
 public class NovelDetails {
 
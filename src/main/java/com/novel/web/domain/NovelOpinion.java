@@ -4,9 +4,12 @@ import java.sql.Date;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import org.hibernate.annotations.DynamicUpdate;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.MapsId;
 import jakarta.persistence.OneToOne;
@@ -23,7 +26,10 @@ import lombok.ToString;
 @ToString
 @NoArgsConstructor
 @Entity
-@Table(name = "novelopinion", schema = "library")
+@DynamicUpdate
+@Table(name = "novelopinion", schema = "library", indexes = {
+        @Index(name = "idx_novelopinion_rating", columnList = "rating, id"),
+        @Index(name = "idx_novelopinion_chapters_read", columnList = "chapters_read, id") })
 public class NovelOpinion {
 
     @Id
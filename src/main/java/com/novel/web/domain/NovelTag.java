@@ -0,0 +1,53 @@
+package com.novel.web.domain;
+
+import java.io.Serializable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Link between a novel and one of its {@link Tag}s. Rows are written with
+ * JDBC next to the novel (see {@code NovelTagRepository}); the entity
+ * declares the table.
+ */
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@Entity
+@IdClass(NovelTag.Key.class)
+@Table(name = "novel_tag", schema = "library", indexes = @Index(name = "idx_novel_tag_tag_id", columnList = "tag_id"))
+public class NovelTag {
+
+    @Id
+    @Column(name = "novel_id")
+    private Long novelId;
+
+    @Id
+    @Column(name = "tag_id")
+    private Integer tagId;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private Long novelId;
+
+        private Integer tagId;
+
+    }
+
+}
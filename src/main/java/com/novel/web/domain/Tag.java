@@ -0,0 +1,37 @@
+package com.novel.web.domain;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Normalized tag dimension. {@code NovelDetails.tags} stays the comma
+ * separated text clients send and read; every tag in it is linked to the
+ * novel through a {@link NovelTag} row.
+ */
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@Entity
+@Table(name = "tag", schema = "library", uniqueConstraints = @UniqueConstraint(columnNames = { "name" }))
+public class Tag {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer iD;
+
+    private String name;
+
+    public Tag(String name) {
+        this.name = name;
+    }
+
+}
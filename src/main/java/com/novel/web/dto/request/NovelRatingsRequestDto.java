@@ -4,13 +4,16 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 
+/**
+ * Rating of a novel by the reader; fields left null keep their current value.
+ */
 @Getter
 @Setter
 @ToString
 public class NovelRatingsRequestDto {
 
-    public int rating;
-    public boolean favorite;
-    public boolean worthToContinue;
+    public Integer rating;
+    public Boolean favorite;
+    public String worthToContinue;
 
 }
@@ -0,0 +1,17 @@
+package com.novel.web.dto.request;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Reading progress reported by a reader client, e.g. {"chaptersRead": 120}.
+ */
+@Getter
+@Setter
+@ToString
+public class ReadingProgressRequestDTO {
+
+    private Integer chaptersRead;
+
+}
@@ -0,0 +1,37 @@
+package com.novel.web.dto.response;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Outcome of a bulk insert, telling the caller where every requested record
+ * went.
+ * 
+ * @author Vikas Yadav
+ * @version 1.0
+ * @since 2025
+ */
+@Getter
+@Setter
+@ToString
+public class BulkInsertResultDTO {
+
+    private long requested;
+    private long inserted;
+    private long skippedExisting;
+    private long skippedIntraBatch;
+
+    /**
+     * adds the counts of another (chunk) result to this one
+     * 
+     * @param other - result to fold into this one
+     */
+    public void merge(BulkInsertResultDTO other) {
+        this.requested += other.requested;
+        this.inserted += other.inserted;
+        this.skippedExisting += other.skippedExisting;
+        this.skippedIntraBatch += other.skippedIntraBatch;
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.novel.web.dto.response;
+
+import java.time.Instant;
+
+import com.novel.web.job.BulkJobStatus;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Progress of an asynchronous bulk upload, as polled by the client.
+ *
+ * {@code processed} counts the records handled so far, whatever their
+ * outcome: {@code inserted}, skipped ({@code skippedExisting},
+ * {@code skippedIntraBatch}) or {@code failed} with the chunk they belonged
+ * to.
+ *
+ * @author Vikas Yadav
+ * @version 1.0
+ * @since 2025
+ */
+@Getter
+@Setter
+@ToString
+public class BulkJobDTO {
+
+    private String id;
+    private BulkJobStatus status;
+    private long total;
+    private long processed;
+    private long inserted;
+    private long skippedExisting;
+    private long skippedIntraBatch;
+    private long failed;
+    private double recordsPerSecond;
+    private Instant submittedOn;
+    private Instant startedOn;
+    private Instant finishedOn;
+    private String error;
+
+}
@@ -0,0 +1,20 @@
+package com.novel.web.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * A value of a facet (genre, status, ...) and how many novels have it.
+ */
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+public class FacetCountDTO {
+
+    private String value;
+    private long count;
+
+}
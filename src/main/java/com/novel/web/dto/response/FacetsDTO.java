@@ -0,0 +1,26 @@
+package com.novel.web.dto.response;
+
+import java.util.List;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Number of novels of the library per genre, reading status, favorite flag
+ * and tag, each list most populated first.
+ */
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+public class FacetsDTO {
+
+    private long total;
+    private List<FacetCountDTO> genres;
+    private List<FacetCountDTO> statuses;
+    private List<FacetCountDTO> favorites;
+    private List<FacetCountDTO> tags;
+
+}
@@ -0,0 +1,23 @@
+package com.novel.web.dto.response;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * One page of the favorite novels, in id order.
+ * 
+ * {@code total} counts every favorite novel, not only those of the page.
+ * 
+ * @author Vikas Yadav
+ * @version 1.0
+ * @since 2025
+ */
+@Getter
+@Setter
+@ToString(callSuper = true)
+public class FavoritesPageDTO extends NovelPageDTO {
+
+    private long total;
+
+}
@@ -0,0 +1,20 @@
+package com.novel.web.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * A genre of the library and how many novels belong to it.
+ */
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+public class GenreCountDTO {
+
+    private String genre;
+    private long count;
+
+}
@@ -0,0 +1,22 @@
+package com.novel.web.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * A genre of the library, how many of its novels are rated and their average
+ * rating.
+ */
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+public class GenreRatingDTO {
+
+    private String genre;
+    private long rated;
+    private double average;
+
+}
@@ -0,0 +1,26 @@
+package com.novel.web.dto.response;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Outcome of a streaming NDJSON import.
+ * 
+ * {@code lastCommittedOffset} is the number of records, counted from the
+ * start of the stream, that are durably committed. A client resumes a failed
+ * import by sending the same stream again with {@code resumeFrom} set to it.
+ * 
+ * @author Vikas Yadav
+ * @version 1.0
+ * @since 2025
+ */
+@Getter
+@Setter
+@ToString(callSuper = true)
+public class ImportResultDTO extends BulkInsertResultDTO {
+
+    private long lastCommittedOffset;
+    private String error;
+
+}
@@ -0,0 +1,30 @@
+package com.novel.web.dto.response;
+
+import java.util.List;
+
+import com.novel.web.dto.request.NovelRequestDTO;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * One page of a keyset-paginated novel listing.
+ * 
+ * {@code nextCursor} is null on the last page; otherwise pass it back as
+ * {@code cursor} to read the following page.
+ * 
+ * @author Vikas Yadav
+ * @version 1.0
+ * @since 2025
+ */
+@Getter
+@Setter
+@ToString
+public class NovelPageDTO {
+
+    private List<NovelRequestDTO> items;
+    private int size;
+    private String nextCursor;
+
+}
@@ -0,0 +1,24 @@
+package com.novel.web.dto.response;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Ratings of the library: number of novels per rating (0 to 5 stars), how
+ * many novels are rated and their average rating (null if none is).
+ */
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+public class RatingStatsDTO {
+
+    private Map<Integer, Long> histogram;
+    private long rated;
+    private Double average;
+
+}
@@ -0,0 +1,26 @@
+package com.novel.web.dto.response;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * One page of the novels matching a tag expression, in id order.
+ * 
+ * {@code total} counts every matching novel, not only those of the page;
+ * {@code expression} is the expression as it was understood, fully
+ * parenthesized.
+ * 
+ * @author Vikas Yadav
+ * @version 1.0
+ * @since 2025
+ */
+@Getter
+@Setter
+@ToString(callSuper = true)
+public class TagSearchPageDTO extends NovelPageDTO {
+
+    private String expression;
+    private long total;
+
+}
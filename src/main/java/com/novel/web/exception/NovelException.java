@@ -8,6 +8,8 @@ import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.novel.web.dto.response.ImportResultDTO;
+
 @ControllerAdvice
 public class NovelException {
 
@@ -22,6 +24,11 @@ public class NovelException {
         return new ResponseEntity<>(ex.getReason(), ex.getStatusCode());
     }
 
+    @ExceptionHandler(NovelImportException.class)
+    public ResponseEntity<ImportResultDTO> handleImportException(NovelImportException ex) {
+        return new ResponseEntity<>(ex.getProgress(), ex.getStatus());
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleAllExceptions(Exception e) {
         e.printStackTrace();
@@ -0,0 +1,27 @@
+package com.novel.web.exception;
+
+import org.springframework.http.HttpStatus;
+
+import com.novel.web.dto.response.ImportResultDTO;
+
+import lombok.Getter;
+
+/**
+ * Raised when a streaming import stops part way. Carries the progress made so
+ * far so the client knows the last committed offset to resume from.
+ */
+@Getter
+public class NovelImportException extends RuntimeException {
+
+    private final HttpStatus status;
+
+    private final ImportResultDTO progress;
+
+    public NovelImportException(HttpStatus status, String message, ImportResultDTO progress, Throwable cause) {
+        super(message, cause);
+        this.status = status;
+        this.progress = progress;
+        this.progress.setError(message);
+    }
+
+}
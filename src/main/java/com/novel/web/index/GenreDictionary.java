@@ -0,0 +1,311 @@
+package com.novel.web.index;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.novel.web.domain.Genre;
+import com.novel.web.domain.Novel;
+import com.novel.web.dto.response.GenreCountDTO;
+import com.novel.web.repositories.GenreRepository;
+import com.novel.web.repositories.NovelRepository;
+import com.novel.web.repositories.projection.NovelStateView;
+import com.novel.web.service.NovelChangeListener;
+import com.novel.web.service.NovelSnapshot;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory {@code genre -> id} dictionary over the {@link Genre} table, with
+ * the number of novels per genre.
+ *
+ * Genres are canonicalized on write: surrounding and repeated whitespace is
+ * dropped, every word starts with a capital letter and spellings that differ
+ * only in case map to the same entry. Novels store the small integer key, so
+ * genre search is an indexed integer equality lookup, and the per-genre counts
+ * are kept up to date through {@link NovelChangeListener} instead of a GROUP BY
+ * scan.
+ *
+ * The counts are seeded with the dictionary and reconciled against the
+ * database every {@code novel.genres.reconcile-interval}. A reconcile reads
+ * the genre of every novel in one statement; the changes seen from before
+ * that read until the counts are corrected are replayed onto it, except those
+ * the rows already hold (see {@link SnapshotVersions}).
+ *
+ * @author Vikas Yadav
+ * @version 1.0
+ * @since 2025
+ */
+@Slf4j
+@Component
+public class GenreDictionary implements NovelChangeListener {
+
+    private final GenreRepository genreRepo;
+
+    private final NovelRepository novelRepo;
+
+    /** genres are created in their own transaction, the dictionary never holds a rolled back id */
+    private final TransactionTemplate newTransaction;
+
+    /** canonical key (lower case) -> genre id */
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+
+    /** genre id -> display name */
+    private final Map<Integer, String> names = new ConcurrentHashMap<>();
+
+    /** genre id -> number of novels; guarded by this */
+    private Map<Integer, Long> counts = new HashMap<>();
+
+    /** the genre of a novel before and after a write, and the version the write left it at */
+    private record Change(Long novelId, long version, Integer genreBefore, Integer genreAfter) {
+
+        private void applyTo(Map<Integer, Long> counts) {
+            if (genreBefore != null) {
+                counts.merge(genreBefore, -1L, Long::sum);
+            }
+            if (genreAfter != null) {
+                counts.merge(genreAfter, 1L, Long::sum);
+            }
+        }
+
+    }
+
+    /** changes seen while a reconcile is reading, replayed onto what it read unless already there */
+    private List<Change> pendingDuringReconcile;
+
+    /** guarded by this */
+    private boolean countsSeeded;
+
+    // guards genre creation only; lookups are lock free
+    private final ReentrantLock createLock = new ReentrantLock();
+
+    private volatile boolean ready;
+
+    public GenreDictionary(GenreRepository genreRepo, NovelRepository novelRepo,
+            PlatformTransactionManager transactionManager) {
+        this.genreRepo = genreRepo;
+        this.novelRepo = novelRepo;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * loads the dictionary, links novels written before the dictionary existed
+     * and seeds the per-genre counts
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            for (Genre genre : genreRepo.findAll()) {
+                register(genre);
+            }
+            for (String rawGenre : novelRepo.findUnlinkedGenres()) {
+                Integer id = resolve(rawGenre);
+                if (id != null) {
+                    int linked = novelRepo.linkGenre(rawGenre, id, names.get(id), LocalDateTime.now());
+                    log.info("Linked {} novel(s) with genre '{}' to genre id {}", linked, rawGenre, id);
+                }
+            }
+            ready = true;
+            log.info("Genre dictionary loaded with {} genre(s)", names.size());
+        } catch (RuntimeException ex) {
+            log.error("Could not load the genre dictionary, genre search stays on the database : {}",
+                    ex.getMessage());
+        }
+        reconcile();
+    }
+
+    /**
+     * sets the per-genre counts from the database, keeping the changes the
+     * read does not see; runs after the load, then every
+     * {@code novel.genres.reconcile-interval}
+     */
+    @Scheduled(initialDelayString = "${novel.genres.reconcile-interval:15m}",
+            fixedDelayString = "${novel.genres.reconcile-interval:15m}")
+    public void reconcile() {
+        synchronized (this) {
+            if (pendingDuringReconcile != null) {
+                return;
+            }
+            // recording starts before the read, so changes committed while it
+            // runs are not lost
+            pendingDuringReconcile = new ArrayList<>();
+        }
+
+        Map<Integer, Long> read = new HashMap<>();
+        SnapshotVersions versions = new SnapshotVersions();
+        try {
+            for (NovelStateView state : novelRepo.findStates()) {
+                versions.put(state.getId(), state.getVersion());
+                if (state.getGenreId() != null) {
+                    read.merge(state.getGenreId(), 1L, Long::sum);
+                }
+            }
+        } catch (RuntimeException ex) {
+            synchronized (this) {
+                pendingDuringReconcile = null;
+            }
+            log.error("Could not reconcile the genre counts : {}", ex.getMessage());
+            return;
+        }
+
+        synchronized (this) {
+            for (Change change : pendingDuringReconcile) {
+                if (versions.misses(change.novelId(), change.version())) {
+                    change.applyTo(read);
+                }
+            }
+            pendingDuringReconcile = null;
+            read.values().removeIf(count -> count == 0);
+            counts.values().removeIf(count -> count == 0);
+            if (countsSeeded && !counts.equals(read)) {
+                log.warn("Genre counts drifted from the database, corrected");
+            }
+            counts = read;
+            countsSeeded = true;
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @param genre - genre in any spelling
+     * @return id of the genre, or null if it is not in the dictionary
+     */
+    public Integer idOf(String genre) {
+        String key = key(genre);
+        return key == null ? null : ids.get(key);
+    }
+
+    /**
+     * @param id - genre id
+     * @return canonical display name of the genre
+     */
+    public String nameOf(Integer id) {
+        return id == null ? null : names.get(id);
+    }
+
+    /**
+     * returns the id of the genre, adding it to the dictionary (and the genre
+     * table) if it is new; a new genre is committed before it is registered,
+     * whatever becomes of the caller's transaction
+     *
+     * @param genre - genre in any spelling
+     * @return id of the genre, null for a null/blank genre
+     */
+    public Integer resolve(String genre) {
+        String key = key(genre);
+        if (key == null) {
+            return null;
+        }
+        Integer id = ids.get(key);
+        if (id != null) {
+            return id;
+        }
+        createLock.lock();
+        try {
+            id = ids.get(key);
+            if (id != null) {
+                return id;
+            }
+            String display = display(genre);
+            Genre created;
+            try {
+                created = newTransaction.execute(status -> genreRepo.save(new Genre(display)));
+                log.info("Added genre '{}' to the dictionary", display);
+            } catch (DataIntegrityViolationException ex) {
+                // created concurrently by another instance
+                created = newTransaction.execute(status -> genreRepo.findByNameIgnoreCase(display))
+                        .orElseThrow(() -> ex);
+            }
+            register(created);
+            return created.getID();
+        } finally {
+            createLock.unlock();
+        }
+    }
+
+    /**
+     * @return every genre with its number of novels, most populated first
+     */
+    public List<GenreCountDTO> genreCounts() {
+        List<GenreCountDTO> result = new ArrayList<>();
+        synchronized (this) {
+            names.forEach((id, name) -> {
+                long count = counts.getOrDefault(id, 0L);
+                if (count > 0) {
+                    result.add(new GenreCountDTO(name, count));
+                }
+            });
+        }
+        result.sort(Comparator.comparingLong(GenreCountDTO::getCount).reversed()
+                .thenComparing(GenreCountDTO::getGenre));
+        return result;
+    }
+
+    @Override
+    public void novelAdded(Novel novel) {
+        if (novel.getGenreId() != null) {
+            apply(new Change(novel.getID(), novel.getVersion(), null, novel.getGenreId()));
+        }
+    }
+
+    @Override
+    public void novelUpdated(NovelSnapshot before, Novel after) {
+        if (Objects.equals(before.genreId(), after.getGenreId())) {
+            return;
+        }
+        apply(new Change(after.getID(), after.getVersion(), before.genreId(), after.getGenreId()));
+    }
+
+    private synchronized void apply(Change change) {
+        change.applyTo(counts);
+        if (pendingDuringReconcile != null) {
+            pendingDuringReconcile.add(change);
+        }
+    }
+
+    private void register(Genre genre) {
+        names.put(genre.getID(), genre.getName());
+        ids.put(key(genre.getName()), genre.getID());
+    }
+
+    private static String display(String genre) {
+        String[] words = genre.trim().split("\\s+");
+        StringBuilder display = new StringBuilder(genre.length());
+        for (String word : words) {
+            if (display.length() > 0) {
+                display.append(' ');
+            }
+            display.appendCodePoint(Character.toUpperCase(word.codePointAt(0)))
+                    .append(word, Character.charCount(word.codePointAt(0)), word.length());
+        }
+        return display.toString();
+    }
+
+    private static String key(String genre) {
+        if (genre == null || genre.isBlank()) {
+            return null;
+        }
+        return genre.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+}
@@ -0,0 +1,140 @@
+package com.novel.web.index;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+
+import com.novel.web.domain.Novel;
+import com.novel.web.domain.NovelDetails;
+import com.novel.web.domain.NovelOpinion;
+import com.novel.web.repositories.NovelRepository;
+import com.novel.web.repositories.projection.NovelListView;
+
+/**
+ * The novel rankings kept by {@link Leaderboards}. Each ranks the novels by a
+ * score, highest first, ties broken by the higher id; novels without a score
+ * are left out.
+ *
+ * @author Vikas Yadav
+ * @version 1.0
+ * @since 2025
+ */
+public enum Leaderboard {
+
+    /** by rating */
+    TOP_RATED("top-rated") {
+        @Override
+        Long scoreOf(Novel novel) {
+            NovelOpinion opinion = novel.getNovelOpinion();
+            return opinion == null || opinion.getRating() == null ? null : opinion.getRating().longValue();
+        }
+
+        @Override
+        Long scoreOf(NovelListView novel) {
+            return novel.getRating() == null ? null : novel.getRating().longValue();
+        }
+
+        @Override
+        public List<NovelListView> query(NovelRepository novelRepo, Limit limit) {
+            return novelRepo.findTopRated(limit);
+        }
+    },
+
+    /** by chapters read, started novels only */
+    MOST_READ("most-read") {
+        @Override
+        Long scoreOf(Novel novel) {
+            NovelOpinion opinion = novel.getNovelOpinion();
+            return opinion == null ? null : chaptersRead(opinion.getChaptersRead());
+        }
+
+        @Override
+        Long scoreOf(NovelListView novel) {
+            return chaptersRead(novel.getChaptersRead());
+        }
+
+        @Override
+        public List<NovelListView> query(NovelRepository novelRepo, Limit limit) {
+            return novelRepo.findMostRead(limit);
+        }
+    },
+
+    /** by last update of the details */
+    RECENTLY_UPDATED("recently-updated") {
+        @Override
+        Long scoreOf(Novel novel) {
+            NovelDetails details = novel.getNovelDetails();
+            return details == null ? null : timestamp(details.getLastUpdatedOn());
+        }
+
+        @Override
+        Long scoreOf(NovelListView novel) {
+            return timestamp(novel.getLastUpdatedOn());
+        }
+
+        @Override
+        public List<NovelListView> query(NovelRepository novelRepo, Limit limit) {
+            return novelRepo.findRecentlyUpdated(limit);
+        }
+    };
+
+    private final String slug;
+
+    Leaderboard(String slug) {
+        this.slug = slug;
+    }
+
+    public String getSlug() {
+        return slug;
+    }
+
+    /**
+     * @param novel - a saved novel
+     * @return the score of the novel on this leaderboard, or null if it is not
+     *         ranked
+     */
+    abstract Long scoreOf(Novel novel);
+
+    /**
+     * @param novel - a novel read from the database
+     * @return the score of the novel on this leaderboard, or null if it is not
+     *         ranked
+     */
+    abstract Long scoreOf(NovelListView novel);
+
+    /**
+     * reads the best ranked novels from the database, through the index backing
+     * this leaderboard
+     *
+     * @param novelRepo - repository to read from
+     * @param limit     - maximum number of novels
+     * @return the novels in rank order
+     */
+    public abstract List<NovelListView> query(NovelRepository novelRepo, Limit limit);
+
+    /**
+     * @param slug - name of the leaderboard in URLs, e.g. top-rated
+     * @return the leaderboard
+     * @throws IllegalArgumentException if no leaderboard has that name
+     */
+    public static Leaderboard of(String slug) {
+        for (Leaderboard leaderboard : values()) {
+            if (leaderboard.slug.equalsIgnoreCase(slug)) {
+                return leaderboard;
+            }
+        }
+        throw new IllegalArgumentException("Unknown leaderboard '" + slug + "', expected one of top-rated, "
+                + "most-read, recently-updated");
+    }
+
+    static Long chaptersRead(Integer chaptersRead) {
+        return chaptersRead == null || chaptersRead <= 0 ? null : chaptersRead.longValue();
+    }
+
+    static Long timestamp(LocalDateTime dateTime) {
+        return dateTime == null ? null : dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+}
@@ -0,0 +1,262 @@
+package com.novel.web.index;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.novel.web.domain.Novel;
+import com.novel.web.repositories.NovelRepository;
+import com.novel.web.repositories.projection.NovelListView;
+import com.novel.web.service.NovelChangeListener;
+import com.novel.web.service.NovelSnapshot;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory top-N of every {@link Leaderboard}: the best
+ * {@code novel.leaderboard.capacity} novels of each ranking, kept sorted so a
+ * leaderboard is read without sorting the library, in time independent of its
+ * size.
+ *
+ * Each board is loaded from the indexed query of its leaderboard once the
+ * application is ready, then follows every write through
+ * {@link NovelChangeListener}. Each board remembers the best rank a novel
+ * outside it can have (the best it ever pushed out): a novel ranking before
+ * that enters the board, pushing the last one out when full, and a kept novel
+ * dropping after it leaves the board, since novels outside may now rank
+ * before it. A board therefore stays exact for the novels it holds, and only
+ * shrinks between loads. When it holds fewer novels than asked for,
+ * {@link #top} returns null, the caller reads the database instead and the
+ * board is reloaded in the background. Boards are also
+ * reloaded every {@code novel.leaderboard.rebuild-interval} to correct drift;
+ * changes seen while a board is loading are replayed onto it.
+ *
+ * @author Vikas Yadav
+ * @version 1.0
+ * @since 2025
+ */
+@Slf4j
+@Component
+public class Leaderboards implements NovelChangeListener {
+
+    private final NovelRepository novelRepo;
+
+    private final TaskScheduler taskScheduler;
+
+    private final int capacity;
+
+    private final Map<Leaderboard, Board> boards = new EnumMap<>(Leaderboard.class);
+
+    /** a ranked novel */
+    private record Entry(long score, long novelId) {
+    }
+
+    /** the latest score of a novel, null when it is no longer ranked */
+    private record Update(long novelId, Long score) {
+    }
+
+    /** best first: highest score, then highest id */
+    private static final Comparator<Entry> RANK = Comparator.comparingLong(Entry::score)
+            .thenComparingLong(Entry::novelId).reversed();
+
+    /** top novels of one leaderboard; guarded by its own monitor */
+    private final class Board {
+
+        private final NavigableSet<Entry> ranking = new TreeSet<>(RANK);
+
+        /** novel id -> its entry in ranking */
+        private final Map<Long, Entry> entries = new HashMap<>();
+
+        /**
+         * the best rank any novel outside the board can have; null when the
+         * board holds every ranked novel of the library
+         */
+        private Entry bound;
+
+        private boolean ready;
+
+        /** updates seen while the board is loading, replayed onto it */
+        private List<Update> pendingDuringLoad;
+
+        private final AtomicBoolean reloadRequested = new AtomicBoolean();
+
+        private synchronized void set(long novelId, Long score) {
+            if (pendingDuringLoad != null) {
+                pendingDuringLoad.add(new Update(novelId, score));
+            }
+            apply(novelId, score);
+        }
+
+        private void apply(long novelId, Long score) {
+            Entry old = entries.remove(novelId);
+            if (old != null) {
+                ranking.remove(old);
+            }
+            if (score == null) {
+                return;
+            }
+            Entry entry = new Entry(score, novelId);
+            if (bound != null && RANK.compare(entry, bound) > 0) {
+                // novels outside the board may rank before it
+                return;
+            }
+            ranking.add(entry);
+            entries.put(novelId, entry);
+            if (ranking.size() > capacity) {
+                Entry evicted = ranking.pollLast();
+                entries.remove(evicted.novelId());
+                if (bound == null || RANK.compare(evicted, bound) < 0) {
+                    bound = evicted;
+                }
+            }
+        }
+
+        private synchronized List<Long> top(int limit) {
+            if (!ready || (bound != null && ranking.size() < limit)) {
+                return null;
+            }
+            List<Long> ids = new ArrayList<>(Math.min(limit, ranking.size()));
+            for (Entry entry : ranking) {
+                if (ids.size() == limit) {
+                    break;
+                }
+                ids.add(entry.novelId());
+            }
+            return ids;
+        }
+
+    }
+
+    public Leaderboards(NovelRepository novelRepo, TaskScheduler taskScheduler,
+            @Value("${novel.leaderboard.capacity:100}") int capacity) {
+        this.novelRepo = novelRepo;
+        this.taskScheduler = taskScheduler;
+        this.capacity = capacity;
+        for (Leaderboard leaderboard : Leaderboard.values()) {
+            boards.put(leaderboard, new Board());
+        }
+    }
+
+    /**
+     * @return maximum number of novels kept, and served, per leaderboard
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * loads every board at startup, then reloads them every
+     * {@code novel.leaderboard.rebuild-interval}
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${novel.leaderboard.rebuild-interval:1h}",
+            fixedDelayString = "${novel.leaderboard.rebuild-interval:1h}")
+    public void reload() {
+        for (Leaderboard leaderboard : Leaderboard.values()) {
+            reload(leaderboard);
+        }
+    }
+
+    /**
+     * loads the best {@code capacity} novels of a leaderboard from the database
+     *
+     * @param leaderboard - the leaderboard to load
+     */
+    public void reload(Leaderboard leaderboard) {
+        Board board = boards.get(leaderboard);
+        synchronized (board) {
+            if (board.pendingDuringLoad != null) {
+                return;
+            }
+            board.pendingDuringLoad = new ArrayList<>();
+        }
+
+        List<NovelListView> loaded;
+        try {
+            // one more than kept tells whether the board holds them all
+            loaded = leaderboard.query(novelRepo, Limit.of(capacity + 1));
+        } catch (RuntimeException ex) {
+            synchronized (board) {
+                board.pendingDuringLoad = null;
+            }
+            log.error("Could not load the {} leaderboard : {}", leaderboard.getSlug(), ex.getMessage());
+            return;
+        }
+
+        synchronized (board) {
+            board.ranking.clear();
+            board.entries.clear();
+            board.bound = null;
+            for (NovelListView novel : loaded) {
+                Long score = leaderboard.scoreOf(novel);
+                if (score != null) {
+                    board.apply(novel.getId(), score);
+                }
+            }
+            board.pendingDuringLoad.forEach(update -> board.apply(update.novelId(), update.score()));
+            board.pendingDuringLoad = null;
+            board.ready = true;
+            log.info("{} leaderboard loaded : {} novel(s){}", leaderboard.getSlug(), board.ranking.size(),
+                    board.bound == null ? ", all ranked novels" : "");
+        }
+    }
+
+    /**
+     * returns the best ranked novels of a leaderboard
+     *
+     * @param leaderboard - the leaderboard
+     * @param limit       - number of novels wanted, at most the capacity
+     * @return ids of the novels in rank order, or null if the board does not
+     *         hold enough novels; it is then reloaded in the background
+     */
+    public List<Long> top(Leaderboard leaderboard, int limit) {
+        Board board = boards.get(leaderboard);
+        List<Long> ids = board.top(limit);
+        if (ids == null && board.reloadRequested.compareAndSet(false, true)) {
+            taskScheduler.schedule(() -> {
+                board.reloadRequested.set(false);
+                reload(leaderboard);
+            }, Instant.now());
+        }
+        return ids;
+    }
+
+    @Override
+    public void novelAdded(Novel novel) {
+        score(novel);
+    }
+
+    @Override
+    public void novelUpdated(NovelSnapshot before, Novel after) {
+        score(after);
+    }
+
+    @Override
+    public void progressWritten(Map<Long, Integer> chaptersRead) {
+        Board board = boards.get(Leaderboard.MOST_READ);
+        chaptersRead.forEach((novelId, chapters) -> board.set(novelId, Leaderboard.chaptersRead(chapters)));
+    }
+
+    private void score(Novel novel) {
+        if (novel.getID() == null) {
+            return;
+        }
+        boards.forEach((leaderboard, board) -> board.set(novel.getID(), leaderboard.scoreOf(novel)));
+    }
+
+}
@@ -0,0 +1,101 @@
+package com.novel.web.index;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.novel.web.domain.Novel;
+import com.novel.web.repositories.NovelRepository;
+import com.novel.web.service.NovelChangeListener;
+import com.novel.web.service.NovelSnapshot;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory count of the novels in the library, so {@code GET /novels/count}
+ * does not run a {@code SELECT COUNT(*)} (an index scan on InnoDB) per call.
+ *
+ * The count is seeded once the application is ready, moved by every committed
+ * write through {@link NovelChangeListener} and periodically reconciled
+ * against the database to correct drift (e.g. rows written outside the
+ * service). Until it is seeded, {@link #get()} returns null and callers fall
+ * back to the database.
+ *
+ * @author Vikas Yadav
+ * @version 1.0
+ * @since 2025
+ */
+@Slf4j
+@Component
+public class NovelCounter implements NovelChangeListener {
+
+    private final NovelRepository novelRepo;
+
+    private final AtomicLong count = new AtomicLong();
+
+    /** every delta ever applied, lets a reconcile keep writes made during its query */
+    private final AtomicLong applied = new AtomicLong();
+
+    private volatile boolean ready;
+
+    public NovelCounter(NovelRepository novelRepo) {
+        this.novelRepo = novelRepo;
+    }
+
+    /**
+     * seeds the count at startup, then corrects it against the database every
+     * {@code novel.count.reconcile-interval}
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${novel.count.reconcile-interval:5m}",
+            fixedDelayString = "${novel.count.reconcile-interval:5m}")
+    public void reconcile() {
+        try {
+            long appliedBefore = applied.get();
+            long total = novelRepo.count();
+            // writes committed while the count query ran are kept; one that
+            // raced the query may be counted twice until the next pass
+            long appliedAfter;
+            long expected;
+            long previous;
+            do {
+                // retried if a write lands while the corrected value is stored
+                appliedAfter = applied.get();
+                expected = total + (appliedAfter - appliedBefore);
+                previous = count.getAndSet(expected);
+            } while (applied.get() != appliedAfter);
+            if (ready && previous != expected) {
+                log.warn("Novel count drifted from {} to {}, corrected", previous, expected);
+            }
+            if (!ready) {
+                ready = true;
+                log.info("Novel count seeded with {} novel(s)", expected);
+            }
+        } catch (RuntimeException ex) {
+            log.error("Could not reconcile the novel count : {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * @return number of novels in the library, or null if the count is not
+     *         seeded yet
+     */
+    public Long get() {
+        return ready ? count.get() : null;
+    }
+
+    @Override
+    public void novelAdded(Novel novel) {
+        count.incrementAndGet();
+        applied.incrementAndGet();
+    }
+
+    @Override
+    public void novelUpdated(NovelSnapshot before, Novel after) {
+        // an update does not change the number of novels
+    }
+
+}
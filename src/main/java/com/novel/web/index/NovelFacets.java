@@ -0,0 +1,245 @@
+package com.novel.web.index;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.novel.web.domain.Novel;
+import com.novel.web.dto.response.FacetCountDTO;
+import com.novel.web.repositories.NovelRepository;
+import com.novel.web.repositories.projection.NovelStateView;
+import com.novel.web.service.NovelChangeListener;
+import com.novel.web.service.NovelSnapshot;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory number of novels per reading status ({@code NovelDetails.status})
+ * and per favorite flag ({@code NovelOpinion.favorite}), so the facet counts
+ * of the library UI cost a walk over the facet values instead of a scan of the
+ * library.
+ *
+ * Like {@link NovelCounter}, the counts are seeded once the application is
+ * ready, moved by every committed write through {@link NovelChangeListener}
+ * and periodically reconciled against the database. A reconcile reads the
+ * state of every novel in one statement; the changes seen from before that
+ * read until the counts are corrected are replayed onto it, except those the
+ * rows already hold (see {@link SnapshotVersions}). Statuses that differ only
+ * in case or surrounding whitespace are counted together, under the first
+ * spelling seen. A novel without an opinion counts as not favorite. Until the
+ * counts are seeded, {@link #statusCounts()} and {@link #favoriteCounts()}
+ * return null.
+ *
+ * @author Vikas Yadav
+ * @version 1.0
+ * @since 2025
+ */
+@Slf4j
+@Component
+public class NovelFacets implements NovelChangeListener {
+
+    private static final String FAVORITE = "true";
+
+    private static final String NOT_FAVORITE = "false";
+
+    /** count of one facet value */
+    private static final class Bucket {
+
+        private final String display;
+
+        private long count;
+
+        private Bucket(String display) {
+            this.display = display;
+        }
+
+    }
+
+    /**
+     * the facet values of a novel before and after a write, and the version
+     * the write left it at; an added novel has no values before
+     */
+    private record Change(Long novelId, long version, boolean added, String statusBefore, boolean favoriteBefore,
+            String statusAfter, boolean favoriteAfter) {
+
+        private void applyTo(Map<String, Bucket> statuses, Map<String, Bucket> favorites) {
+            if (!added) {
+                move(statuses, statusBefore, -1);
+                move(favorites, String.valueOf(favoriteBefore), -1);
+            }
+            move(statuses, statusAfter, 1);
+            move(favorites, String.valueOf(favoriteAfter), 1);
+        }
+
+    }
+
+    private final NovelRepository novelRepo;
+
+    /** status key -> novels with the status; guarded by this */
+    private final Map<String, Bucket> statuses = new HashMap<>();
+
+    /** favorite flag -> novels with the flag; guarded by this */
+    private final Map<String, Bucket> favorites = new HashMap<>();
+
+    /** changes seen while a reconcile is reading, replayed onto what it read unless already there */
+    private List<Change> pendingDuringReconcile;
+
+    private volatile boolean ready;
+
+    public NovelFacets(NovelRepository novelRepo) {
+        this.novelRepo = novelRepo;
+        favorites.put(FAVORITE, new Bucket(FAVORITE));
+        favorites.put(NOT_FAVORITE, new Bucket(NOT_FAVORITE));
+    }
+
+    /**
+     * seeds the counts at startup, then corrects them against the database
+     * every {@code novel.facets.reconcile-interval}
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${novel.facets.reconcile-interval:15m}",
+            fixedDelayString = "${novel.facets.reconcile-interval:15m}")
+    public void reconcile() {
+        synchronized (this) {
+            if (pendingDuringReconcile != null) {
+                return;
+            }
+            // recording starts before the read, so changes committed while it
+            // runs are not lost
+            pendingDuringReconcile = new ArrayList<>();
+        }
+
+        Map<String, Bucket> readStatuses = new HashMap<>();
+        Map<String, Bucket> readFavorites = new HashMap<>();
+        SnapshotVersions versions = new SnapshotVersions();
+        try {
+            for (NovelStateView state : novelRepo.findStates()) {
+                versions.put(state.getId(), state.getVersion());
+                move(readStatuses, state.getStatus(), 1);
+                move(readFavorites, String.valueOf(Boolean.TRUE.equals(state.getFavorite())), 1);
+            }
+        } catch (RuntimeException ex) {
+            synchronized (this) {
+                pendingDuringReconcile = null;
+            }
+            log.error("Could not reconcile the facet counts : {}", ex.getMessage());
+            return;
+        }
+
+        synchronized (this) {
+            for (Change change : pendingDuringReconcile) {
+                if (versions.misses(change.novelId(), change.version())) {
+                    change.applyTo(readStatuses, readFavorites);
+                }
+            }
+            pendingDuringReconcile = null;
+            boolean drifted = correct(statuses, readStatuses);
+            drifted |= correct(favorites, readFavorites);
+            if (ready && drifted) {
+                log.warn("Facet counts drifted from the database, corrected");
+            }
+        }
+        if (!ready) {
+            ready = true;
+            log.info("Facet counts seeded : {} status(es), {} favorite novel(s)", readStatuses.size(),
+                    readFavorites.containsKey(FAVORITE) ? readFavorites.get(FAVORITE).count : 0);
+        }
+    }
+
+    /**
+     * @return every reading status with its number of novels, most populated
+     *         first, or null if the counts are not seeded yet
+     */
+    public List<FacetCountDTO> statusCounts() {
+        return ready ? counts(statuses) : null;
+    }
+
+    /**
+     * @return number of favorite ("true") and other ("false") novels, or null
+     *         if the counts are not seeded yet
+     */
+    public List<FacetCountDTO> favoriteCounts() {
+        return ready ? counts(favorites) : null;
+    }
+
+    @Override
+    public void novelAdded(Novel novel) {
+        NovelSnapshot added = NovelSnapshot.of(novel);
+        apply(new Change(added.id(), novel.getVersion(), true, null, false, added.status(), added.favorite()));
+    }
+
+    @Override
+    public void novelUpdated(NovelSnapshot before, Novel after) {
+        NovelSnapshot updated = NovelSnapshot.of(after);
+        if (Objects.equals(key(before.status()), key(updated.status())) && before.favorite() == updated.favorite()) {
+            return;
+        }
+        apply(new Change(updated.id(), after.getVersion(), false, before.status(), before.favorite(),
+                updated.status(), updated.favorite()));
+    }
+
+    private synchronized void apply(Change change) {
+        change.applyTo(statuses, favorites);
+        if (pendingDuringReconcile != null) {
+            pendingDuringReconcile.add(change);
+        }
+    }
+
+    private static void move(Map<String, Bucket> buckets, String value, long delta) {
+        String key = key(value);
+        if (key == null) {
+            return;
+        }
+        buckets.computeIfAbsent(key, k -> new Bucket(value.trim())).count += delta;
+    }
+
+    /**
+     * sets each count to the value read plus the changes replayed onto it,
+     * keeping the spelling of the values already counted
+     *
+     * @return whether a count changed
+     */
+    private static boolean correct(Map<String, Bucket> buckets, Map<String, Bucket> read) {
+        boolean changed = false;
+        for (Map.Entry<String, Bucket> entry : read.entrySet()) {
+            buckets.putIfAbsent(entry.getKey(), new Bucket(entry.getValue().display));
+        }
+        for (Map.Entry<String, Bucket> entry : buckets.entrySet()) {
+            Bucket bucket = entry.getValue();
+            Bucket expected = read.get(entry.getKey());
+            long count = expected == null ? 0 : expected.count;
+            changed |= bucket.count != count;
+            bucket.count = count;
+        }
+        return changed;
+    }
+
+    private synchronized List<FacetCountDTO> counts(Map<String, Bucket> buckets) {
+        List<FacetCountDTO> result = new ArrayList<>(buckets.size());
+        for (Bucket bucket : buckets.values()) {
+            if (bucket.count > 0) {
+                result.add(new FacetCountDTO(bucket.display, bucket.count));
+            }
+        }
+        result.sort(Comparator.comparingLong(FacetCountDTO::getCount).reversed()
+                .thenComparing(FacetCountDTO::getValue));
+        return result;
+    }
+
+    private static String key(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+}
@@ -0,0 +1,274 @@
+package com.novel.web.index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongConsumer;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.novel.web.domain.Novel;
+import com.novel.web.repositories.NovelRepository;
+import com.novel.web.repositories.projection.NovelNameView;
+import com.novel.web.service.NovelChangeListener;
+import com.novel.web.service.NovelSnapshot;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory trigram inverted index over {@code Novel.name} and
+ * {@code Novel.originalName}, answering case-insensitive substring searches
+ * without a {@code LIKE '%term%'} table scan.
+ *
+ * Every lower-cased name is split into overlapping 3-character grams; each
+ * gram maps to the sorted ids of the novels containing it. A search intersects
+ * the postings of the term's grams, then verifies the few candidates against
+ * the stored names (gram intersection alone can yield false positives). Terms
+ * shorter than three characters are answered by scanning the stored names,
+ * still without touching the database.
+ *
+ * The index is built once the application is ready and kept in sync through
+ * {@link NovelChangeListener}. Until it is built, {@link #search(String)}
+ * returns null and callers fall back to the database.
+ *
+ * @author Vikas Yadav
+ * @version 1.0
+ * @since 2025
+ */
+@Slf4j
+@Component
+public class NovelNameIndex implements NovelChangeListener {
+
+    private static final int GRAM = 3;
+
+    private final NovelRepository novelRepo;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** novel id -> lower-cased searchable names */
+    private Map<Long, String[]> names = new HashMap<>();
+
+    /** packed trigram -> ids of the novels containing it */
+    private Map<Long, PostingsList> postings = new HashMap<>();
+
+    /** writes seen while a rebuild is loading, replayed onto the new index */
+    private List<NovelNameView> pendingDuringRebuild;
+
+    private volatile boolean ready;
+
+    public NovelNameIndex(NovelRepository novelRepo) {
+        this.novelRepo = novelRepo;
+    }
+
+    /**
+     * (re)builds the index from the database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<Long, String[]> newNames = new HashMap<>();
+        Map<Long, PostingsList> newPostings = new HashMap<>();
+        try {
+            for (NovelNameView view : novelRepo.findAllNames()) {
+                put(newNames, newPostings, view.getId(), view.getName(), view.getOriginalName());
+            }
+        } catch (RuntimeException ex) {
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.error("Could not build the novel name index, name search stays on the database : {}",
+                    ex.getMessage());
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (NovelNameView view : pendingDuringRebuild) {
+                put(newNames, newPostings, view.getId(), view.getName(), view.getOriginalName());
+            }
+            pendingDuringRebuild = null;
+            names = newNames;
+            postings = newPostings;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Novel name index built : {} novel(s), {} trigram(s) in {} ms", newNames.size(),
+                newPostings.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * finds the novels whose name or original name contains the term, ignoring
+     * case
+     *
+     * @param term - text to look for
+     * @return matching novel ids in ascending order, or null if the index is
+     *         not built yet
+     */
+    public List<Long> search(String term) {
+        if (!ready) {
+            return null;
+        }
+        String needle = normalize(term);
+        lock.readLock().lock();
+        try {
+            if (needle.length() < GRAM) {
+                return scan(needle);
+            }
+            List<PostingsList> lists = new ArrayList<>();
+            for (int i = 0; i + GRAM <= needle.length(); i++) {
+                PostingsList list = postings.get(gram(needle, i));
+                if (list == null) {
+                    return Collections.emptyList();
+                }
+                lists.add(list);
+            }
+            lists.sort((a, b) -> Integer.compare(a.size(), b.size()));
+
+            PostingsList smallest = lists.get(0);
+            List<Long> result = new ArrayList<>();
+            candidates: for (int i = 0; i < smallest.size(); i++) {
+                long id = smallest.get(i);
+                for (int l = 1; l < lists.size(); l++) {
+                    if (!lists.get(l).contains(id)) {
+                        continue candidates;
+                    }
+                }
+                if (matches(names.get(id), needle)) {
+                    result.add(id);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void novelAdded(Novel novel) {
+        apply(novel.getID(), novel.getName(), novel.getOriginalName());
+    }
+
+    @Override
+    public void novelUpdated(NovelSnapshot before, Novel after) {
+        apply(after.getID(), after.getName(), after.getOriginalName());
+    }
+
+    private void apply(Long id, String name, String originalName) {
+        lock.writeLock().lock();
+        try {
+            put(names, postings, id, name, originalName);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(new PendingName(id, name, originalName));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<Long> scan(String needle) {
+        List<Long> result = new ArrayList<>();
+        for (Map.Entry<Long, String[]> entry : names.entrySet()) {
+            if (matches(entry.getValue(), needle)) {
+                result.add(entry.getKey());
+            }
+        }
+        Collections.sort(result);
+        return result;
+    }
+
+    /**
+     * indexes (or re-indexes) one novel into the given structures
+     */
+    private static void put(Map<Long, String[]> names, Map<Long, PostingsList> postings, Long id, String name,
+            String originalName) {
+        String[] previous = names.remove(id);
+        if (previous != null) {
+            for (String text : previous) {
+                forEachGram(text, gram -> {
+                    PostingsList list = postings.get(gram);
+                    if (list != null) {
+                        list.remove(id);
+                        if (list.isEmpty()) {
+                            postings.remove(gram);
+                        }
+                    }
+                });
+            }
+        }
+        String[] texts = originalName == null || originalName.isBlank()
+                ? new String[] { normalize(name) }
+                : new String[] { normalize(name), normalize(originalName) };
+        names.put(id, texts);
+        for (String text : texts) {
+            forEachGram(text, gram -> postings.computeIfAbsent(gram, g -> new PostingsList()).add(id));
+        }
+    }
+
+    private static boolean matches(String[] texts, String needle) {
+        if (texts == null) {
+            return false;
+        }
+        for (String text : texts) {
+            if (text.contains(needle)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void forEachGram(String text, LongConsumer action) {
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            action.accept(gram(text, i));
+        }
+    }
+
+    /** packs three UTF-16 chars into one long key */
+    private static long gram(String text, int from) {
+        return ((long) text.charAt(from) << 32) | ((long) text.charAt(from + 1) << 16) | text.charAt(from + 2);
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private record PendingName(Long id, String name, String originalName) implements NovelNameView {
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getOriginalName() {
+            return originalName;
+        }
+
+    }
+
+}
@@ -0,0 +1,300 @@
+package com.novel.web.index;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.novel.web.domain.Novel;
+import com.novel.web.dto.response.GenreRatingDTO;
+import com.novel.web.dto.response.RatingStatsDTO;
+import com.novel.web.repositories.NovelRepository;
+import com.novel.web.repositories.projection.NovelStateView;
+import com.novel.web.service.NovelChangeListener;
+import com.novel.web.service.NovelSnapshot;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory rating aggregates of the library: the number of novels per rating,
+ * the number of rated novels and sum of their ratings per genre, and the
+ * ordered ids of the favorite novels. Rating statistics are read from them in
+ * time independent of the size of the library, and the favorites list is
+ * paged without scanning the opinions.
+ *
+ * The aggregates are built once the application is ready and kept in sync
+ * through {@link NovelChangeListener}. A build reads the state of every novel
+ * in one statement; the changes seen from before that read until the build is
+ * in place are replayed onto it, except those the rows already hold (see
+ * {@link SnapshotVersions}). They are rebuilt every
+ * {@code novel.ratings.rebuild-interval} to correct drift (e.g. rows written
+ * outside the service). Until the first build, reads return null.
+ *
+ * @author Vikas Yadav
+ * @version 1.0
+ * @since 2025
+ */
+@Slf4j
+@Component
+public class NovelRatings implements NovelChangeListener {
+
+    static final int MAX_RATING = 5;
+
+    private final NovelRepository novelRepo;
+
+    private final GenreDictionary genreDictionary;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** aggregates currently served */
+    private Aggregates current = new Aggregates();
+
+    /** changes seen while a rebuild is loading, replayed onto the new aggregates unless already read */
+    private List<Change> pendingDuringRebuild;
+
+    private volatile boolean ready;
+
+    /** rating aggregates; guarded by lock */
+    private static final class Aggregates {
+
+        /** rating -> number of novels */
+        private final long[] histogram = new long[MAX_RATING + 1];
+
+        /** genre id -> { rated novels, sum of their ratings } */
+        private final Map<Integer, long[]> genres = new HashMap<>();
+
+        private final NavigableSet<Long> favorites = new TreeSet<>();
+
+        private long rated;
+
+        private long ratingSum;
+
+        private void rate(Integer genreId, int rating, long novels) {
+            histogram[rating] += novels;
+            rated += novels;
+            ratingSum += rating * novels;
+            if (genreId != null) {
+                long[] genre = genres.computeIfAbsent(genreId, k -> new long[2]);
+                genre[0] += novels;
+                genre[1] += rating * novels;
+            }
+        }
+
+    }
+
+    /** the rating fields of a novel before and after a write, and the version the write left it at */
+    private record Change(Long novelId, long version, Integer genreBefore, Integer ratingBefore,
+            boolean favoriteBefore, Integer genreAfter, Integer ratingAfter, boolean favoriteAfter) {
+
+        private void applyTo(Aggregates aggregates) {
+            if (isRating(ratingBefore)) {
+                aggregates.rate(genreBefore, ratingBefore, -1);
+            }
+            if (isRating(ratingAfter)) {
+                aggregates.rate(genreAfter, ratingAfter, 1);
+            }
+            if (favoriteAfter) {
+                aggregates.favorites.add(novelId);
+            } else {
+                aggregates.favorites.remove(novelId);
+            }
+        }
+
+    }
+
+    public NovelRatings(NovelRepository novelRepo, GenreDictionary genreDictionary) {
+        this.novelRepo = novelRepo;
+        this.genreDictionary = genreDictionary;
+    }
+
+    /**
+     * builds the aggregates at startup, then rebuilds them every
+     * {@code novel.ratings.rebuild-interval}
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${novel.ratings.rebuild-interval:1h}",
+            fixedDelayString = "${novel.ratings.rebuild-interval:1h}")
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            if (pendingDuringRebuild != null) {
+                return;
+            }
+            // recording starts before the read, so changes committed while it
+            // runs are not lost
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Aggregates built = new Aggregates();
+        SnapshotVersions versions = new SnapshotVersions();
+        try {
+            for (NovelStateView state : novelRepo.findStates()) {
+                versions.put(state.getId(), state.getVersion());
+                if (isRating(state.getRating())) {
+                    built.rate(state.getGenreId(), state.getRating(), 1);
+                }
+                if (Boolean.TRUE.equals(state.getFavorite())) {
+                    built.favorites.add(state.getId());
+                }
+            }
+        } catch (RuntimeException ex) {
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.error("Could not build the rating aggregates : {}", ex.getMessage());
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (Change change : pendingDuringRebuild) {
+                if (versions.misses(change.novelId(), change.version())) {
+                    change.applyTo(built);
+                }
+            }
+            pendingDuringRebuild = null;
+            current = built;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Rating aggregates built : {} rated novel(s), {} favorite(s)", built.rated, built.favorites.size());
+    }
+
+    /**
+     * @return number of novels per rating with their count and average, or
+     *         null if the aggregates are not built yet
+     */
+    public RatingStatsDTO stats() {
+        if (!ready) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            Map<Integer, Long> histogram = new LinkedHashMap<>();
+            for (int rating = 0; rating <= MAX_RATING; rating++) {
+                histogram.put(rating, current.histogram[rating]);
+            }
+            return new RatingStatsDTO(histogram, current.rated,
+                    current.rated == 0 ? null : (double) current.ratingSum / current.rated);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the genres with rated novels, best rated first, or null if the
+     *         aggregates are not built yet
+     */
+    public List<GenreRatingDTO> genreRatings() {
+        if (!ready) {
+            return null;
+        }
+        List<GenreRatingDTO> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            current.genres.forEach((genreId, genre) -> {
+                if (genre[0] > 0) {
+                    result.add(new GenreRatingDTO(genreDictionary.nameOf(genreId), genre[0],
+                            (double) genre[1] / genre[0]));
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        result.sort(Comparator.comparingDouble(GenreRatingDTO::getAverage).reversed()
+                .thenComparing(GenreRatingDTO::getGenre, Comparator.nullsLast(Comparator.naturalOrder())));
+        return result;
+    }
+
+    /**
+     * returns one page of the favorite novels, in id order
+     *
+     * @param afterId - only novels with a greater id are returned
+     * @param limit   - maximum number of ids returned
+     * @return the page, or null if the aggregates are not built yet
+     */
+    public FavoriteIds favorites(long afterId, int limit) {
+        if (!ready) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            List<Long> page = new ArrayList<>(limit);
+            boolean hasMore = false;
+            for (Long id : current.favorites.tailSet(afterId, false)) {
+                if (page.size() == limit) {
+                    hasMore = true;
+                    break;
+                }
+                page.add(id);
+            }
+            return new FavoriteIds(page, current.favorites.size(), hasMore);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void novelAdded(Novel novel) {
+        NovelSnapshot added = NovelSnapshot.of(novel);
+        if (isRating(added.rating()) || added.favorite()) {
+            apply(new Change(added.id(), novel.getVersion(), null, null, false, added.genreId(), added.rating(),
+                    added.favorite()));
+        }
+    }
+
+    @Override
+    public void novelUpdated(NovelSnapshot before, Novel after) {
+        NovelSnapshot updated = NovelSnapshot.of(after);
+        if (Objects.equals(before.rating(), updated.rating()) && before.favorite() == updated.favorite()
+                && (!isRating(updated.rating()) || Objects.equals(before.genreId(), updated.genreId()))) {
+            return;
+        }
+        apply(new Change(updated.id(), after.getVersion(), before.genreId(), before.rating(), before.favorite(),
+                updated.genreId(), updated.rating(), updated.favorite()));
+    }
+
+    private void apply(Change change) {
+        lock.writeLock().lock();
+        try {
+            change.applyTo(current);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static boolean isRating(Integer rating) {
+        return rating != null && rating >= 0 && rating <= MAX_RATING;
+    }
+
+    /**
+     * one page of the favorite novels
+     *
+     * @param ids     - ids of the novels of the page, ascending
+     * @param total   - number of favorite novels
+     * @param hasMore - whether more novels follow the page
+     */
+    public record FavoriteIds(List<Long> ids, long total, boolean hasMore) {
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.novel.web.index;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Versions of the novels as read by the rebuild of an in-memory index.
+ *
+ * An index starts recording the changes it is notified of before it reads the
+ * database, so no change committed after the read is lost; some of the
+ * changes recorded committed before the read and are already in the rows. A
+ * change is replayed onto the rebuilt index only if it left its novel at a
+ * version newer than the one read, or the novel was not read at all (added
+ * since). Every write moves the version of the novel, so a change is never
+ * counted twice.
+ *
+ * @author Vikas Yadav
+ * @version 1.0
+ * @since 2025
+ */
+final class SnapshotVersions {
+
+    /** novel id -> version read */
+    private final Map<Long, Long> versions = new HashMap<>();
+
+    void put(long novelId, long version) {
+        versions.put(novelId, version);
+    }
+
+    /**
+     * @param novelId - id of the novel a change is about
+     * @param version - version the change left the novel at
+     * @return whether the rows read do not hold the change yet
+     */
+    boolean misses(Long novelId, long version) {
+        Long read = versions.get(novelId);
+        return read == null || version > read;
+    }
+
+}
@@ -0,0 +1,312 @@
+package com.novel.web.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+import org.roaringbitmap.RoaringBitmap;
+
+/**
+ * Parsed boolean expression over tags, evaluated as bitmap operations by
+ * {@link TagIndex}.
+ *
+ * Grammar, keywords in any case, {@code AND} binding tighter than
+ * {@code OR}:
+ *
+ * <pre>
+ * expression := term ( OR term )*
+ * term       := factor ( [AND] factor )*     adjacent factors are ANDed
+ * factor     := NOT factor | '(' expression ')' | tag
+ * tag        := word | "quoted words"
+ * </pre>
+ *
+ * e.g. {@code cultivation AND (system OR "weak to strong") AND NOT harem}.
+ * Tags are matched the way they are stored: trimmed, with runs of whitespace
+ * collapsed, ignoring case.
+ *
+ * @author Vikas Yadav
+ * @version 1.0
+ * @since 2025
+ */
+public abstract sealed class TagExpression {
+
+    static final int MAX_LENGTH = 1_000;
+
+    static final int MAX_DEPTH = 32;
+
+    /**
+     * @param query - expression text
+     * @return the parsed expression
+     * @throws IllegalArgumentException if the query is blank, too long or
+     *                                  malformed
+     */
+    public static TagExpression parse(String query) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("tag expression cannot be empty");
+        }
+        if (query.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException("tag expression is longer than " + MAX_LENGTH + " characters");
+        }
+        Parser parser = new Parser(tokenize(query));
+        TagExpression expression = parser.expression(0);
+        if (parser.hasNext()) {
+            throw new IllegalArgumentException("unexpected '" + parser.peek().text + "' in tag expression");
+        }
+        return expression;
+    }
+
+    /**
+     * @param tagBitmap - bitmap of the novels with a given tag key, null if
+     *                  the tag is unknown; must not be modified
+     * @param universe  - bitmap of every novel, for NOT; must not be modified
+     * @return a new bitmap of the matching novel ids
+     */
+    abstract RoaringBitmap evaluate(Function<String, RoaringBitmap> tagBitmap, RoaringBitmap universe);
+
+    static final class TagTerm extends TagExpression {
+
+        final String key;
+
+        TagTerm(String key) {
+            this.key = key;
+        }
+
+        @Override
+        RoaringBitmap evaluate(Function<String, RoaringBitmap> tagBitmap, RoaringBitmap universe) {
+            RoaringBitmap novels = tagBitmap.apply(key);
+            return novels == null ? new RoaringBitmap() : novels.clone();
+        }
+
+        @Override
+        public String toString() {
+            return "\"" + key + "\"";
+        }
+
+    }
+
+    static final class And extends TagExpression {
+
+        final List<TagExpression> operands;
+
+        And(List<TagExpression> operands) {
+            this.operands = operands;
+        }
+
+        @Override
+        RoaringBitmap evaluate(Function<String, RoaringBitmap> tagBitmap, RoaringBitmap universe) {
+            // a NOT operand is applied as a difference, without materializing its complement
+            RoaringBitmap result = null;
+            List<TagExpression> excluded = new ArrayList<>();
+            for (TagExpression operand : operands) {
+                if (operand instanceof Not not) {
+                    excluded.add(not.operand);
+                    continue;
+                }
+                RoaringBitmap novels = operand.evaluate(tagBitmap, universe);
+                result = result == null ? novels : RoaringBitmap.and(result, novels);
+                if (result.isEmpty()) {
+                    return result;
+                }
+            }
+            if (result == null) {
+                result = universe.clone();
+            }
+            for (TagExpression operand : excluded) {
+                result.andNot(operand.evaluate(tagBitmap, universe));
+            }
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return join(operands, " AND ");
+        }
+
+    }
+
+    static final class Or extends TagExpression {
+
+        final List<TagExpression> operands;
+
+        Or(List<TagExpression> operands) {
+            this.operands = operands;
+        }
+
+        @Override
+        RoaringBitmap evaluate(Function<String, RoaringBitmap> tagBitmap, RoaringBitmap universe) {
+            RoaringBitmap result = new RoaringBitmap();
+            for (TagExpression operand : operands) {
+                result.or(operand.evaluate(tagBitmap, universe));
+            }
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return join(operands, " OR ");
+        }
+
+    }
+
+    static final class Not extends TagExpression {
+
+        final TagExpression operand;
+
+        Not(TagExpression operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        RoaringBitmap evaluate(Function<String, RoaringBitmap> tagBitmap, RoaringBitmap universe) {
+            return RoaringBitmap.andNot(universe, operand.evaluate(tagBitmap, universe));
+        }
+
+        @Override
+        public String toString() {
+            return "NOT " + operand;
+        }
+
+    }
+
+    private static String join(List<TagExpression> operands, String operator) {
+        StringBuilder text = new StringBuilder("(");
+        for (int i = 0; i < operands.size(); i++) {
+            if (i > 0) {
+                text.append(operator);
+            }
+            text.append(operands.get(i));
+        }
+        return text.append(')').toString();
+    }
+
+    private enum TokenType {
+        TAG, AND, OR, NOT, OPEN, CLOSE
+    }
+
+    private record Token(TokenType type, String text) {
+    }
+
+    private static List<Token> tokenize(String query) {
+        List<Token> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < query.length()) {
+            char c = query.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '(') {
+                tokens.add(new Token(TokenType.OPEN, "("));
+                i++;
+            } else if (c == ')') {
+                tokens.add(new Token(TokenType.CLOSE, ")"));
+                i++;
+            } else if (c == '"') {
+                int end = query.indexOf('"', i + 1);
+                if (end < 0) {
+                    throw new IllegalArgumentException("unterminated quote in tag expression");
+                }
+                String tag = TagIndex.key(query.substring(i + 1, end));
+                if (tag == null) {
+                    throw new IllegalArgumentException("empty tag in tag expression");
+                }
+                tokens.add(new Token(TokenType.TAG, tag));
+                i = end + 1;
+            } else {
+                int end = i;
+                while (end < query.length() && !Character.isWhitespace(query.charAt(end))
+                        && "()\"".indexOf(query.charAt(end)) < 0) {
+                    end++;
+                }
+                String word = query.substring(i, end);
+                switch (word.toUpperCase(Locale.ROOT)) {
+                case "AND" -> tokens.add(new Token(TokenType.AND, word));
+                case "OR" -> tokens.add(new Token(TokenType.OR, word));
+                case "NOT" -> tokens.add(new Token(TokenType.NOT, word));
+                default -> tokens.add(new Token(TokenType.TAG, TagIndex.key(word)));
+                }
+                i = end;
+            }
+        }
+        return tokens;
+    }
+
+    private static final class Parser {
+
+        private final List<Token> tokens;
+
+        private int position;
+
+        Parser(List<Token> tokens) {
+            this.tokens = tokens;
+        }
+
+        TagExpression expression(int depth) {
+            if (depth > MAX_DEPTH) {
+                throw new IllegalArgumentException("tag expression is nested too deeply");
+            }
+            List<TagExpression> operands = new ArrayList<>();
+            operands.add(term(depth));
+            while (accept(TokenType.OR)) {
+                operands.add(term(depth));
+            }
+            return operands.size() == 1 ? operands.get(0) : new Or(operands);
+        }
+
+        private TagExpression term(int depth) {
+            List<TagExpression> operands = new ArrayList<>();
+            operands.add(factor(depth));
+            while (true) {
+                if (accept(TokenType.AND)) {
+                    operands.add(factor(depth));
+                } else if (hasNext() && peek().type != TokenType.OR && peek().type != TokenType.CLOSE) {
+                    operands.add(factor(depth));
+                } else {
+                    break;
+                }
+            }
+            return operands.size() == 1 ? operands.get(0) : new And(operands);
+        }
+
+        private TagExpression factor(int depth) {
+            if (!hasNext()) {
+                throw new IllegalArgumentException("tag expression ends unexpectedly");
+            }
+            Token token = tokens.get(position++);
+            return switch (token.type) {
+            case NOT -> {
+                if (depth >= MAX_DEPTH) {
+                    throw new IllegalArgumentException("tag expression is nested too deeply");
+                }
+                yield new Not(factor(depth + 1));
+            }
+            case OPEN -> {
+                TagExpression inner = expression(depth + 1);
+                if (!accept(TokenType.CLOSE)) {
+                    throw new IllegalArgumentException("missing ')' in tag expression");
+                }
+                yield inner;
+            }
+            case TAG -> new TagTerm(token.text);
+            default -> throw new IllegalArgumentException("unexpected '" + token.text + "' in tag expression");
+            };
+        }
+
+        private boolean accept(TokenType type) {
+            if (hasNext() && peek().type == type) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        boolean hasNext() {
+            return position < tokens.size();
+        }
+
+        Token peek() {
+            return tokens.get(position);
+        }
+
+    }
+
+}
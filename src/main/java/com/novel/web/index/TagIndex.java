@@ -0,0 +1,393 @@
+package com.novel.web.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.novel.web.domain.Novel;
+import com.novel.web.domain.Tag;
+import com.novel.web.repositories.NovelRepository;
+import com.novel.web.repositories.NovelTagRepository;
+import com.novel.web.repositories.TagRepository;
+import com.novel.web.service.NovelChangeListener;
+import com.novel.web.service.NovelSnapshot;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tag dictionary over the {@link Tag} table, with an in-memory compressed
+ * bitmap of novel ids per tag answering boolean tag searches
+ * ({@link TagExpression}) without touching the database.
+ *
+ * Tags are read from the comma separated {@code NovelDetails.tags}, trimmed,
+ * with runs of whitespace collapsed and lower-cased. A search combines the
+ * bitmaps of its tags with AND / OR / ANDNOT; Roaring bitmaps keep each of
+ * them compact whether a tag is on a handful of novels or on most of the
+ * library, and intersect them container by container.
+ *
+ * The bitmaps are built once the application is ready, after novels written
+ * before tags were normalized have been linked, and kept in sync through
+ * {@link NovelChangeListener}. Until they are built, {@link #search} returns
+ * null. Novel ids are stored as 32-bit values; should ids outgrow them, the
+ * index switches itself off.
+ *
+ * @author Vikas Yadav
+ * @version 1.0
+ * @since 2025
+ */
+@Slf4j
+@Component
+public class TagIndex implements NovelChangeListener {
+
+    static final int MAX_TAG_LENGTH = 255;
+
+    private static final int[] NO_TAGS = new int[0];
+
+    private static final int BACKFILL_CHUNK = 1_000;
+
+    private final TagRepository tagRepo;
+
+    private final NovelTagRepository novelTagRepo;
+
+    private final NovelRepository novelRepo;
+
+    /** tags are created in their own transaction, the dictionary never holds a rolled back id */
+    private final TransactionTemplate newTransaction;
+
+    /** tag key -> tag id */
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+
+    /** tag id -> tag key */
+    private final Map<Integer, String> names = new ConcurrentHashMap<>();
+
+    // guards tag creation only; lookups are lock free
+    private final ReentrantLock createLock = new ReentrantLock();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** tag id -> ids of the novels with the tag */
+    private Map<Integer, RoaringBitmap> bitmaps = new HashMap<>();
+
+    /** ids of every novel, the complement base of NOT */
+    private RoaringBitmap universe = new RoaringBitmap();
+
+    /** writes seen while a rebuild is loading, replayed onto the new bitmaps */
+    private List<Runnable> pendingDuringRebuild;
+
+    private volatile boolean ready;
+
+    public TagIndex(TagRepository tagRepo, NovelTagRepository novelTagRepo, NovelRepository novelRepo,
+            PlatformTransactionManager transactionManager) {
+        this.tagRepo = tagRepo;
+        this.novelTagRepo = novelTagRepo;
+        this.novelRepo = novelRepo;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * loads the dictionary, links the tags of novels that have none linked yet
+     * and (re)builds the bitmaps
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<Integer, RoaringBitmap> newBitmaps = new HashMap<>();
+        RoaringBitmap newUniverse = new RoaringBitmap();
+        try {
+            for (Tag tag : tagRepo.findAll()) {
+                register(tag);
+            }
+            linkUnlinkedTags();
+            for (Long id : novelRepo.findAllIds()) {
+                newUniverse.add(toInt(id));
+            }
+            novelTagRepo.forEachLink((novelId, tagId) -> newBitmaps
+                    .computeIfAbsent(tagId, k -> new RoaringBitmap()).add(toInt(novelId)));
+        } catch (RuntimeException ex) {
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.error("Could not build the tag index, tag search is unavailable : {}", ex.getMessage());
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            bitmaps = newBitmaps;
+            universe = newUniverse;
+            pendingDuringRebuild.forEach(Runnable::run);
+            pendingDuringRebuild = null;
+            bitmaps.values().forEach(RoaringBitmap::runOptimize);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Tag index built : {} novel(s), {} tag(s) in {} ms", newUniverse.getCardinality(),
+                newBitmaps.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * returns the ids of the tags in a tags text, adding new tags to the
+     * dictionary (and the tag table)
+     *
+     * @param tags - comma separated tags, as in {@code NovelDetails.tags}
+     * @return distinct tag ids in ascending order
+     */
+    public int[] resolve(String tags) {
+        List<String> keys = split(tags);
+        int[] result = new int[keys.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = resolveKey(keys.get(i));
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * like {@link #resolve(String)}, skipping tags not in the dictionary
+     */
+    public int[] idsOf(String tags) {
+        return split(tags).stream().map(ids::get).filter(Objects::nonNull).mapToInt(Integer::intValue).sorted()
+                .toArray();
+    }
+
+    /**
+     * evaluates a tag expression and returns one page of the matching novels
+     *
+     * @param expression - parsed tag expression
+     * @param afterId    - only novels with a greater id are returned
+     * @param limit      - maximum number of ids returned
+     * @return the page, or null if the index is not built
+     */
+    public TagMatches search(TagExpression expression, long afterId, int limit) {
+        if (!ready) {
+            return null;
+        }
+        RoaringBitmap matches;
+        lock.readLock().lock();
+        try {
+            matches = expression.evaluate(key -> {
+                Integer tagId = ids.get(key);
+                return tagId == null ? null : bitmaps.get(tagId);
+            }, universe);
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Long> page = new ArrayList<>(Math.min(limit, matches.getCardinality()));
+        boolean hasMore = false;
+        if (afterId < Integer.MAX_VALUE) {
+            PeekableIntIterator iterator = matches.getIntIterator();
+            iterator.advanceIfNeeded((int) Math.max(0, afterId + 1));
+            while (iterator.hasNext()) {
+                if (page.size() == limit) {
+                    hasMore = true;
+                    break;
+                }
+                page.add((long) iterator.next());
+            }
+        }
+        return new TagMatches(page, matches.getLongCardinality(), hasMore);
+    }
+
+    /**
+     * @return tag -> number of novels with it, for the tags in use
+     */
+    public Map<String, Integer> tagCounts() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            bitmaps.forEach((tagId, novels) -> {
+                if (!novels.isEmpty()) {
+                    counts.put(names.get(tagId), novels.getCardinality());
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return counts;
+    }
+
+    @Override
+    public void novelAdded(Novel novel) {
+        int[] tagIds = novel.getNovelDetails() == null ? NO_TAGS : idsOf(novel.getNovelDetails().getTags());
+        apply(novel.getID(), NO_TAGS, tagIds, true);
+    }
+
+    @Override
+    public void novelUpdated(NovelSnapshot before, Novel after) {
+        String tags = after.getNovelDetails() == null ? null : after.getNovelDetails().getTags();
+        if (Objects.equals(before.tags(), tags)) {
+            return;
+        }
+        apply(after.getID(), idsOf(before.tags()), idsOf(tags), false);
+    }
+
+    private void apply(Long novelId, int[] removed, int[] added, boolean newNovel) {
+        if (novelId > Integer.MAX_VALUE) {
+            ready = false;
+            log.error("Novel id {} does not fit the tag index, tag search is unavailable", novelId);
+            return;
+        }
+        int id = novelId.intValue();
+        Runnable change = () -> {
+            if (newNovel) {
+                universe.add(id);
+            }
+            for (int tagId : removed) {
+                RoaringBitmap novels = bitmaps.get(tagId);
+                if (novels != null) {
+                    novels.remove(id);
+                }
+            }
+            for (int tagId : added) {
+                bitmaps.computeIfAbsent(tagId, k -> new RoaringBitmap()).add(id);
+            }
+        };
+        lock.writeLock().lock();
+        try {
+            change.run();
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * links novels written before tags were normalized (or by the load test
+     * seeder) to their tags
+     */
+    private void linkUnlinkedTags() {
+        Map<Long, String> unlinked = novelTagRepo.findUnlinkedTags();
+        if (unlinked.isEmpty()) {
+            return;
+        }
+        Map<Long, int[]> chunk = new LinkedHashMap<>();
+        for (Map.Entry<Long, String> entry : unlinked.entrySet()) {
+            chunk.put(entry.getKey(), resolve(entry.getValue()));
+            if (chunk.size() == BACKFILL_CHUNK) {
+                novelTagRepo.insertAll(chunk);
+                chunk.clear();
+            }
+        }
+        novelTagRepo.insertAll(chunk);
+        log.info("Linked the tags of {} novel(s)", unlinked.size());
+    }
+
+    private int resolveKey(String key) {
+        Integer id = ids.get(key);
+        if (id != null) {
+            return id;
+        }
+        createLock.lock();
+        try {
+            id = ids.get(key);
+            if (id != null) {
+                return id;
+            }
+            Tag created = newTransaction.execute(status -> {
+                try {
+                    return tagRepo.save(new Tag(key));
+                } catch (DataIntegrityViolationException ex) {
+                    // created concurrently by another instance
+                    return null;
+                }
+            });
+            if (created == null) {
+                created = newTransaction.execute(status -> tagRepo.findByName(key)).orElseThrow();
+            } else {
+                log.info("Added tag '{}' to the dictionary", key);
+            }
+            register(created);
+            return created.getID();
+        } finally {
+            createLock.unlock();
+        }
+    }
+
+    private void register(Tag tag) {
+        names.put(tag.getID(), tag.getName());
+        ids.put(tag.getName(), tag.getID());
+    }
+
+    private static int toInt(long novelId) {
+        if (novelId > Integer.MAX_VALUE) {
+            throw new IllegalStateException("novel id " + novelId + " does not fit the tag index");
+        }
+        return (int) novelId;
+    }
+
+    /**
+     * @return distinct keys of the tags of a tags text, in order
+     */
+    static List<String> split(String tags) {
+        if (tags == null || tags.isBlank()) {
+            return List.of();
+        }
+        Set<String> keys = new LinkedHashSet<>();
+        for (String tag : tags.split(",")) {
+            String key = key(tag);
+            if (key != null && key.length() <= MAX_TAG_LENGTH) {
+                keys.add(key);
+            }
+        }
+        return new ArrayList<>(keys);
+    }
+
+    /**
+     * @return the key a tag is stored and searched under, null for a blank tag
+     */
+    static String key(String tag) {
+        if (tag == null || tag.isBlank()) {
+            return null;
+        }
+        return tag.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * one page of the novels matching a tag expression
+     *
+     * @param ids     - ids of the novels of the page, ascending
+     * @param total   - number of matching novels
+     * @param hasMore - whether more novels follow the page
+     */
+    public record TagMatches(List<Long> ids, long total, boolean hasMore) {
+    }
+
+}
@@ -0,0 +1,167 @@
+package com.novel.web.job;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.novel.web.dto.request.NovelRequestDTO;
+import com.novel.web.dto.response.BulkInsertResultDTO;
+import com.novel.web.dto.response.BulkJobDTO;
+import com.novel.web.service.BulkProgress;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory state of one asynchronous bulk upload.
+ *
+ * The worker moves the counters as chunks commit while clients poll them, so
+ * every field is safe to read from any thread. The payload is dropped as soon
+ * as the job is finished; only the counters are retained.
+ */
+@Slf4j
+public class BulkJob implements BulkProgress {
+
+    private final String id;
+
+    private final int total;
+
+    private final Instant submittedOn = Instant.now();
+
+    private volatile List<NovelRequestDTO> payload;
+
+    private final AtomicReference<BulkJobStatus> status = new AtomicReference<>(BulkJobStatus.QUEUED);
+
+    private volatile boolean cancelRequested;
+
+    private volatile Instant startedOn;
+
+    private volatile Instant finishedOn;
+
+    private volatile String error;
+
+    private final AtomicLong processed = new AtomicLong();
+
+    private final AtomicLong inserted = new AtomicLong();
+
+    private final AtomicLong skippedExisting = new AtomicLong();
+
+    private final AtomicLong skippedIntraBatch = new AtomicLong();
+
+    private final AtomicLong failed = new AtomicLong();
+
+    BulkJob(String id, List<NovelRequestDTO> payload) {
+        this.id = id;
+        this.total = payload.size();
+        this.payload = payload;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public BulkJobStatus getStatus() {
+        return status.get();
+    }
+
+    public Instant getFinishedOn() {
+        return finishedOn;
+    }
+
+    List<NovelRequestDTO> getPayload() {
+        return payload;
+    }
+
+    /**
+     * @return true if the job was still queued and is now running
+     */
+    boolean start() {
+        if (!status.compareAndSet(BulkJobStatus.QUEUED, BulkJobStatus.RUNNING)) {
+            return false;
+        }
+        startedOn = Instant.now();
+        return true;
+    }
+
+    void finish() {
+        end(cancelRequested ? BulkJobStatus.CANCELLED : BulkJobStatus.COMPLETED);
+    }
+
+    void fail(RuntimeException ex) {
+        error = ex.getMessage();
+        end(BulkJobStatus.FAILED);
+    }
+
+    /**
+     * asks the job to stop: a queued job is cancelled right away, a running
+     * one stops before its next chunk
+     *
+     * @return false if the job was already finished
+     */
+    boolean cancel() {
+        if (status.get().isFinished()) {
+            return false;
+        }
+        cancelRequested = true;
+        if (status.compareAndSet(BulkJobStatus.QUEUED, BulkJobStatus.CANCELLED)) {
+            finishedOn = Instant.now();
+            payload = null;
+        }
+        return true;
+    }
+
+    private void end(BulkJobStatus outcome) {
+        finishedOn = Instant.now();
+        payload = null;
+        status.set(outcome);
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelRequested;
+    }
+
+    @Override
+    public void chunkCommitted(BulkInsertResultDTO chunkResult) {
+        inserted.addAndGet(chunkResult.getInserted());
+        skippedExisting.addAndGet(chunkResult.getSkippedExisting());
+        skippedIntraBatch.addAndGet(chunkResult.getSkippedIntraBatch());
+        processed.addAndGet(chunkResult.getRequested());
+    }
+
+    @Override
+    public void chunkFailed(List<NovelRequestDTO> chunk, RuntimeException ex) {
+        log.warn("Bulk job {} : chunk of {} record(s) failed : {}", id, chunk.size(), ex.getMessage());
+        error = ex.getMessage();
+        failed.addAndGet(chunk.size());
+        processed.addAndGet(chunk.size());
+    }
+
+    /**
+     * @return a consistent enough copy of the progress, for the client
+     */
+    public BulkJobDTO toDTO() {
+        BulkJobDTO dto = new BulkJobDTO();
+        dto.setId(id);
+        dto.setStatus(status.get());
+        dto.setTotal(total);
+        dto.setProcessed(processed.get());
+        dto.setInserted(inserted.get());
+        dto.setSkippedExisting(skippedExisting.get());
+        dto.setSkippedIntraBatch(skippedIntraBatch.get());
+        dto.setFailed(failed.get());
+        dto.setSubmittedOn(submittedOn);
+        dto.setStartedOn(startedOn);
+        dto.setFinishedOn(finishedOn);
+        dto.setError(error);
+        Instant from = startedOn;
+        if (from != null) {
+            Instant to = finishedOn != null ? finishedOn : Instant.now();
+            long millis = Math.max(1, Duration.between(from, to).toMillis());
+            dto.setRecordsPerSecond(Math.round(dto.getProcessed() * 10_000.0 / millis) / 10.0);
+        }
+        return dto;
+    }
+
+}
@@ -0,0 +1,167 @@
+package com.novel.web.job;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.novel.web.dto.request.NovelRequestDTO;
+import com.novel.web.dto.response.BulkJobDTO;
+import com.novel.web.service.NovelService;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs bulk uploads in the background, so the request that submits one returns
+ * a job id at once instead of holding a request thread (and a connection per
+ * chunk) until the last record is written.
+ *
+ * Jobs run on a fixed pool of {@code novel.jobs.workers} threads behind a
+ * queue of {@code novel.jobs.queue-capacity}; a submission beyond that is
+ * rejected rather than buffered. Job state lives in memory only: finished jobs
+ * are kept for {@code novel.jobs.retention}, and at most
+ * {@code novel.jobs.max-retained} of them, then forgotten.
+ *
+ * @author Vikas Yadav
+ * @version 1.0
+ * @since 2025
+ */
+@Slf4j
+@Component
+public class BulkJobManager {
+
+    private final NovelService novelService;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Map<String, BulkJob> jobs = new ConcurrentHashMap<>();
+
+    private final Duration retention;
+
+    private final int maxRetained;
+
+    public BulkJobManager(NovelService novelService,
+            @Value("${novel.jobs.workers:2}") int workers,
+            @Value("${novel.jobs.queue-capacity:20}") int queueCapacity,
+            @Value("${novel.jobs.retention:1h}") Duration retention,
+            @Value("${novel.jobs.max-retained:500}") int maxRetained) {
+        this.novelService = novelService;
+        this.retention = retention;
+        this.maxRetained = maxRetained;
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), Thread.ofPlatform().name("bulk-job-", 1).factory());
+    }
+
+    /**
+     * queues a bulk upload
+     *
+     * @param novels - records to upload
+     * @return the queued job
+     * @throws RejectedExecutionException if every worker is busy and the queue
+     *                                    is full
+     */
+    public BulkJob submit(List<NovelRequestDTO> novels) {
+        purgeExpired();
+        BulkJob job = new BulkJob(UUID.randomUUID().toString(), List.copyOf(novels));
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException ex) {
+            jobs.remove(job.getId());
+            log.warn("Bulk job rejected, {} job(s) already queued", executor.getQueue().size());
+            throw ex;
+        }
+        log.info("Bulk job {} queued with {} record(s)", job.getId(), novels.size());
+        return job;
+    }
+
+    /**
+     * @param id - id of the job
+     * @return progress of the job, null if it is unknown or already forgotten
+     */
+    public BulkJobDTO get(String id) {
+        BulkJob job = jobs.get(id);
+        return job == null ? null : job.toDTO();
+    }
+
+    /**
+     * cancels a job; records of the chunks already committed stay in the
+     * library
+     *
+     * @param id - id of the job
+     * @return progress of the job, null if it is unknown or already forgotten
+     */
+    public BulkJobDTO cancel(String id) {
+        BulkJob job = jobs.get(id);
+        if (job == null) {
+            return null;
+        }
+        if (job.cancel()) {
+            log.info("Bulk job {} cancellation requested", id);
+        }
+        return job.toDTO();
+    }
+
+    private void run(BulkJob job) {
+        if (!job.start()) {
+            // cancelled while queued
+            return;
+        }
+        try {
+            novelService.addNovelsInBulk(job.getPayload(), job);
+            job.finish();
+        } catch (RuntimeException ex) {
+            log.error("Bulk job {} failed : {}", job.getId(), ex.getMessage(), ex);
+            job.fail(ex);
+        }
+        BulkJobDTO outcome = job.toDTO();
+        log.info("Bulk job {} {} : {} of {} record(s) processed, {} inserted, {} failed, {} record(s)/s",
+                outcome.getId(), outcome.getStatus(), outcome.getProcessed(), outcome.getTotal(),
+                outcome.getInserted(), outcome.getFailed(), outcome.getRecordsPerSecond());
+    }
+
+    /**
+     * forgets the jobs finished longer than the retention ago, then the oldest
+     * finished ones beyond the retained maximum
+     */
+    @Scheduled(initialDelayString = "${novel.jobs.purge-interval:1m}",
+            fixedDelayString = "${novel.jobs.purge-interval:1m}")
+    public void purgeExpired() {
+        Instant cutoff = Instant.now().minus(retention);
+        // finishedOn is only set once a job is over
+        jobs.values().removeIf(job -> job.getFinishedOn() != null && job.getFinishedOn().isBefore(cutoff));
+        List<BulkJob> finished = jobs.values().stream()
+                .filter(job -> job.getFinishedOn() != null)
+                .sorted(Comparator.comparing(BulkJob::getFinishedOn))
+                .toList();
+        for (int i = 0; i < finished.size() - maxRetained; i++) {
+            jobs.remove(finished.get(i).getId());
+        }
+    }
+
+    /**
+     * stops the running jobs between two chunks on shutdown
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        jobs.values().forEach(BulkJob::cancel);
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Bulk jobs still running at shutdown");
+            executor.shutdownNow();
+        }
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.novel.web.job;
+
+/**
+ * Lifecycle of a {@link BulkJob}.
+ */
+public enum BulkJobStatus {
+
+    /** waiting for a free worker */
+    QUEUED,
+
+    RUNNING,
+
+    /** every chunk was processed; chunks that could not be written are counted as failed */
+    COMPLETED,
+
+    /** stopped on request; chunks committed before the request are kept */
+    CANCELLED,
+
+    /** stopped by an unexpected error */
+    FAILED;
+
+    public boolean isFinished() {
+        return this == COMPLETED || this == CANCELLED || this == FAILED;
+    }
+
+}
@@ -3,6 +3,7 @@ package com.novel.web.mapper;
 import java.util.List;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 import com.novel.web.domain.Novel;
 import com.novel.web.domain.NovelDetails;
@@ -10,10 +11,15 @@ import com.novel.web.domain.NovelOpinion;
 
 import com.novel.web.dto.request.NovelRatingsRequestDto;
 import com.novel.web.dto.request.NovelRequestDTO;
+import com.novel.web.repositories.projection.NovelListView;
 
 @Mapper(componentModel = "spring")
 public interface NovelRequestMapper {
 
+    // the genre id is set from the genre dictionary
+    @Mapping(target = "genreId", ignore = true)
+    // the version is managed by the persistence provider
+    @Mapping(target = "version", ignore = true)
     Novel toEntity(NovelRequestDTO dto);
 
     NovelRequestDTO toDTO(Novel entity);
@@ -24,4 +30,49 @@ public interface NovelRequestMapper {
 
     List<NovelRequestDTO> toDTOList(List<Novel> novels);
 
+    List<NovelRequestDTO> viewsToDTOList(List<NovelListView> views);
+
+    /**
+     * builds the response of a novel read through a {@link NovelListView}; the
+     * details/opinion are left null when the novel has none
+     *
+     * @param view - flattened row of the novel
+     * @return the same body as {@link #toDTO(Novel)} gives for the entity
+     */
+    default NovelRequestDTO toDTO(NovelListView view) {
+        if (view == null) {
+            return null;
+        }
+        NovelRequestDTO dto = new NovelRequestDTO();
+        dto.setLink(view.getLink());
+        dto.setOriginalName(view.getOriginalName());
+        dto.setName(view.getName());
+        dto.setGenre(view.getGenre());
+        if (view.getDetailsId() != null) {
+            NovelDetails details = new NovelDetails();
+            details.setID(view.getDetailsId());
+            details.setDescription(view.getDescription());
+            details.setMcName(view.getMcName());
+            details.setNovelCover(view.getNovelCover());
+            details.setTags(view.getTags());
+            details.setSpecialCharacteristicOfMc(view.getSpecialCharacteristicOfMc());
+            details.setStatus(view.getStatus());
+            details.setTotalChapters(view.getTotalChapters() == null ? 0 : view.getTotalChapters());
+            details.setAddedOn(view.getAddedOn());
+            details.setLastUpdatedOn(view.getLastUpdatedOn());
+            dto.setNovelDetails(details);
+        }
+        if (view.getOpinionId() != null) {
+            NovelOpinion opinion = new NovelOpinion();
+            opinion.setId(view.getOpinionId());
+            opinion.setRating(view.getRating());
+            opinion.setChaptersRead(view.getChaptersRead() == null ? 0 : view.getChaptersRead());
+            opinion.setFavorite(Boolean.TRUE.equals(view.getFavorite()));
+            opinion.setWorthToContinue(view.getWorthToContinue());
+            opinion.setChaptersFrequency(view.getChaptersFrequency());
+            dto.setNovelOpinion(opinion);
+        }
+        return dto;
+    }
+
 }
@@ -0,0 +1,110 @@
+package com.novel.web.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.novel.web.exception.NovelImportException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Times every {@code NovelService} method ({@code novel.service}) and every
+ * repository method ({@code novel.repository}), Spring Data and JDBC alike.
+ *
+ * Timers are tagged with the class, the method and a {@code status}: the HTTP
+ * status the outcome maps to through {@code NovelException} (200 on success,
+ * 400, 404, 409 or 500 on failure), so slow successes can be told apart from
+ * slow failures. Histogram buckets (for p50/p95/p99) are configured under
+ * {@code management.metrics.distribution}.
+ *
+ * @author Vikas Yadav
+ * @version 1.0
+ * @since 2025
+ */
+@Aspect
+@Component
+public class NovelMetricsAspect {
+
+    public static final String SERVICE_TIMER = "novel.service";
+
+    public static final String REPOSITORY_TIMER = "novel.repository";
+
+    private final MeterRegistry meterRegistry;
+
+    public NovelMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.novel.web.service.NovelService+.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(SERVICE_TIMER, "service", joinPoint);
+    }
+
+    @Around("bean(*Repository) && !target(org.springframework.beans.factory.FactoryBean)")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(REPOSITORY_TIMER, "repository", joinPoint);
+    }
+
+    private Object time(String timerName, String classTag, ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        String status = "200";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            status = statusOf(ex);
+            throw ex;
+        } finally {
+            Timer.builder(timerName)
+                    .tag(classTag, simpleName(joinPoint))
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("status", status)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * the status {@code NovelException} (or the controller) answers with for
+     * this failure
+     */
+    static String statusOf(Throwable ex) {
+        if (ex instanceof NovelImportException importEx) {
+            return String.valueOf(importEx.getStatus().value());
+        }
+        if (ex instanceof ResponseStatusException statusEx) {
+            return String.valueOf(statusEx.getStatusCode().value());
+        }
+        if (ex instanceof EntityNotFoundException) {
+            return "404";
+        }
+        if (ex instanceof DataIntegrityViolationException) {
+            return "409";
+        }
+        if (ex instanceof IllegalArgumentException) {
+            return "400";
+        }
+        return "500";
+    }
+
+    /**
+     * the repository interface for Spring Data proxies, the class otherwise
+     */
+    private static String simpleName(ProceedingJoinPoint joinPoint) {
+        for (Class<?> candidate : joinPoint.getThis().getClass().getInterfaces()) {
+            if (candidate.getPackageName().startsWith("com.novel.web.")) {
+                return candidate.getSimpleName();
+            }
+        }
+        return ClassUtils.getUserClass(joinPoint.getTarget()).getSimpleName();
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.novel.web.metrics;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Flags virtual threads pinned to their carrier, typically by blocking inside a
+ * {@code synchronized} section (or a native frame) on the request path.
+ *
+ * Listens to the JFR {@code jdk.VirtualThreadPinned} event in-process. Every
+ * pinning longer than {@code novel.diagnostics.pinning.threshold} is counted
+ * in {@code novel.virtual.threads.pinned}, tagged with the innermost frame of
+ * our own code (or {@code library} when none is on the stack), and each new
+ * site is logged once with its stack. Active only when virtual threads are
+ * enabled.
+ *
+ * @author Vikas Yadav
+ * @version 1.0
+ * @since 2025
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(prefix = "novel.diagnostics.pinning", name = "enabled", matchIfMissing = true)
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final String OWN_PACKAGE = "com.novel.web.";
+
+    private static final int LOGGED_FRAMES = 12;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Duration threshold;
+
+    /** sites already logged, counted from then on without logging */
+    private final Map<String, Boolean> reportedSites = new ConcurrentHashMap<>();
+
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+            @Value("${novel.diagnostics.pinning.threshold:20ms}") Duration threshold) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void start() {
+        RecordingStream recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::pinned);
+        recording.startAsync();
+        stream = recording;
+        log.info("Watching for virtual threads pinned longer than {} ms", threshold.toMillis());
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recording = stream;
+        stream = null;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    void pinned(RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames();
+        String site = frames.stream().filter(frame -> frame.isJavaFrame()
+                && frame.getMethod().getType().getName().startsWith(OWN_PACKAGE))
+                .findFirst().map(VirtualThreadPinningMonitor::describe).orElse("library");
+        meterRegistry.counter("novel.virtual.threads.pinned", "site", site).increment();
+
+        String top = frames.isEmpty() ? site : describe(frames.get(0));
+        if (reportedSites.putIfAbsent(site + " <- " + top, Boolean.TRUE) == null) {
+            log.warn("Virtual thread pinned for {} ms at {}:\n\t{}", event.getDuration().toMillis(), site,
+                    frames.stream().limit(LOGGED_FRAMES).map(VirtualThreadPinningMonitor::describe)
+                            .collect(Collectors.joining("\n\t")));
+        }
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":"
+                + frame.getLineNumber();
+    }
+
+}
@@ -0,0 +1,211 @@
+package com.novel.web.progress;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.novel.web.repositories.NovelBatchRepository;
+import com.novel.web.service.NovelChangePublisher;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Write-behind buffer for the reading progress ({@code chaptersRead}) reader
+ * clients report after every chapter.
+ *
+ * Reports land in a concurrent map keyed by novel, so repeated reports for the
+ * same novel coalesce into the latest one. The map is written to the database
+ * by {@link NovelBatchRepository#updateChaptersRead} in batches of
+ * {@code novel.progress.flush-threshold} novels: every
+ * {@code novel.progress.flush-interval}, as soon as that many novels are
+ * waiting, and on shutdown. A flush that fails puts its progress back unless a
+ * newer report arrived meanwhile. chaptersRead set by a regular update goes
+ * through the buffer too, once the update commits, so the last value written
+ * wins whatever batch is in flight.
+ *
+ * Progress is durable only once flushed: a crash loses at most one interval
+ * of reports, and reads see a report after the next flush. Beyond
+ * {@code novel.progress.max-pending} novels waiting (e.g. while the database
+ * is down), reports for further novels are refused.
+ *
+ * @author Vikas Yadav
+ * @version 1.0
+ * @since 2025
+ */
+@Slf4j
+@Component
+public class ReadingProgressBuffer {
+
+    private final NovelBatchRepository novelBatchRepo;
+
+    private final NovelChangePublisher changePublisher;
+
+    private final TaskScheduler taskScheduler;
+
+    private final int flushThreshold;
+
+    private final int maxPending;
+
+    /** novel id -> latest chapters read not written yet */
+    private final Map<Long, Integer> pending = new ConcurrentHashMap<>();
+
+    // one flush at a time, so an older batch never overwrites a newer one
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    private final Counter reported;
+
+    private final Counter written;
+
+    public ReadingProgressBuffer(NovelBatchRepository novelBatchRepo, NovelChangePublisher changePublisher,
+            TaskScheduler taskScheduler, MeterRegistry meterRegistry,
+            @Value("${novel.progress.flush-threshold:500}") int flushThreshold,
+            @Value("${novel.progress.max-pending:10000}") int maxPending) {
+        this.novelBatchRepo = novelBatchRepo;
+        this.changePublisher = changePublisher;
+        this.taskScheduler = taskScheduler;
+        this.flushThreshold = flushThreshold;
+        this.maxPending = maxPending;
+        this.reported = Counter.builder("novel.progress.reported")
+                .description("reading progress reports received").register(meterRegistry);
+        this.written = Counter.builder("novel.progress.written")
+                .description("novels whose reading progress was written to the database").register(meterRegistry);
+        Gauge.builder("novel.progress.pending", pending, Map::size)
+                .description("novels whose reading progress waits to be written").register(meterRegistry);
+    }
+
+    /**
+     * records the latest reading progress of a novel
+     *
+     * @param novelId      - id of the novel
+     * @param chaptersRead - chapters read so far
+     * @return false if the buffer is full and the report was refused
+     */
+    public boolean record(long novelId, int chaptersRead) {
+        if (pending.size() >= maxPending && !pending.containsKey(novelId)) {
+            return false;
+        }
+        pending.put(novelId, chaptersRead);
+        reported.increment();
+        if (pending.size() >= flushThreshold && flushRequested.compareAndSet(false, true)) {
+            taskScheduler.schedule(() -> {
+                flushRequested.set(false);
+                flush();
+            }, Instant.now());
+        }
+        return true;
+    }
+
+    /**
+     * records chaptersRead set by a regular update of the current transaction,
+     * once it commits: the value then replaces any older report waiting, and
+     * is written again after a batch already taken by a flush, so that batch
+     * cannot leave an older value behind. Nothing is recorded if the
+     * transaction rolls back. Unlike {@link #record}, never refused.
+     *
+     * @param novelId      - id of the novel
+     * @param chaptersRead - chapters read, as written by the update
+     */
+    public void recordCommitted(long novelId, int chaptersRead) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pending.put(novelId, chaptersRead);
+                }
+            });
+        } else {
+            pending.put(novelId, chaptersRead);
+        }
+    }
+
+    /**
+     * @return number of novels whose progress waits to be written
+     */
+    public int getPending() {
+        return pending.size();
+    }
+
+    /**
+     * writes the waiting progress to the database
+     *
+     * @return number of novels written
+     */
+    @Scheduled(initialDelayString = "${novel.progress.flush-interval:5s}",
+            fixedDelayString = "${novel.progress.flush-interval:5s}")
+    public int flush() {
+        flushLock.lock();
+        try {
+            int total = 0;
+            while (!pending.isEmpty()) {
+                Map<Long, Integer> batch = drain();
+                try {
+                    Map<Long, Integer> saved = novelBatchRepo.updateChaptersRead(batch);
+                    written.increment(saved.size());
+                    total += saved.size();
+                    changePublisher.progressWritten(saved);
+                } catch (RuntimeException ex) {
+                    // newer reports received meanwhile win
+                    batch.forEach(pending::putIfAbsent);
+                    log.error("Could not write the reading progress of {} novel(s), kept for the next flush : {}",
+                            batch.size(), ex.getMessage());
+                    break;
+                }
+            }
+            if (total > 0) {
+                log.info("Wrote the reading progress of {} novel(s)", total);
+            }
+            return total;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * writes what is left before the application stops
+     */
+    @PreDestroy
+    public void shutdown() {
+        int left = pending.size();
+        if (left > 0) {
+            log.info("Writing the reading progress of {} novel(s) before shutdown", left);
+            flush();
+        }
+    }
+
+    /**
+     * removes up to flush-threshold novels from the buffer
+     */
+    private Map<Long, Integer> drain() {
+        Map<Long, Integer> batch = new TreeMap<>();
+        List<Long> ids = new ArrayList<>(pending.keySet());
+        for (Long id : ids) {
+            if (batch.size() == flushThreshold) {
+                break;
+            }
+            Integer chaptersRead = pending.remove(id);
+            if (chaptersRead != null) {
+                batch.put(id, chaptersRead);
+            }
+        }
+        return batch;
+    }
+
+}
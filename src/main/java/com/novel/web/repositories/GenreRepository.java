@@ -0,0 +1,28 @@
+package com.novel.web.repositories;
+
+import java.util.Optional;
+
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+import com.novel.web.domain.Genre;
+
+/**
+ * Repository interface for managing {@link Genre} entities.
+ * 
+ * @author Vikas Yadav
+ * @version 1.0
+ * @since 2025
+ */
+@Repository
+public interface GenreRepository extends CrudRepository<Genre, Integer> {
+
+    /**
+     * finds the genre with the specified name
+     * 
+     * @param name - canonical name of the genre
+     * @return the genre, if it exists
+     */
+    Optional<Genre> findByNameIgnoreCase(String name);
+
+}
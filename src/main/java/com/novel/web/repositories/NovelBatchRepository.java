@@ -0,0 +1,229 @@
+package com.novel.web.repositories;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.novel.web.domain.Novel;
+import com.novel.web.domain.NovelDetails;
+import com.novel.web.domain.NovelOpinion;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Batched JDBC writer for {@link Novel} aggregates.
+ *
+ * Hibernate cannot batch inserts of entities whose id is generated by
+ * {@code IDENTITY}, so bulk paths write novels, their details and their
+ * opinions here as real JDBC batches (one round trip per table per chunk)
+ * instead of going through {@code saveAll}. The links of the novels to their
+ * tags are written in the same transaction. Reading progress buffered by
+ * {@code ReadingProgressBuffer} is written here too, as one batch per flush.
+ *
+ * @author Vikas Yadav
+ * @version 1.0
+ * @since 2025
+ */
+@Slf4j
+@Repository
+public class NovelBatchRepository {
+
+    private static final String INSERT_NOVEL = "INSERT INTO library.novel (name, original_name, link, genre, "
+            + "genre_id, version, modified_on) VALUES (?, ?, ?, ?, ?, 0, ?)";
+
+    private static final String INSERT_DETAILS = "INSERT INTO library.noveldetails (id, description, mc_name, "
+            + "novel_cover, tags, special_characteristic_of_mc, status, total_chapters, added_on, last_updated_on) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_OPINION = "INSERT INTO library.novelopinion (id, rating, chapters_read, "
+            + "favorite, worth_to_continue, chapters_frequency) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_EXISTING = "SELECT id FROM library.novel WHERE id IN (%s)";
+
+    private static final String INSERT_MISSING_OPINIONS = "INSERT INTO library.novelopinion (id, chapters_read, "
+            + "favorite, chapters_frequency) SELECT n.id, 0, FALSE, '1/2 daily chapters' FROM library.novel n "
+            + "WHERE n.id IN (%s) AND NOT EXISTS (SELECT 1 FROM library.novelopinion o WHERE o.id = n.id)";
+
+    private static final String UPDATE_CHAPTERS_READ = "UPDATE library.novelopinion SET chapters_read = ? "
+            + "WHERE id = ?";
+
+    private static final String MARK_MODIFIED = "UPDATE library.novel SET version = version + 1, modified_on = ? "
+            + "WHERE id = ?";
+
+    private static final int[] NO_TAGS = new int[0];
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final NovelTagRepository novelTagRepo;
+
+    public NovelBatchRepository(JdbcTemplate jdbcTemplate, NovelTagRepository novelTagRepo) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.novelTagRepo = novelTagRepo;
+    }
+
+    /**
+     * inserts the novels (and their details/opinion when present) in one
+     * transaction and assigns the generated ids back to the entities
+     *
+     * @param novels - novels to insert, none of which may exist yet
+     * @return the same novels with their ids populated
+     */
+    @Transactional
+    public List<Novel> insertAll(List<Novel> novels) {
+        return insertAll(novels, novel -> NO_TAGS);
+    }
+
+    /**
+     * inserts the novels (and their details/opinion when present) with the
+     * links to their tags in one transaction and assigns the generated ids
+     * back to the entities
+     *
+     * @param novels   - novels to insert, none of which may exist yet
+     * @param tagIdsOf - ids of the tags of a novel
+     * @return the same novels with their ids populated
+     */
+    @Transactional
+    public List<Novel> insertAll(List<Novel> novels, Function<Novel, int[]> tagIdsOf) {
+        if (novels.isEmpty()) {
+            return novels;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_NOVEL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Novel novel = novels.get(i);
+                        ps.setString(1, novel.getName());
+                        ps.setString(2, novel.getOriginalName());
+                        ps.setString(3, novel.getLink());
+                        ps.setString(4, novel.getGenre());
+                        ps.setObject(5, novel.getGenreId(), Types.INTEGER);
+                        ps.setTimestamp(6, Timestamp.valueOf(now));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return novels.size();
+                    }
+                }, keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != novels.size()) {
+            throw new IllegalStateException("Expected " + novels.size() + " generated keys but got " + keys.size());
+        }
+        List<NovelDetails> details = new ArrayList<>();
+        List<NovelOpinion> opinions = new ArrayList<>();
+        Map<Long, int[]> tagLinks = new LinkedHashMap<>();
+        for (int i = 0; i < novels.size(); i++) {
+            Novel novel = novels.get(i);
+            novel.setID(((Number) keys.get(i).values().iterator().next()).longValue());
+            novel.setModifiedOn(now);
+            tagLinks.put(novel.getID(), tagIdsOf.apply(novel));
+            if (novel.getNovelDetails() != null) {
+                NovelDetails novelDetails = novel.getNovelDetails();
+                novelDetails.setID(novel.getID());
+                novelDetails.setAddedOn(now);
+                novelDetails.setLastUpdatedOn(now);
+                details.add(novelDetails);
+            }
+            if (novel.getNovelOpinion() != null) {
+                novel.getNovelOpinion().setId(novel.getID());
+                opinions.add(novel.getNovelOpinion());
+            }
+        }
+
+        if (!details.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_DETAILS, details, details.size(), (ps, d) -> {
+                ps.setLong(1, d.getID());
+                ps.setString(2, d.getDescription());
+                ps.setString(3, d.getMcName());
+                ps.setString(4, d.getNovelCover());
+                ps.setString(5, d.getTags());
+                ps.setString(6, d.getSpecialCharacteristicOfMc());
+                ps.setString(7, d.getStatus());
+                ps.setInt(8, d.getTotalChapters());
+                ps.setTimestamp(9, Timestamp.valueOf(d.getAddedOn()));
+                ps.setTimestamp(10, Timestamp.valueOf(d.getLastUpdatedOn()));
+            });
+        }
+        if (!opinions.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_OPINION, opinions, opinions.size(), (ps, o) -> {
+                ps.setLong(1, o.getId());
+                ps.setObject(2, o.getRating(), Types.INTEGER);
+                ps.setInt(3, o.getChaptersRead());
+                ps.setBoolean(4, o.isFavorite());
+                ps.setString(5, o.getWorthToContinue());
+                ps.setString(6, o.getChaptersFrequency());
+            });
+        }
+        novelTagRepo.insertAll(tagLinks);
+        log.info("Batch inserted {} novel(s), {} detail row(s) and {} opinion row(s)", novels.size(),
+                details.size(), opinions.size());
+        return novels;
+    }
+
+    /**
+     * writes the reading progress of novels in one transaction: opinions are
+     * created for novels that have none, chaptersRead is set in one batch and
+     * the versions and modification times of the novels are moved, so their
+     * ETags and Last-Modified change. Ids of novels that do not exist are
+     * skipped.
+     *
+     * @param chaptersRead - novel id -> chapters read
+     * @return the progress written, for the novels that exist, by ascending id
+     */
+    @Transactional
+    public Map<Long, Integer> updateChaptersRead(Map<Long, Integer> chaptersRead) {
+        if (chaptersRead.isEmpty()) {
+            return Map.of();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(chaptersRead.size(), "?"));
+        Object[] ids = chaptersRead.keySet().toArray();
+        // ascending id order, so concurrent writers lock rows in the same order
+        Map<Long, Integer> written = new TreeMap<>();
+        jdbcTemplate.query(SELECT_EXISTING.formatted(placeholders), rs -> {
+            long id = rs.getLong(1);
+            written.put(id, chaptersRead.get(id));
+        }, ids);
+        if (written.isEmpty()) {
+            return written;
+        }
+        if (written.size() < chaptersRead.size()) {
+            log.warn("Skipped the progress of {} unknown novel(s)", chaptersRead.size() - written.size());
+        }
+        String existing = String.join(", ", Collections.nCopies(written.size(), "?"));
+        jdbcTemplate.update(INSERT_MISSING_OPINIONS.formatted(existing), written.keySet().toArray());
+        List<Map.Entry<Long, Integer>> progress = new ArrayList<>(written.entrySet());
+        jdbcTemplate.batchUpdate(UPDATE_CHAPTERS_READ, progress, progress.size(), (ps, entry) -> {
+            ps.setInt(1, entry.getValue());
+            ps.setLong(2, entry.getKey());
+        });
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(MARK_MODIFIED, progress, progress.size(), (ps, entry) -> {
+            ps.setTimestamp(1, now);
+            ps.setLong(2, entry.getKey());
+        });
+        log.debug("Wrote the reading progress of {} novel(s)", written.size());
+        return written;
+    }
+
+}
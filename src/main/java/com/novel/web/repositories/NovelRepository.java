@@ -1,13 +1,31 @@
 package com.novel.web.repositories;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.lang.NonNull;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.novel.web.domain.Novel;
+import com.novel.web.repositories.projection.LibraryVersionView;
+import com.novel.web.repositories.projection.NovelKeyView;
+import com.novel.web.repositories.projection.NovelListView;
+import com.novel.web.repositories.projection.NovelNameView;
+import com.novel.web.repositories.projection.NovelStateView;
+import com.novel.web.repositories.projection.NovelVersionView;
+
+import jakarta.persistence.QueryHint;
 
 /**
  * Repository interface for managing {@link Novel} entities.
@@ -22,6 +40,19 @@ import com.novel.web.domain.Novel;
 @Repository
 public interface NovelRepository extends CrudRepository<Novel, Long> {
 
+    /**
+     * select list of the {@link NovelListView} queries: a novel with its
+     * details and opinion, outer joined so novels without them are kept
+     */
+    String LIST_VIEW = "SELECT n.iD AS id, n.name AS name, n.originalName AS originalName, n.link AS link, "
+            + "n.genre AS genre, d.iD AS detailsId, d.description AS description, d.mcName AS mcName, "
+            + "d.novelCover AS novelCover, d.tags AS tags, d.specialCharacteristicOfMc AS specialCharacteristicOfMc, "
+            + "d.status AS status, d.totalChapters AS totalChapters, d.addedOn AS addedOn, "
+            + "d.lastUpdatedOn AS lastUpdatedOn, o.id AS opinionId, o.rating AS rating, "
+            + "o.chaptersRead AS chaptersRead, o.favorite AS favorite, o.worthToContinue AS worthToContinue, "
+            + "o.chaptersFrequency AS chaptersFrequency "
+            + "FROM Novel n LEFT JOIN n.novelDetails d LEFT JOIN n.novelOpinion o ";
+
     /**
      * finds the novel with the specified id
      * 
@@ -60,6 +91,18 @@ public interface NovelRepository extends CrudRepository<Novel, Long> {
      */
     boolean existsByNameOrLink(String name, String link);
 
+    /**
+     * looks up, in a single query, the name and link of every novel whose name
+     * or link is in the given sets
+     * 
+     * @param names - names to check for
+     * @param links - links to check for
+     * @return name/link pairs of the novels that already exist in the library
+     */
+    @Query("SELECT n.name AS name, n.link AS link FROM Novel n WHERE n.name IN :names OR n.link IN :links")
+    List<NovelKeyView> findKeysByNameInOrLinkIn(@Param("names") Collection<String> names,
+            @Param("links") Collection<String> links);
+
     /**
      * Retreives number of novels in the library
      * 
@@ -78,25 +121,178 @@ public interface NovelRepository extends CrudRepository<Novel, Long> {
      * retreival of the novels from the library using regex
      * 
      * @param name - name of the novel to look for
-     * @return list of the novels containing specified keyword in their name
+     * @return list of the novels containing specified keyword in their name,
+     *         in id order
+     */
+    @Query(LIST_VIEW + "WHERE LOWER(n.name) LIKE %?#{escape([0].toLowerCase())}% ESCAPE ?#{escapeCharacter()} "
+            + "ORDER BY n.iD")
+    List<NovelListView> findViewsByNameContaining(String name);
+
+    /**
+     * retreives the novels with the given ids, as resolved by the name index
+     * 
+     * @param ids - ids of the novels
+     * @return list of the novels with the given ids, in id order
+     */
+    @Query(LIST_VIEW + "WHERE n.iD IN :ids ORDER BY n.iD")
+    List<NovelListView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * reads the best rated novels, through the (rating, id) index
+     * 
+     * @param limit - maximum number of novels
+     * @return rated novels by descending rating, then descending id
+     */
+    @Query(LIST_VIEW + "WHERE o.rating IS NOT NULL ORDER BY o.rating DESC, o.id DESC")
+    List<NovelListView> findTopRated(Limit limit);
+
+    /**
+     * reads the novels with the most chapters read, through the
+     * (chapters_read, id) index
+     * 
+     * @param limit - maximum number of novels
+     * @return started novels by descending chapters read, then descending id
+     */
+    @Query(LIST_VIEW + "WHERE o.chaptersRead > 0 ORDER BY o.chaptersRead DESC, o.id DESC")
+    List<NovelListView> findMostRead(Limit limit);
+
+    /**
+     * reads the most recently updated novels, through the (last_updated_on, id)
+     * index
+     * 
+     * @param limit - maximum number of novels
+     * @return novels by descending last update, then descending id
+     */
+    @Query(LIST_VIEW + "WHERE d.lastUpdatedOn IS NOT NULL ORDER BY d.lastUpdatedOn DESC, d.iD DESC")
+    List<NovelListView> findRecentlyUpdated(Limit limit);
+
+    /**
+     * retreives the id, name and original name of every novel, to build the
+     * in-memory name index
+     * 
+     * @return searchable names of all the novels in the library
+     */
+    @Query("SELECT n.iD AS id, n.name AS name, n.originalName AS originalName FROM Novel n")
+    List<NovelNameView> findAllNames();
+
+    /**
+     * retreives the id of every novel, to build the in-memory tag index
+     * 
+     * @return ids of all the novels in the library
      */
-    List<Novel> findByNameContainingIgnoreCase(String name);
+    @Query("SELECT n.iD FROM Novel n")
+    List<Long> findAllIds();
 
     /**
      * retreival of the novels of the specified genre
      * 
      * @param genre
-     * @return list of the novels with the specified genre
+     * @return list of the novels with the specified genre, in id order
      */
-    List<Novel> findAllByGenreIgnoreCase(String genre);
+    @Query(LIST_VIEW + "WHERE LOWER(n.genre) = LOWER(:genre) ORDER BY n.iD")
+    List<NovelListView> findViewsByGenreIgnoreCase(@Param("genre") String genre);
 
     /**
-     * retreives all the novels present in the library
+     * retreival of the novels of the specified genre through the indexed genre
+     * key
      * 
-     * @param genre
-     * @return all the novels present in the library
+     * @param genreId - id of the genre in the genre dictionary
+     * @return list of the novels with the specified genre, in id order
+     */
+    @Query(LIST_VIEW + "WHERE n.genreId = :genreId ORDER BY n.iD")
+    List<NovelListView> findViewsByGenreId(@Param("genreId") Integer genreId);
+
+    /**
+     * retreives the distinct free-text genres of novels not yet linked to the
+     * genre dictionary
+     * 
+     * @return genres to be normalized
+     */
+    @Query("SELECT DISTINCT n.genre FROM Novel n WHERE n.genreId IS NULL AND n.genre IS NOT NULL")
+    List<String> findUnlinkedGenres();
+
+    /**
+     * links the novels with the given free-text genre to a genre of the
+     * dictionary and rewrites the genre to its canonical name, moving their
+     * version and modification time
+     * 
+     * @param rawGenre   - genre as currently stored
+     * @param genreId    - id of the genre in the dictionary
+     * @param canonical  - canonical name of the genre
+     * @param modifiedOn - modification time of the novels linked
+     * @return number of novels linked
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Novel n SET n.genreId = :genreId, n.genre = :canonical, n.version = n.version + 1, "
+            + "n.modifiedOn = :modifiedOn WHERE n.genreId IS NULL AND n.genre = :rawGenre")
+    int linkGenre(@Param("rawGenre") String rawGenre, @Param("genreId") Integer genreId,
+            @Param("canonical") String canonical, @Param("modifiedOn") LocalDateTime modifiedOn);
+
+    /**
+     * reads the indexed state and version of every novel, in one statement so
+     * that the rows come from one consistent snapshot; used to rebuild the
+     * in-memory indexes
+     * 
+     * @return genre id, status, rating and favorite flag of every novel
+     */
+    @Query("SELECT n.iD AS id, n.version AS version, n.genreId AS genreId, d.status AS status, "
+            + "o.rating AS rating, o.favorite AS favorite FROM Novel n LEFT JOIN n.novelDetails d "
+            + "LEFT JOIN n.novelOpinion o")
+    List<NovelStateView> findStates();
+
+    /**
+     * reads the version and last modification of one novel, without its LOBs
+     * 
+     * @param id - id of the novel
+     * @return change markers of the novel, empty if it does not exist
+     */
+    @Query("SELECT n.iD AS id, n.version AS version, d.lastUpdatedOn AS lastUpdatedOn, "
+            + "n.modifiedOn AS modifiedOn FROM Novel n LEFT JOIN n.novelDetails d WHERE n.iD = :id")
+    Optional<NovelVersionView> findVersionById(@Param("id") Long id);
+
+    /**
+     * aggregates the change markers of the novels returned by
+     * {@link #findAllViews()}, over index columns only
+     * 
+     * @return number of novels, highest id, sum of versions, latest update of
+     *         the details and latest modification of a novel
+     */
+    @Query("SELECT COUNT(n) AS total, MAX(n.iD) AS maxId, SUM(n.version) AS versionSum, "
+            + "MAX(d.lastUpdatedOn) AS lastUpdatedOn, MAX(n.modifiedOn) AS modifiedOn "
+            + "FROM Novel n JOIN n.novelDetails d")
+    LibraryVersionView findLibraryVersion();
+
+    /**
+     * retreives all the novels present in the library (those with details)
+     * 
+     * @return all the novels present in the library, in id order
+     */
+    @Query(LIST_VIEW + "WHERE d.iD IS NOT NULL ORDER BY n.iD")
+    List<NovelListView> findAllViews();
+
+    /**
+     * retreives one page of novels ordered by id, starting after the given id
+     * (keyset pagination: a range scan on the primary key, whatever the depth)
+     * 
+     * @param afterId - id of the last novel of the previous page, 0 for the
+     *                first page
+     * @param limit   - maximum number of novels to return
+     * @return novels with id greater than afterId, in id order
+     */
+    @Query(LIST_VIEW + "WHERE n.iD > :afterId ORDER BY n.iD")
+    List<NovelListView> findViewsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * streams every novel of the library in id order through a database
+     * cursor, so rows are fetched in batches as the stream is consumed instead
+     * of being materialized up front. Must be consumed (and closed) inside a
+     * transaction.
+     * 
+     * @return stream over all the novels with their details and opinion
      */
-    @Query("SELECT n FROM Novel n JOIN FETCH n.novelDetails LEFT JOIN FETCH n.novelOpinion")
-    List<Novel> findAllWithDetails();
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT n FROM Novel n LEFT JOIN FETCH n.novelDetails LEFT JOIN FETCH n.novelOpinion ORDER BY n.iD")
+    Stream<Novel> streamAllWithDetails();
 
 }
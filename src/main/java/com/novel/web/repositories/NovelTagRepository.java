@@ -0,0 +1,112 @@
+package com.novel.web.repositories;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.novel.web.domain.NovelTag;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * JDBC access to the {@link NovelTag} links between novels and tags.
+ *
+ * @author Vikas Yadav
+ * @version 1.0
+ * @since 2025
+ */
+@Slf4j
+@Repository
+public class NovelTagRepository {
+
+    private static final String INSERT_LINK = "INSERT INTO library.novel_tag (novel_id, tag_id) VALUES (?, ?)";
+
+    private static final String DELETE_LINKS = "DELETE FROM library.novel_tag WHERE novel_id = ?";
+
+    private static final String SELECT_LINKS = "SELECT novel_id, tag_id FROM library.novel_tag";
+
+    private static final String SELECT_UNLINKED = "SELECT d.id, d.tags FROM library.noveldetails d "
+            + "WHERE LENGTH(d.tags) > 0 "
+            + "AND NOT EXISTS (SELECT 1 FROM library.novel_tag nt WHERE nt.novel_id = d.id)";
+
+    /** receives one link at a time, without boxing */
+    @FunctionalInterface
+    public interface LinkConsumer {
+
+        void accept(long novelId, int tagId);
+
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public NovelTagRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * links novels to their tags as one JDBC batch
+     *
+     * @param tagIdsByNovel - novel id -> ids of its tags
+     */
+    @Transactional
+    public void insertAll(Map<Long, int[]> tagIdsByNovel) {
+        List<long[]> links = new ArrayList<>();
+        tagIdsByNovel.forEach((novelId, tagIds) -> {
+            for (int tagId : tagIds) {
+                links.add(new long[] { novelId, tagId });
+            }
+        });
+        if (links.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_LINK, links, links.size(), (ps, link) -> {
+            ps.setLong(1, link[0]);
+            ps.setInt(2, (int) link[1]);
+        });
+        log.debug("Inserted {} tag link(s) for {} novel(s)", links.size(), tagIdsByNovel.size());
+    }
+
+    /**
+     * replaces the tags of a novel
+     *
+     * @param novelId - id of the novel
+     * @param tagIds  - ids of its tags from now on
+     */
+    @Transactional
+    public void replaceTags(long novelId, int[] tagIds) {
+        jdbcTemplate.update(DELETE_LINKS, novelId);
+        Map<Long, int[]> links = new LinkedHashMap<>();
+        links.put(novelId, tagIds);
+        insertAll(links);
+    }
+
+    /**
+     * streams every link of the library
+     */
+    @Transactional(readOnly = true)
+    public void forEachLink(LinkConsumer consumer) {
+        jdbcTemplate.query(SELECT_LINKS, rs -> {
+            consumer.accept(rs.getLong(1), rs.getInt(2));
+        });
+    }
+
+    /**
+     * @return novel id -> tags text of the novels that have tags but no link
+     *         yet, i.e. written before tags were normalized or by the load
+     *         test seeder
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, String> findUnlinkedTags() {
+        Map<Long, String> unlinked = new LinkedHashMap<>();
+        jdbcTemplate.query(SELECT_UNLINKED, rs -> {
+            unlinked.put(rs.getLong(1), rs.getString(2));
+        });
+        return unlinked;
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.novel.web.repositories;
+
+import java.util.Optional;
+
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+import com.novel.web.domain.Tag;
+
+/**
+ * Repository interface for managing {@link Tag} entities.
+ *
+ * @author Vikas Yadav
+ * @version 1.0
+ * @since 2025
+ */
+@Repository
+public interface TagRepository extends CrudRepository<Tag, Integer> {
+
+    /**
+     * finds the tag with the specified name
+     *
+     * @param name - canonical (lower case) name of the tag
+     * @return the tag, if it exists
+     */
+    Optional<Tag> findByName(String name);
+
+}
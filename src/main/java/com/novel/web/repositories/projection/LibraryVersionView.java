@@ -0,0 +1,21 @@
+package com.novel.web.repositories.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aggregate change markers of the whole library: any insert, delete or update
+ * moves at least one of them.
+ */
+public interface LibraryVersionView {
+
+    long getTotal();
+
+    Long getMaxId();
+
+    Long getVersionSum();
+
+    LocalDateTime getLastUpdatedOn();
+
+    LocalDateTime getModifiedOn();
+
+}
@@ -0,0 +1,13 @@
+package com.novel.web.repositories.projection;
+
+/**
+ * Projection of the unique keys of a novel (name and link), used for
+ * set-based duplicate detection without loading whole entities.
+ */
+public interface NovelKeyView {
+
+    String getName();
+
+    String getLink();
+
+}
@@ -0,0 +1,56 @@
+package com.novel.web.repositories.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of a novel with its details and opinion flattened into one row,
+ * holding exactly the columns of a search/list response. Read with a single
+ * query over outer joins, so listing novels does not initialize their
+ * one-to-one associations one by one. The details/opinion columns are null
+ * when the novel has none.
+ */
+public interface NovelListView {
+
+    Long getId();
+
+    String getName();
+
+    String getOriginalName();
+
+    String getLink();
+
+    String getGenre();
+
+    Long getDetailsId();
+
+    String getDescription();
+
+    String getMcName();
+
+    String getNovelCover();
+
+    String getTags();
+
+    String getSpecialCharacteristicOfMc();
+
+    String getStatus();
+
+    Integer getTotalChapters();
+
+    LocalDateTime getAddedOn();
+
+    LocalDateTime getLastUpdatedOn();
+
+    Long getOpinionId();
+
+    Integer getRating();
+
+    Integer getChaptersRead();
+
+    Boolean getFavorite();
+
+    String getWorthToContinue();
+
+    String getChaptersFrequency();
+
+}
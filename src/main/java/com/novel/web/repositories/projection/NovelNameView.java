@@ -0,0 +1,15 @@
+package com.novel.web.repositories.projection;
+
+/**
+ * Projection of the searchable names of a novel, used to build the in-memory
+ * name index without loading whole entities.
+ */
+public interface NovelNameView {
+
+    Long getId();
+
+    String getName();
+
+    String getOriginalName();
+
+}
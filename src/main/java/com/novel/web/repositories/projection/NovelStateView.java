@@ -0,0 +1,22 @@
+package com.novel.web.repositories.projection;
+
+/**
+ * Projection of the indexed state of a novel with its version, read by the
+ * in-memory indexes when they rebuild so that they can tell which of the
+ * changes seen meanwhile the rows already hold.
+ */
+public interface NovelStateView {
+
+    Long getId();
+
+    long getVersion();
+
+    Integer getGenreId();
+
+    String getStatus();
+
+    Integer getRating();
+
+    Boolean getFavorite();
+
+}
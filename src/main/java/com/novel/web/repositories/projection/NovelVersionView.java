@@ -0,0 +1,19 @@
+package com.novel.web.repositories.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of the change markers of a novel, enough to answer a conditional
+ * GET without loading its LOBs.
+ */
+public interface NovelVersionView {
+
+    Long getId();
+
+    long getVersion();
+
+    LocalDateTime getLastUpdatedOn();
+
+    LocalDateTime getModifiedOn();
+
+}
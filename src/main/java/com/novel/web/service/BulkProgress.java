@@ -0,0 +1,48 @@
+package com.novel.web.service;
+
+import java.util.List;
+
+import com.novel.web.dto.request.NovelRequestDTO;
+import com.novel.web.dto.response.BulkInsertResultDTO;
+
+/**
+ * Observes a bulk insert chunk by chunk, and may stop it between chunks.
+ *
+ * Every chunk is committed in its own transaction, so the counts reported so
+ * far are durable whatever happens to the chunks after them.
+ */
+public interface BulkProgress {
+
+    /** synchronous behaviour: never cancelled, the first failing chunk fails the insert */
+    BulkProgress NONE = new BulkProgress() {
+
+        @Override
+        public void chunkFailed(List<NovelRequestDTO> chunk, RuntimeException ex) {
+            throw ex;
+        }
+
+    };
+
+    /**
+     * @return true to stop the insert before its next chunk
+     */
+    default boolean isCancelled() {
+        return false;
+    }
+
+    /**
+     * @param chunkResult - outcome of a committed chunk
+     */
+    default void chunkCommitted(BulkInsertResultDTO chunkResult) {
+    }
+
+    /**
+     * called when a chunk was rolled back; returning normally carries on with
+     * the next chunk
+     *
+     * @param chunk - records of the chunk
+     * @param ex    - reason of the failure
+     */
+    void chunkFailed(List<NovelRequestDTO> chunk, RuntimeException ex);
+
+}
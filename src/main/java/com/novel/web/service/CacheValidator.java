@@ -0,0 +1,28 @@
+package com.novel.web.service;
+
+import java.time.Instant;
+
+/**
+ * HTTP validators of a resource: a weak entity tag built from the versions of
+ * the rows it is made of and, when known, the time it was last modified.
+ *
+ * The tag is weak because the same state of the resource is sent in several
+ * encodings (JSON, CBOR or Smile, compressed or not) that are equivalent but
+ * not byte for byte equal. The modification time is moved by the same writes
+ * as the version; it is left unknown while its second is still running, as
+ * an HTTP date could not tell a later write of that second apart.
+ *
+ * @param eTag         - weak entity tag, {@code W/"..."}
+ * @param lastModified - last modification, null if unknown
+ */
+public record CacheValidator(String eTag, Instant lastModified) {
+
+    /**
+     * @return last modification in epoch millis, -1 if unknown (as expected
+     *         by {@code WebRequest.checkNotModified})
+     */
+    public long lastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.toEpochMilli();
+    }
+
+}
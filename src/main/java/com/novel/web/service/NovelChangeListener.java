@@ -0,0 +1,45 @@
+package com.novel.web.service;
+
+import java.util.Map;
+
+import com.novel.web.domain.Novel;
+
+/**
+ * Callback for in-memory structures (indexes, counters, caches) that mirror
+ * the library and must follow every write made through {@link NovelService}.
+ * 
+ * Listeners are notified by {@link NovelChangePublisher} once the write is
+ * committed. Implementations must be thread safe and cheap; they run on the
+ * request thread.
+ * 
+ * @author Vikas Yadav
+ * @version 1.0
+ * @since 2025
+ */
+public interface NovelChangeListener {
+
+    /**
+     * a new novel was added to the library
+     * 
+     * @param novel - the saved novel, with its id populated
+     */
+    void novelAdded(Novel novel);
+
+    /**
+     * an existing novel was modified
+     * 
+     * @param before - indexed fields of the novel before the update
+     * @param after  - the novel as saved
+     */
+    void novelUpdated(NovelSnapshot before, Novel after);
+
+    /**
+     * the reading progress of novels was written behind, without loading the
+     * novels
+     * 
+     * @param chaptersRead - novel id -> chapters read, for existing novels only
+     */
+    default void progressWritten(Map<Long, Integer> chaptersRead) {
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.novel.web.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.novel.web.domain.Novel;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fans write notifications out to every {@link NovelChangeListener}.
+ * 
+ * When called inside a transaction the notification is deferred until after
+ * commit, so listeners never see a write that is later rolled back.
+ */
+@Slf4j
+@Component
+public class NovelChangePublisher {
+
+    private final List<NovelChangeListener> listeners;
+
+    public NovelChangePublisher(List<NovelChangeListener> listeners) {
+        this.listeners = listeners;
+    }
+
+    public void added(Collection<Novel> novels) {
+        if (novels.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> notifyEach(listener -> novels.forEach(listener::novelAdded)));
+    }
+
+    public void updated(NovelSnapshot before, Novel after) {
+        afterCommit(() -> notifyEach(listener -> listener.novelUpdated(before, after)));
+    }
+
+    public void progressWritten(Map<Long, Integer> chaptersRead) {
+        if (chaptersRead.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> notifyEach(listener -> listener.progressWritten(chaptersRead)));
+    }
+
+    /**
+     * a failing listener must neither fail the (already committed) write nor
+     * starve the other listeners
+     */
+    private void notifyEach(Consumer<NovelChangeListener> notification) {
+        for (NovelChangeListener listener : listeners) {
+            try {
+                notification.accept(listener);
+            } catch (RuntimeException ex) {
+                log.error("{} failed to apply a novel change : {}", listener.getClass().getSimpleName(),
+                        ex.getMessage(), ex);
+            }
+        }
+    }
+
+    private void afterCommit(Runnable notification) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    notification.run();
+                }
+            });
+        } else {
+            notification.run();
+        }
+    }
+
+}
@@ -1,11 +1,24 @@
 package com.novel.web.service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.novel.web.domain.Novel;
-import com.novel.web.domain.NovelDetails;
 import com.novel.web.domain.NovelOpinion;
+import com.novel.web.dto.request.NovelRatingsRequestDto;
 import com.novel.web.dto.request.NovelRequestDTO;
+import com.novel.web.dto.response.BulkInsertResultDTO;
+import com.novel.web.dto.response.FacetsDTO;
+import com.novel.web.dto.response.FavoritesPageDTO;
+import com.novel.web.dto.response.GenreCountDTO;
+import com.novel.web.dto.response.GenreRatingDTO;
+import com.novel.web.dto.response.ImportResultDTO;
+import com.novel.web.dto.response.NovelPageDTO;
+import com.novel.web.dto.response.RatingStatsDTO;
+import com.novel.web.dto.response.TagSearchPageDTO;
 
 /**
  * Service interface for managing {@link Novel} services.
@@ -23,19 +36,48 @@ public interface NovelService {
 
     public boolean findNovelByNameOrLink(String name, String link);
 
-    public List<Novel> findNovelByName(String name);
+    public List<NovelRequestDTO> findNovelByName(String name);
 
-    public List<Novel> findNovelByGenre(String genre);
+    public List<NovelRequestDTO> findNovelByGenre(String genre);
+
+    public List<GenreCountDTO> getGenreCounts();
+
+    public FacetsDTO getFacets(Integer tagLimit);
 
     public Long getNovelsCount();
 
-    public List<Novel> getAllNovels();
+    public List<NovelRequestDTO> getAllNovels();
+
+    public NovelPageDTO getNovelPage(String cursor, Integer size);
+
+    public TagSearchPageDTO searchByTags(String expression, String cursor, Integer size);
+
+    public long exportNovels(OutputStream out, boolean ndjson) throws IOException;
+
+    public BulkInsertResultDTO addNovelsInBulk(List<NovelRequestDTO> novels);
+
+    public BulkInsertResultDTO addNovelsInBulk(List<NovelRequestDTO> novels, BulkProgress progress);
+
+    public ImportResultDTO importNovels(InputStream ndjson, long resumeFrom);
 
-    public Long addNovelsInBulk(List<NovelRequestDTO> novels);
+    public Novel updateNovel(Long id, JsonNode patch);
 
-    public Novel updateNovel(Long id, String name, String link, String originalName, String genre,
-            NovelDetails novelDetails, NovelOpinion novelOpinion);
+    public boolean recordProgress(Long id, Integer chaptersRead);
+
+    public NovelOpinion rateNovel(Long id, NovelRatingsRequestDto rating);
+
+    public RatingStatsDTO getRatingStats();
+
+    public List<GenreRatingDTO> getGenreRatings();
+
+    public FavoritesPageDTO getFavorites(String cursor, Integer size);
+
+    public List<NovelRequestDTO> getLeaderboard(String board, Integer limit);
 
     public Novel getNovelById(Long id);
 
+    public CacheValidator getNovelValidator(Long id);
+
+    public CacheValidator getLibraryValidator();
+
 }
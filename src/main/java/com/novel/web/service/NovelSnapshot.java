@@ -0,0 +1,22 @@
+package com.novel.web.service;
+
+import com.novel.web.domain.Novel;
+import com.novel.web.domain.NovelDetails;
+
+/**
+ * Immutable copy of the indexed fields of a {@link Novel}, taken before an
+ * update so that {@link NovelChangeListener}s can compute deltas against the
+ * previous state.
+ */
+public record NovelSnapshot(Long id, String name, String originalName, Integer genreId, String tags,
+        String status, Integer rating, boolean favorite) {
+
+    public static NovelSnapshot of(Novel novel) {
+        NovelDetails details = novel.getNovelDetails();
+        return new NovelSnapshot(novel.getID(), novel.getName(), novel.getOriginalName(), novel.getGenreId(),
+                details == null ? null : details.getTags(), details == null ? null : details.getStatus(),
+                novel.getNovelOpinion() == null ? null : novel.getNovelOpinion().getRating(),
+                novel.getNovelOpinion() != null && novel.getNovelOpinion().isFavorite());
+    }
+
+}
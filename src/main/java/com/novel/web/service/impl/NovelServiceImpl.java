@@ -1,22 +1,88 @@
 package com.novel.web.service.impl;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.annotation.Primary;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.crossstore.ChangeSetPersister.NotFoundException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import com.novel.web.domain.Novel;
 import com.novel.web.domain.NovelDetails;
 import com.novel.web.domain.NovelOpinion;
+import com.novel.web.configuration.CacheConfig;
+import com.novel.web.dto.request.NovelRatingsRequestDto;
 import com.novel.web.dto.request.NovelRequestDTO;
+import com.novel.web.dto.response.BulkInsertResultDTO;
+import com.novel.web.dto.response.FacetCountDTO;
+import com.novel.web.dto.response.FacetsDTO;
+import com.novel.web.dto.response.FavoritesPageDTO;
+import com.novel.web.dto.response.GenreCountDTO;
+import com.novel.web.dto.response.GenreRatingDTO;
+import com.novel.web.dto.response.ImportResultDTO;
+import com.novel.web.dto.response.NovelPageDTO;
+import com.novel.web.dto.response.RatingStatsDTO;
+import com.novel.web.dto.response.TagSearchPageDTO;
+import com.novel.web.exception.NovelImportException;
+import com.novel.web.index.GenreDictionary;
+import com.novel.web.index.NovelCounter;
+import com.novel.web.index.NovelFacets;
+import com.novel.web.index.NovelNameIndex;
+import com.novel.web.index.Leaderboard;
+import com.novel.web.index.Leaderboards;
+import com.novel.web.index.NovelRatings;
+import com.novel.web.index.TagExpression;
+import com.novel.web.index.TagIndex;
 import com.novel.web.mapper.NovelRequestMapper;
+import com.novel.web.progress.ReadingProgressBuffer;
+import com.novel.web.repositories.NovelBatchRepository;
 import com.novel.web.repositories.NovelRepository;
+import com.novel.web.repositories.NovelTagRepository;
+import com.novel.web.repositories.projection.LibraryVersionView;
+import com.novel.web.repositories.projection.NovelKeyView;
+import com.novel.web.repositories.projection.NovelListView;
+import com.novel.web.service.BulkProgress;
+import com.novel.web.service.CacheValidator;
+import com.novel.web.service.NovelChangePublisher;
 import com.novel.web.service.NovelService;
+import com.novel.web.service.NovelSnapshot;
+import com.novel.web.util.CursorCodec;
 
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -34,28 +100,111 @@ public class NovelServiceImpl implements NovelService {
 
     private final NovelRepository novelRepo;
 
+    private final NovelBatchRepository novelBatchRepo;
+
     private final NovelRequestMapper novelRequestMapper;
 
+    private final ObjectMapper objectMapper;
+
+    private final NovelNameIndex novelNameIndex;
+
+    private final GenreDictionary genreDictionary;
+
+    private final NovelCounter novelCounter;
+
+    private final NovelChangePublisher changePublisher;
+
+    private final TagIndex tagIndex;
+
+    private final NovelTagRepository novelTagRepo;
+
+    private final NovelFacets novelFacets;
+
+    private final ReadingProgressBuffer progressBuffer;
+
+    private final NovelRatings novelRatings;
+
+    private final Leaderboards leaderboards;
+
+    @Value("${novel.bulk.chunk-size:500}")
+    private int bulkChunkSize;
+
+    @Value("${novel.import.commit-interval:500}")
+    private int importCommitInterval;
+
+    @Value("${novel.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${novel.page.max-size:200}")
+    private int maxPageSize;
+
+    @Value("${novel.facets.default-tags:20}")
+    private int defaultFacetTags;
+
+    @Value("${novel.leaderboard.default-size:20}")
+    private int defaultLeaderboardSize;
+
+    @Value("${novel.export.flush-interval:200}")
+    private int exportFlushInterval;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     /**
      * injecting novelRepository and novelRequestMapper into the novelServiceImpl
      * constructor
      * 
-     * @param novelRepository    - repository for novel data operations
-     * @param novelRequestMapper - Mapper for converting between DTO and entity
+     * @param novelRepository      - repository for novel data operations
+     * @param novelBatchRepository - batched JDBC writer used by the bulk paths
+     * @param novelRequestMapper   - Mapper for converting between DTO and entity
+     * @param objectMapper         - Jackson mapper used to parse streamed imports
+     * @param novelNameIndex       - in-memory index answering name searches
+     * @param genreDictionary      - normalized genre dictionary
+     * @param novelCounter         - in-memory count of the novels
+     * @param changePublisher      - notifies the in-memory indexes of writes
+     * @param tagIndex             - tag dictionary and bitmap index answering tag
+     *                             searches
+     * @param novelTagRepository   - writer of the links between novels and tags
+     * @param novelFacets          - in-memory counts per status and favorite flag
+     * @param progressBuffer       - write-behind buffer of the reading progress
+     * @param novelRatings         - in-memory rating aggregates and favorites
+     * @param leaderboards         - in-memory top novels by rating, progress and
+     *                             last update
      */
-    public NovelServiceImpl(NovelRepository novelRepo, NovelRequestMapper novelRequestMapper) {
+    public NovelServiceImpl(NovelRepository novelRepo, NovelBatchRepository novelBatchRepo,
+            NovelRequestMapper novelRequestMapper, ObjectMapper objectMapper, NovelNameIndex novelNameIndex,
+            GenreDictionary genreDictionary, NovelCounter novelCounter, NovelChangePublisher changePublisher,
+            TagIndex tagIndex, NovelTagRepository novelTagRepo, NovelFacets novelFacets,
+            ReadingProgressBuffer progressBuffer, NovelRatings novelRatings, Leaderboards leaderboards) {
         this.novelRepo = novelRepo;
+        this.novelBatchRepo = novelBatchRepo;
         this.novelRequestMapper = novelRequestMapper;
+        this.objectMapper = objectMapper;
+        this.novelNameIndex = novelNameIndex;
+        this.genreDictionary = genreDictionary;
+        this.novelCounter = novelCounter;
+        this.changePublisher = changePublisher;
+        this.tagIndex = tagIndex;
+        this.novelTagRepo = novelTagRepo;
+        this.novelFacets = novelFacets;
+        this.progressBuffer = progressBuffer;
+        this.novelRatings = novelRatings;
+        this.leaderboards = leaderboards;
     }
 
     /**
-     * returns the total number of novels present in the library
+     * returns the total number of novels present in the library, from memory
+     * once the counter is seeded
      *
      */
     @Override
+    @Transactional(readOnly = true)
     public Long getNovelsCount() {
         log.info("Fetching total count of novels");
-        Long count = novelRepo.count();
+        Long count = novelCounter.get();
+        if (count == null) {
+            count = novelRepo.count();
+        }
         log.info("Total number of novels found : {}", count);
         return count;
     }
@@ -71,6 +220,7 @@ public class NovelServiceImpl implements NovelService {
      * @throws IllegalArgumentException        if novelRequestDto is null
      */
     @Override
+    @Transactional
     public Long addNovelIfNotExists(NovelRequestDTO novelRequestDTO) {
         if (novelRequestDTO == null) {
             throw new IllegalArgumentException("NovelRequestDTO cannot be null");
@@ -90,8 +240,14 @@ public class NovelServiceImpl implements NovelService {
                     + " and link : " + novel.getLink());
 
         }
+        // a duplicate does not add its genre and tags to the dictionaries
+        applyGenre(novel, novel.getGenre());
+        int[] tagIds = tagIdsOf(novel);
+        novel.setModifiedOn(LocalDateTime.now());
         Novel savedNovel = novelRepo.save(novel);
+        novelTagRepo.insertAll(Map.of(savedNovel.getID(), tagIds));
         log.info("Novel successfully added with ID: {}", savedNovel.getID());
+        changePublisher.added(List.of(savedNovel));
 
         return savedNovel.getID();
 
@@ -126,109 +282,784 @@ public class NovelServiceImpl implements NovelService {
     /**
      * Finds novels by name using case-insensitive partial matching
      * 
+     * Candidate ids are resolved from the in-memory trigram index (which also
+     * covers the original name) and fetched by primary key, together with
+     * their details and opinion, in one query; the database LIKE scan is only
+     * used while the index is still being built.
+     * 
      * @param name - Name or partial name of the novel to search for
      * @return list of novels whose name contain the search term
      * @throws IllegalArgumentException if name is null or empty
      */
     @Override
-    public List<Novel> findNovelByName(String name) {
+    @Transactional(readOnly = true)
+    public List<NovelRequestDTO> findNovelByName(String name) {
         if (name == null || name.trim().isEmpty()) {
             throw new IllegalArgumentException("Name cannot be empty or blank");
         }
         log.info("Looking for novel with name {} : ", name);
-        List<Novel> novels = novelRepo.findByNameContainingIgnoreCase(name.trim());
+        List<Long> ids = novelNameIndex.search(name.trim());
+        List<NovelListView> novels;
+        if (ids == null) {
+            log.info("Name index not ready, searching the database");
+            novels = novelRepo.findViewsByNameContaining(name.trim());
+        } else if (ids.isEmpty()) {
+            novels = List.of();
+        } else {
+            novels = novelRepo.findViewsByIdIn(ids);
+        }
         log.info("Found {} novel(s) with name containing: {}", novels.size(), name.trim());
-        return novels;
+        return novelRequestMapper.viewsToDTOList(novels);
     }
 
     /**
      * Find Novels by genre using case-insensitive exact matching
      * 
+     * The genre is resolved to its key in the genre dictionary, so the lookup
+     * is an indexed integer equality; an unknown genre needs no query at all.
+     * Results of known genres are cached by genre id.
+     * 
      * @param genre - genre of the novel to search for
      * @return List of the novels with the specified genre
      * @throws IllegalArgumentException if genre is null or empty
      */
     @Override
-    public List<Novel> findNovelByGenre(String genre) {
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.NOVELS_BY_GENRE, key = "@genreDictionary.idOf(#genre)",
+            condition = "@genreDictionary.idOf(#genre) != null")
+    public List<NovelRequestDTO> findNovelByGenre(String genre) {
         if (genre == null || genre.trim().isEmpty()) {
             throw new IllegalArgumentException("genre cannot be null or empty");
         }
         log.info("Finding all the novels with genre : {} ", genre);
-        List<Novel> novels = novelRepo.findAllByGenreIgnoreCase(genre);
+        List<NovelListView> novels;
+        Integer genreId = genreDictionary.idOf(genre);
+        if (genreId != null) {
+            novels = novelRepo.findViewsByGenreId(genreId);
+        } else if (genreDictionary.isReady()) {
+            novels = List.of();
+        } else {
+            log.info("Genre dictionary not ready, searching by genre text");
+            novels = novelRepo.findViewsByGenreIgnoreCase(genre.trim());
+        }
         log.info("Found {} novel(s) with genre: {}", novels.size(), genre.trim());
-        return novels;
+        return novelRequestMapper.viewsToDTOList(novels);
 
     }
 
     /**
-     * updates novel information
+     * returns every genre of the library with its number of novels, served
+     * from the genre dictionary
+     */
+    @Override
+    public List<GenreCountDTO> getGenreCounts() {
+        return genreDictionary.genreCounts();
+    }
+
+    /**
+     * returns the facet counts of the library UI, all served from the
+     * in-memory aggregates kept up to date by the writes
+     * 
+     * @param tagLimit - number of most used tags returned, defaults to
+     *                 {@code novel.facets.default-tags} and is capped at
+     *                 {@code novel.page.max-size}
+     * @return number of novels per genre, status, favorite flag and tag; tags
+     *         are null while the tag index is unavailable
+     * @throws IllegalArgumentException if tagLimit is negative
+     * @throws IllegalStateException    if the aggregates are not seeded yet
+     */
+    @Override
+    public FacetsDTO getFacets(Integer tagLimit) {
+        if (tagLimit != null && tagLimit < 0) {
+            throw new IllegalArgumentException("tag limit cannot be negative");
+        }
+        Long total = novelCounter.get();
+        List<FacetCountDTO> statuses = novelFacets.statusCounts();
+        List<FacetCountDTO> favorites = novelFacets.favoriteCounts();
+        if (total == null || statuses == null || favorites == null || !genreDictionary.isReady()) {
+            throw new IllegalStateException("Facet counts are not seeded yet");
+        }
+        FacetsDTO facets = new FacetsDTO();
+        facets.setTotal(total);
+        facets.setGenres(genreDictionary.genreCounts().stream()
+                .map(genre -> new FacetCountDTO(genre.getGenre(), genre.getCount())).toList());
+        facets.setStatuses(statuses);
+        facets.setFavorites(favorites);
+        if (tagIndex.isReady()) {
+            int limit = Math.min(tagLimit == null ? defaultFacetTags : tagLimit, maxPageSize);
+            facets.setTags(tagIndex.tagCounts().entrySet().stream()
+                    .sorted(Map.Entry.<String, Integer>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .limit(limit).map(tag -> new FacetCountDTO(tag.getKey(), tag.getValue())).toList());
+        }
+        return facets;
+    }
+
+    /**
+     * applies a JSON merge patch (RFC 7396) to a novel: only the fields present
+     * in the patch are changed, nested novelDetails/novelOpinion objects are
+     * merged field by field into the existing rows (created if missing).
+     * Entities use dynamic updates, so the UPDATE statements only carry the
+     * columns that actually changed and untouched tables and LOBs are not
+     * written.
      * 
-     * @param name         - update the novel name to
-     * @param link         - update the novel link to
-     * @param originalName - update the novel original name to
-     * @param genre        - update the novel genre name to
-     * @return
-     * @throws NotFoundException if there is no record with specified id in the
-     *                           Library
+     * @param id    - id of the novel to update
+     * @param patch - merge patch, e.g. {"novelOpinion": {"chaptersRead": 120}}
+     * @return the updated novel
+     * @throws EntityNotFoundException  if there is no novel with that id
+     * @throws IllegalArgumentException if the patch is not a JSON object, blanks
+     *                                  the name, removes details/opinion or
+     *                                  has a value of the wrong type
      */
     @Override
-    public Novel updateNovel(Long id, String name, String link, String originalName, String genre,
-            NovelDetails novelDetails, NovelOpinion novelOpinion) {
+    @Transactional
+    public Novel updateNovel(Long id, JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            throw new IllegalArgumentException("patch must be a JSON object");
+        }
         Optional<Novel> novelFound = novelRepo.findById(id);
         if (!novelFound.isPresent()) {
             throw new EntityNotFoundException("No Novel exists in the system with id " + id);
         }
         Novel novel = novelFound.get();
-        novel.setGenre(genre);
-        novel.setLink(link);
-        novel.setName(name);
-        novel.setOriginalName(originalName);
-        novel.setNovelDetails(novelDetails);
-        novel.setNovelOpinion(novelOpinion);
-        novelRepo.save(novel);
+        NovelSnapshot before = NovelSnapshot.of(novel);
+
+        boolean novelChanged = false;
+        if (patch.has("name")) {
+            String name = textOf(patch, "name");
+            if (name == null || name.isBlank()) {
+                throw new IllegalArgumentException("name cannot be empty or blank");
+            }
+            novelChanged |= !name.equals(novel.getName());
+            novel.setName(name);
+        }
+        if (patch.has("link")) {
+            String link = textOf(patch, "link");
+            novelChanged |= !Objects.equals(link, novel.getLink());
+            novel.setLink(link);
+        }
+        if (patch.has("originalName")) {
+            String originalName = textOf(patch, "originalName");
+            novelChanged |= !Objects.equals(originalName, novel.getOriginalName());
+            novel.setOriginalName(originalName);
+        }
+        if (patch.has("genre")) {
+            String genre = textOf(patch, "genre");
+            Integer genreId = novel.getGenreId();
+            String previousGenre = novel.getGenre();
+            applyGenre(novel, genre);
+            novelChanged |= !Objects.equals(genreId, novel.getGenreId())
+                    || !Objects.equals(previousGenre, novel.getGenre());
+        }
+        boolean childPatched = false;
+        if (patch.has("novelDetails")) {
+            NovelDetails details = novel.getNovelDetails();
+            if (details == null) {
+                details = new NovelDetails();
+                details.setNovel(novel);
+                novel.setNovelDetails(details);
+                mergeInto(details, patch.get("novelDetails"), "novelDetails", "iD", "id", "ID",
+                        "addedOn", "lastUpdatedOn");
+                entityManager.persist(details);
+            } else {
+                mergeInto(details, patch.get("novelDetails"), "novelDetails", "iD", "id", "ID",
+                        "addedOn", "lastUpdatedOn");
+            }
+            childPatched = true;
+        }
+        if (patch.has("novelOpinion")) {
+            NovelOpinion opinion = novel.getNovelOpinion();
+            if (opinion == null) {
+                opinion = new NovelOpinion();
+                opinion.setNovel(novel);
+                novel.setNovelOpinion(opinion);
+                mergeInto(opinion, patch.get("novelOpinion"), "novelOpinion", "id", "Id");
+                entityManager.persist(opinion);
+            } else {
+                mergeInto(opinion, patch.get("novelOpinion"), "novelOpinion", "id", "Id");
+            }
+            if (patch.get("novelOpinion").has("chaptersRead")) {
+                // the value patched now must not be overwritten by an older
+                // report, waiting or already taken by a flush
+                progressBuffer.recordCommitted(id, opinion.getChaptersRead());
+            }
+            childPatched = true;
+        }
+        String tags = novel.getNovelDetails() == null ? null : novel.getNovelDetails().getTags();
+        if (!Objects.equals(before.tags(), tags)) {
+            novelTagRepo.replaceTags(novel.getID(), tagIndex.resolve(tags));
+        }
+        if (novelChanged || childPatched) {
+            // details and opinion own their associations; the modification
+            // time makes the novel dirty, so its version (and ETag) moves
+            // with its Last-Modified even when only a child was patched
+            novel.setModifiedOn(LocalDateTime.now());
+        }
+        changePublisher.updated(before, novel);
         return novel;
     }
 
+    /**
+     * records the reading progress of a novel without touching the database;
+     * reports are coalesced per novel and written behind in batches by
+     * {@link ReadingProgressBuffer}. Novels that do not exist are skipped when
+     * the progress is written.
+     * 
+     * @param id           - id of the novel
+     * @param chaptersRead - chapters read so far
+     * @return false if too much progress waits to be written and the report was
+     *         refused
+     * @throws IllegalArgumentException if chaptersRead is missing or negative
+     */
+    @Override
+    public boolean recordProgress(Long id, Integer chaptersRead) {
+        if (chaptersRead == null || chaptersRead < 0) {
+            throw new IllegalArgumentException("chaptersRead must be zero or a positive number");
+        }
+        return progressBuffer.record(id, chaptersRead);
+    }
+
+    /**
+     * sets the rating, favorite flag and/or worth-to-continue note of a novel,
+     * creating its opinion if it has none; fields left null keep their value
+     * 
+     * @param id     - id of the novel
+     * @param rating - new values
+     * @return the opinion as saved
+     * @throws EntityNotFoundException  if there is no novel with that id
+     * @throws IllegalArgumentException if no field is given or the rating is
+     *                                  not between 0 and 5
+     */
+    @Override
+    @Transactional
+    public NovelOpinion rateNovel(Long id, NovelRatingsRequestDto rating) {
+        if (rating == null || (rating.getRating() == null && rating.getFavorite() == null
+                && rating.getWorthToContinue() == null)) {
+            throw new IllegalArgumentException("rating, favorite or worthToContinue must be given");
+        }
+        if (rating.getRating() != null && (rating.getRating() < 0 || rating.getRating() > 5)) {
+            throw new IllegalArgumentException("rating must be between 0 and 5");
+        }
+        Novel novel = novelRepo.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("No Novel exists in the system with id " + id));
+        NovelSnapshot before = NovelSnapshot.of(novel);
+
+        NovelOpinion opinion = novel.getNovelOpinion();
+        if (opinion == null) {
+            opinion = new NovelOpinion();
+            opinion.setNovel(novel);
+            novel.setNovelOpinion(opinion);
+            entityManager.persist(opinion);
+        }
+        if (rating.getRating() != null) {
+            opinion.setRating(rating.getRating());
+        }
+        if (rating.getFavorite() != null) {
+            opinion.setFavorite(rating.getFavorite());
+        }
+        if (rating.getWorthToContinue() != null) {
+            opinion.setWorthToContinue(rating.getWorthToContinue());
+        }
+        // the opinion is part of the novel's representation, move its
+        // modification time and so its version (ETag and Last-Modified)
+        novel.setModifiedOn(LocalDateTime.now());
+        log.info("Rated novel {} : {}", id, rating);
+        changePublisher.updated(before, novel);
+        return opinion;
+    }
+
+    /**
+     * returns the number of novels per rating and the average rating of the
+     * library, from the in-memory aggregates
+     * 
+     * @throws IllegalStateException if the aggregates are not built yet
+     */
+    @Override
+    public RatingStatsDTO getRatingStats() {
+        RatingStatsDTO stats = novelRatings.stats();
+        if (stats == null) {
+            throw new IllegalStateException("Rating aggregates are not built yet");
+        }
+        return stats;
+    }
+
+    /**
+     * returns the average rating of each genre, from the in-memory aggregates
+     * 
+     * @throws IllegalStateException if the aggregates are not built yet
+     */
     @Override
-    public List<Novel> getAllNovels() {
-        return novelRepo.findAllWithDetails();
+    public List<GenreRatingDTO> getGenreRatings() {
+        List<GenreRatingDTO> genres = novelRatings.genreRatings();
+        if (genres == null) {
+            throw new IllegalStateException("Rating aggregates are not built yet");
+        }
+        return genres;
+    }
+
+    /**
+     * returns one page of the favorite novels, in id order; the ids come from
+     * memory, only the novels of the page are read from the database
+     * 
+     * @param cursor - continuation token from the previous page, null/blank for
+     *               the first page
+     * @param size   - requested page size, defaults to
+     *               {@code novel.page.default-size} and is capped at
+     *               {@code novel.page.max-size}
+     * @throws IllegalArgumentException if the cursor is invalid or size is not
+     *                                  positive
+     * @throws IllegalStateException    if the aggregates are not built yet
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public FavoritesPageDTO getFavorites(String cursor, Integer size) {
+        if (size != null && size <= 0) {
+            throw new IllegalArgumentException("size must be a positive number");
+        }
+        long afterId = CursorCodec.decode(cursor);
+        int pageSize = Math.min(size == null ? defaultPageSize : size, maxPageSize);
+        NovelRatings.FavoriteIds favorites = novelRatings.favorites(afterId, pageSize);
+        if (favorites == null) {
+            throw new IllegalStateException("Rating aggregates are not built yet");
+        }
+        List<NovelListView> novels = favorites.ids().isEmpty() ? List.of()
+                : novelRepo.findViewsByIdIn(favorites.ids());
+        FavoritesPageDTO page = new FavoritesPageDTO();
+        page.setTotal(favorites.total());
+        page.setItems(novelRequestMapper.viewsToDTOList(novels));
+        page.setSize(novels.size());
+        page.setNextCursor(favorites.hasMore()
+                ? CursorCodec.encode(favorites.ids().get(favorites.ids().size() - 1))
+                : null);
+        return page;
+    }
+
+    /**
+     * returns the best ranked novels of a leaderboard; the ids come from the
+     * in-memory top-N when it holds enough novels, otherwise the indexed
+     * leaderboard query is read directly
+     * 
+     * @param board - top-rated, most-read or recently-updated
+     * @param limit - number of novels, defaults to
+     *              {@code novel.leaderboard.default-size} and is capped at
+     *              {@code novel.leaderboard.capacity}
+     * @throws IllegalArgumentException if the leaderboard is unknown or limit
+     *                                  is not positive
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<NovelRequestDTO> getLeaderboard(String board, Integer limit) {
+        if (limit != null && limit <= 0) {
+            throw new IllegalArgumentException("limit must be a positive number");
+        }
+        Leaderboard leaderboard = Leaderboard.of(board);
+        int size = Math.min(limit == null ? defaultLeaderboardSize : limit, leaderboards.getCapacity());
+        List<Long> ids = leaderboards.top(leaderboard, size);
+        if (ids == null) {
+            log.info("{} leaderboard not held in memory, reading it from the database", leaderboard.getSlug());
+            return novelRequestMapper.viewsToDTOList(leaderboard.query(novelRepo, Limit.of(size)));
+        }
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // fetched in id order, put back in rank order
+        Map<Long, NovelListView> byId = new HashMap<>();
+        novelRepo.findViewsByIdIn(ids).forEach(novel -> byId.put(novel.getId(), novel));
+        List<NovelListView> novels = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            NovelListView novel = byId.get(id);
+            if (novel != null) {
+                novels.add(novel);
+            }
+        }
+        return novelRequestMapper.viewsToDTOList(novels);
+    }
+
+    /**
+     * merges the fields present in the patch into a managed child entity; a
+     * null patch would remove the child, which is not supported
+     */
+    private void mergeInto(Object target, JsonNode patch, String field, String... readOnlyFields) {
+        if (patch == null || !patch.isObject()) {
+            throw new IllegalArgumentException(field + " must be a JSON object");
+        }
+        ObjectNode writable = ((ObjectNode) patch).deepCopy();
+        writable.remove(List.of(readOnlyFields));
+        try {
+            objectMapper.readerForUpdating(target).readValue(writable);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Invalid " + field + " : " + ex.getOriginalMessage(), ex);
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("Invalid " + field + " : " + ex.getMessage(), ex);
+        }
+    }
+
+    private static String textOf(JsonNode patch, String field) {
+        JsonNode value = patch.get(field);
+        if (value.isNull()) {
+            return null;
+        }
+        if (!value.isTextual()) {
+            throw new IllegalArgumentException(field + " must be a string");
+        }
+        return value.asText();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<NovelRequestDTO> getAllNovels() {
+        return novelRequestMapper.viewsToDTOList(novelRepo.findAllViews());
+    }
+
+    /**
+     * returns one page of the library using keyset pagination on the novel id
+     * 
+     * @param cursor - continuation token from the previous page, null/blank for
+     *               the first page
+     * @param size   - requested page size, defaults to
+     *               {@code novel.page.default-size} and is capped at
+     *               {@code novel.page.max-size}
+     * @return the page and the token for the next one (null on the last page)
+     * @throws IllegalArgumentException if the cursor is invalid or size is not
+     *                                  positive
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public NovelPageDTO getNovelPage(String cursor, Integer size) {
+        if (size != null && size <= 0) {
+            throw new IllegalArgumentException("size must be a positive number");
+        }
+        long afterId = CursorCodec.decode(cursor);
+        int pageSize = Math.min(size == null ? defaultPageSize : size, maxPageSize);
+        log.info("Fetching page of {} novel(s) after id {}", pageSize, afterId);
+
+        // one extra row tells us whether there is a next page
+        List<NovelListView> novels = novelRepo.findViewsAfter(afterId, Limit.of(pageSize + 1));
+        boolean hasMore = novels.size() > pageSize;
+        if (hasMore) {
+            novels = novels.subList(0, pageSize);
+        }
+        NovelPageDTO page = new NovelPageDTO();
+        page.setItems(novelRequestMapper.viewsToDTOList(novels));
+        page.setSize(novels.size());
+        page.setNextCursor(hasMore ? CursorCodec.encode(novels.get(novels.size() - 1).getId()) : null);
+        return page;
+    }
+
+    /**
+     * returns one page of the novels matching a boolean tag expression, e.g.
+     * {@code cultivation AND (system OR harem) AND NOT romance}, evaluated on
+     * the in-memory tag bitmaps; only the novels of the page are read from the
+     * database
+     * 
+     * @param expression - tag expression, see {@link TagExpression}
+     * @param cursor     - continuation token from the previous page, null/blank
+     *                   for the first page
+     * @param size       - requested page size, defaults to
+     *                   {@code novel.page.default-size} and is capped at
+     *                   {@code novel.page.max-size}
+     * @return the page, the number of matching novels and the token for the
+     *         next page (null on the last page)
+     * @throws IllegalArgumentException if the expression or cursor is invalid or
+     *                                  size is not positive
+     * @throws IllegalStateException    if the tag index is not built yet
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TagSearchPageDTO searchByTags(String expression, String cursor, Integer size) {
+        if (size != null && size <= 0) {
+            throw new IllegalArgumentException("size must be a positive number");
+        }
+        TagExpression parsed = TagExpression.parse(expression);
+        long afterId = CursorCodec.decode(cursor);
+        int pageSize = Math.min(size == null ? defaultPageSize : size, maxPageSize);
+        TagIndex.TagMatches matches = tagIndex.search(parsed, afterId, pageSize);
+        if (matches == null) {
+            throw new IllegalStateException("Tag index is not ready yet");
+        }
+        log.info("{} novel(s) match the tags {}", matches.total(), parsed);
+
+        List<NovelListView> novels = matches.ids().isEmpty() ? List.of()
+                : novelRepo.findViewsByIdIn(matches.ids());
+        TagSearchPageDTO page = new TagSearchPageDTO();
+        page.setExpression(parsed.toString());
+        page.setTotal(matches.total());
+        page.setItems(novelRequestMapper.viewsToDTOList(novels));
+        page.setSize(novels.size());
+        page.setNextCursor(matches.hasMore() ? CursorCodec.encode(matches.ids().get(matches.ids().size() - 1))
+                : null);
+        return page;
+    }
+
+    /**
+     * writes the whole library to the given stream, reading it through a
+     * database cursor
+     * 
+     * Every {@code novel.export.flush-interval} novels the JSON written so far
+     * is flushed to the client and the persistence context is cleared, so heap
+     * use does not depend on the size of the library.
+     * 
+     * @param out    - stream to write to, left open
+     * @param ndjson - true for one JSON object per line (the format accepted by
+     *               the import endpoint), false for a JSON array
+     * @return number of novels exported
+     * @throws IOException if the client goes away or writing fails
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportNovels(OutputStream out, boolean ndjson) throws IOException {
+        long exported = 0;
+        ObjectWriter writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        try (Stream<Novel> novels = novelRepo.streamAllWithDetails();
+                SequenceWriter sequence = ndjson ? writer.withRootValueSeparator("\n").writeValues(out)
+                        : writer.writeValuesAsArray(out)) {
+            for (Novel novel : (Iterable<Novel>) novels::iterator) {
+                sequence.write(novelRequestMapper.toDTO(novel));
+                if (++exported % exportFlushInterval == 0) {
+                    sequence.flush();
+                    entityManager.clear();
+                }
+            }
+        }
+        out.flush();
+        log.info("Exported {} novel(s)", exported);
+        return exported;
     }
 
     /**
      * uploads novels in bulk in the library
      * 
+     * The payload is processed in chunks of {@code novel.bulk.chunk-size}. For
+     * every chunk, duplicates inside the payload are dropped first, then the
+     * names and links that already exist are resolved with a single IN lookup
+     * and the survivors are written as JDBC batches in their own transaction.
+     * 
      * @param list - list of the novels to be uploaded
-     * @returns N/A
+     * @return how many records were inserted and why the others were skipped
+     */
+    @Override
+    public BulkInsertResultDTO addNovelsInBulk(List<NovelRequestDTO> novels) {
+        return addNovelsInBulk(novels, BulkProgress.NONE);
+    }
+
+    /**
+     * uploads novels in bulk, reporting every chunk to the given progress and
+     * stopping between chunks once it is cancelled
+     * 
+     * @param novels   - list of the novels to be uploaded
+     * @param progress - observer of the chunks
+     * @return how many records of the committed chunks were inserted and why
+     *         the others were skipped
      */
     @Override
-    public Long addNovelsInBulk(List<NovelRequestDTO> novels) {
-        List<Novel> toSave = new ArrayList<>();
+    public BulkInsertResultDTO addNovelsInBulk(List<NovelRequestDTO> novels, BulkProgress progress) {
+        BulkInsertResultDTO result = new BulkInsertResultDTO();
+        Set<String> seenNames = new HashSet<>();
+        Set<String> seenLinks = new HashSet<>();
+        for (int from = 0; from < novels.size(); from += bulkChunkSize) {
+            if (progress.isCancelled()) {
+                log.info("Bulk upload cancelled after {} of {} record(s)", from, novels.size());
+                break;
+            }
+            List<NovelRequestDTO> chunk = novels.subList(from, Math.min(from + bulkChunkSize, novels.size()));
+            BulkInsertResultDTO chunkResult;
+            try {
+                chunkResult = insertChunk(chunk, seenNames, seenLinks);
+            } catch (RuntimeException ex) {
+                progress.chunkFailed(chunk, ex);
+                continue;
+            }
+            result.merge(chunkResult);
+            progress.chunkCommitted(chunkResult);
+        }
+        log.info("Bulk upload finished : {}", result);
+        return result;
+    }
 
-        for (NovelRequestDTO dto : novels) {
-            // Check if novel with same name or link exists
-            boolean existsByName = novelRepo.existsByName(dto.getName());
-            boolean existsByLink = novelRepo.existsByLink(dto.getLink());
-            if (!existsByName && !existsByLink) {
-                Novel novel = novelRequestMapper.toEntity(dto);
-                if (novel.getNovelDetails() != null) {
-                    novel.getNovelDetails().setNovel(novel);
+    /**
+     * imports novels from a newline-delimited JSON stream
+     * 
+     * Records are parsed one at a time from the stream and committed every
+     * {@code novel.import.commit-interval} records in their own transaction,
+     * so only one chunk is ever held in memory. Duplicates across chunks are
+     * caught by the existence lookup because earlier chunks are already
+     * committed.
+     * 
+     * @param ndjson     - stream with one novel JSON object per line
+     * @param resumeFrom - number of leading records to skip (already committed
+     *                   by an earlier, failed import)
+     * @return counts and the offset of the last committed record
+     * @throws NovelImportException if a record cannot be parsed or a chunk
+     *                              cannot be committed; carries the last
+     *                              committed offset
+     */
+    @Override
+    public ImportResultDTO importNovels(InputStream ndjson, long resumeFrom) {
+        ImportResultDTO result = new ImportResultDTO();
+        result.setLastCommittedOffset(resumeFrom);
+        long offset = 0;
+        List<NovelRequestDTO> chunk = new ArrayList<>(importCommitInterval);
+        try (MappingIterator<NovelRequestDTO> records = objectMapper.readerFor(NovelRequestDTO.class)
+                .readValues(ndjson)) {
+            while (records.hasNextValue()) {
+                NovelRequestDTO dto = records.nextValue();
+                if (offset++ < resumeFrom) {
+                    continue;
+                }
+                chunk.add(dto);
+                if (chunk.size() == importCommitInterval) {
+                    commitImportChunk(chunk, result);
                 }
-                novel.getNovelOpinion().setNovel(novel);
-                toSave.add(novel);
             }
-            // else skip this novel
-            else {
-                log.info("novel with name : {}  or link : {} already exists in the library", dto.getName(),
+            commitImportChunk(chunk, result);
+        } catch (IOException | RuntimeJsonMappingException ex) {
+            log.warn("Import stopped at record {} : {}", offset, ex.getMessage());
+            throw new NovelImportException(HttpStatus.BAD_REQUEST,
+                    "Malformed record after offset " + result.getLastCommittedOffset(), result, ex);
+        } catch (RuntimeException ex) {
+            log.error("Import failed after offset {} : {}", result.getLastCommittedOffset(), ex.getMessage());
+            throw new NovelImportException(HttpStatus.INTERNAL_SERVER_ERROR,
+                    "Import failed after offset " + result.getLastCommittedOffset(), result, ex);
+        }
+        log.info("Import finished : {}", result);
+        return result;
+    }
+
+    /**
+     * commits one chunk of an import and advances the committed offset
+     */
+    private void commitImportChunk(List<NovelRequestDTO> chunk, ImportResultDTO result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        result.merge(insertChunk(chunk, new HashSet<>(), new HashSet<>()));
+        result.setLastCommittedOffset(result.getLastCommittedOffset() + chunk.size());
+        log.info("Import committed up to offset {}", result.getLastCommittedOffset());
+        chunk.clear();
+    }
+
+    /**
+     * inserts one chunk of a bulk upload
+     * 
+     * @param chunk     - records of this chunk
+     * @param seenNames - normalized names of the committed chunks of the
+     *                  payload; the names of this chunk are added once it is
+     *                  committed
+     * @param seenLinks - normalized links of the committed chunks of the
+     *                  payload, likewise
+     * @return counts for this chunk
+     */
+    private BulkInsertResultDTO insertChunk(List<NovelRequestDTO> chunk, Set<String> seenNames,
+            Set<String> seenLinks) {
+        BulkInsertResultDTO result = new BulkInsertResultDTO();
+        result.setRequested(chunk.size());
+
+        // drop duplicates inside the payload itself
+        List<NovelRequestDTO> candidates = new ArrayList<>(chunk.size());
+        Set<String> names = new HashSet<>();
+        Set<String> links = new HashSet<>();
+        Set<String> chunkNames = new HashSet<>();
+        Set<String> chunkLinks = new HashSet<>();
+        for (NovelRequestDTO dto : chunk) {
+            String name = normalizeKey(dto.getName());
+            String link = normalizeKey(dto.getLink());
+            if ((name != null && (seenNames.contains(name) || chunkNames.contains(name)))
+                    || (link != null && (seenLinks.contains(link) || chunkLinks.contains(link)))) {
+                log.info("novel with name : {}  or link : {} is repeated in the payload", dto.getName(),
                         dto.getLink());
+                result.setSkippedIntraBatch(result.getSkippedIntraBatch() + 1);
+                continue;
+            }
+            if (name != null) {
+                chunkNames.add(name);
+                names.add(dto.getName());
+            }
+            if (link != null) {
+                chunkLinks.add(link);
+                links.add(dto.getLink());
+            }
+            candidates.add(dto);
+        }
+
+        // resolve every existing name and link of the chunk in one round trip
+        Set<String> existingNames = new HashSet<>();
+        Set<String> existingLinks = new HashSet<>();
+        if (!names.isEmpty() || !links.isEmpty()) {
+            for (NovelKeyView key : novelRepo.findKeysByNameInOrLinkIn(names, links)) {
+                if (key.getName() != null) {
+                    existingNames.add(normalizeKey(key.getName()));
+                }
+                if (key.getLink() != null) {
+                    existingLinks.add(normalizeKey(key.getLink()));
+                }
+            }
+        }
 
+        List<Novel> toSave = new ArrayList<>(candidates.size());
+        Map<Novel, int[]> tagIds = new IdentityHashMap<>();
+        for (NovelRequestDTO dto : candidates) {
+            if (existingNames.contains(normalizeKey(dto.getName()))
+                    || existingLinks.contains(normalizeKey(dto.getLink()))) {
+                log.info("novel with name : {}  or link : {} already exists in the library", dto.getName(),
+                        dto.getLink());
+                result.setSkippedExisting(result.getSkippedExisting() + 1);
+                continue;
+            }
+            Novel novel = novelRequestMapper.toEntity(dto);
+            applyGenre(novel, novel.getGenre());
+            if (novel.getNovelDetails() != null) {
+                novel.getNovelDetails().setNovel(novel);
+            }
+            if (novel.getNovelOpinion() != null) {
+                novel.getNovelOpinion().setNovel(novel);
             }
+            tagIds.put(novel, tagIdsOf(novel));
+            toSave.add(novel);
         }
-        novelRepo.saveAll(toSave);
-        return Long.valueOf(toSave.size());
+        novelBatchRepo.insertAll(toSave, tagIds::get);
+        // a rolled back chunk leaves its records free for the rest of the payload
+        seenNames.addAll(chunkNames);
+        seenLinks.addAll(chunkLinks);
+        changePublisher.added(toSave);
+        result.setInserted(toSave.size());
+        return result;
+    }
+
+    /**
+     * canonicalizes the genre of a novel and links it to the genre dictionary
+     */
+    private void applyGenre(Novel novel, String genre) {
+        Integer genreId = genreDictionary.resolve(genre);
+        novel.setGenreId(genreId);
+        novel.setGenre(genreId == null ? genre : genreDictionary.nameOf(genreId));
+    }
+
+    /**
+     * links the tags of a novel to the tag dictionary
+     */
+    private int[] tagIdsOf(Novel novel) {
+        return novel.getNovelDetails() == null ? new int[0] : tagIndex.resolve(novel.getNovelDetails().getTags());
+    }
 
+    /**
+     * normalizes a name/link for duplicate detection, the same way a case
+     * insensitive collation would compare them
+     */
+    private static String normalizeKey(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
     }
 
+    /**
+     * returns the novel with the specified id, served from the novel cache
+     * when possible
+     * 
+     * @param id - id of the novel
+     * @return the novel with its details and opinion
+     * @throws EntityNotFoundException if there is no novel with that id
+     */
     @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.NOVELS, key = "#id")
     public Novel getNovelById(Long id) {
 
         Optional<Novel> novelFound = novelRepo.findById(id);
@@ -238,4 +1069,54 @@ public class NovelServiceImpl implements NovelService {
         return novelFound.get();
     }
 
+    /**
+     * builds the validator of a novel from its version and modification time,
+     * without loading the novel
+     * 
+     * @param id - id of the novel
+     * @return validator of the novel, null if it does not exist
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CacheValidator getNovelValidator(Long id) {
+        return novelRepo.findVersionById(id)
+                .map(view -> new CacheValidator("W/\"n" + view.getId() + "-v" + view.getVersion() + "-"
+                        + epochMillis(view.getLastUpdatedOn()) + "\"", settled(view.getModifiedOn())))
+                .orElse(null);
+    }
+
+    /**
+     * builds the validator of the whole library (as returned by
+     * {@link #getAllNovels()}) from one aggregate over index columns
+     * 
+     * @return validator of the library
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CacheValidator getLibraryValidator() {
+        LibraryVersionView view = novelRepo.findLibraryVersion();
+        return new CacheValidator("W/\"l" + view.getTotal() + "-" + view.getMaxId() + "-" + view.getVersionSum() + "-"
+                + epochMillis(view.getLastUpdatedOn()) + "\"", settled(view.getModifiedOn()));
+    }
+
+    /**
+     * HTTP dates only carry seconds: a write later in the same second would
+     * not move the date, so a modification is only told once its second is
+     * over
+     * 
+     * @param modifiedOn - last modification, null if unknown
+     * @return the modification, null if unknown or its second is still running
+     */
+    private static Instant settled(LocalDateTime modifiedOn) {
+        if (modifiedOn == null) {
+            return null;
+        }
+        Instant instant = modifiedOn.atZone(ZoneId.systemDefault()).toInstant();
+        return instant.truncatedTo(ChronoUnit.SECONDS).plusSeconds(1).isAfter(Instant.now()) ? null : instant;
+    }
+
+    private static long epochMillis(LocalDateTime dateTime) {
+        return dateTime == null ? 0 : dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
 }
@@ -0,0 +1,59 @@
+package com.novel.web.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the opaque continuation tokens used by keyset
+ * pagination.
+ * 
+ * A token wraps the id of the last novel of a page, so the next page can be
+ * read with an indexed range scan ({@code id > ?}) instead of an OFFSET.
+ * Clients must treat the token as opaque; the format may change.
+ * 
+ * @author Vikas Yadav
+ * @version 1.0
+ * @since 2025
+ */
+public final class CursorCodec {
+
+    private static final String PREFIX = "n1:";
+
+    private CursorCodec() {
+    }
+
+    /**
+     * @param lastId - id of the last novel of the current page
+     * @return opaque token pointing after that novel
+     */
+    public static String encode(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param cursor - token from a previous page, may be null or blank for the
+     *               first page
+     * @return id to continue after, 0 for the first page
+     * @throws IllegalArgumentException if the token is not one we issued
+     */
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            long lastId = Long.parseLong(raw.substring(PREFIX.length()));
+            if (lastId < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return lastId;
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor", ex);
+        }
+    }
+
+}
@@ -0,0 +1,146 @@
+package com.novel.web.Controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.novel.web.dto.request.NovelRequestDTO;
+import com.novel.web.dto.response.BulkInsertResultDTO;
+import com.novel.web.service.BulkProgress;
+import com.novel.web.service.NovelService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Checks how a bulk upload accounts for every record: inserted, skipped as
+ * repeated in the payload or skipped as already in the library, across chunk
+ * boundaries (chunks of two records here). The database ignores case, as
+ * the MySQL collation of the library does.
+ */
+@Slf4j
+@SpringBootTest(properties = {
+        "db.driver=org.h2.Driver",
+        "db.url=jdbc:h2:mem:bulk;MODE=MySQL;DATABASE_TO_LOWER=TRUE;IGNORECASE=TRUE;INIT=CREATE SCHEMA IF NOT EXISTS library",
+        "db.username=sa",
+        "db.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "novel.admission.rate-limit.enabled=false",
+        "novel.bulk.chunk-size=2" })
+@AutoConfigureMockMvc
+class NovelBulkUploadTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private NovelService novelService;
+
+    private static String novel(String name, String link) {
+        return "{\"name\":\"" + name + "\",\"link\":\"" + link + "\",\"genre\":\"Xianxia\","
+                + "\"novelDetails\":{\"description\":\"d\"}}";
+    }
+
+    private ResultActions upload(String... novels) throws Exception {
+        return mockMvc.perform(post("/novels/bulk").contentType(MediaType.APPLICATION_JSON)
+                .content("[" + String.join(",", novels) + "]"))
+                .andExpect(status().isCreated());
+    }
+
+    private static void expect(ResultActions result, int requested, int inserted, int skippedExisting,
+            int skippedIntraBatch) throws Exception {
+        result.andExpect(jsonPath("$.requested").value(requested))
+                .andExpect(jsonPath("$.inserted").value(inserted))
+                .andExpect(jsonPath("$.skippedExisting").value(skippedExisting))
+                .andExpect(jsonPath("$.skippedIntraBatch").value(skippedIntraBatch));
+    }
+
+    @Test
+    void duplicatesInsideThePayloadAreSkippedAcrossChunks() throws Exception {
+        log.info("Testing that the first occurrence of a name or link in the payload wins");
+        expect(upload(
+                novel("Repeat One", "repeat-1"),
+                // same name in another case, same chunk
+                novel("REPEAT ONE", "repeat-1b"),
+                // same link, next chunk
+                novel("Repeat Two", " Repeat-1 "),
+                novel("Repeat Three", "repeat-3")), 4, 2, 0, 2);
+
+        mockMvc.perform(get("/novels").param("name", "repeat"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    void novelsAlreadyInTheLibraryAreSkippedByNameOrLink() throws Exception {
+        log.info("Testing that existing names and links are both detected");
+        expect(upload(novel("Existing One", "existing-1")), 1, 1, 0, 0);
+
+        expect(upload(
+                // existing name, new link
+                novel("existing one", "existing-new"),
+                // new name, existing link
+                novel("Existing Renamed", "EXISTING-1"),
+                novel("Existing Two", "existing-2")), 3, 1, 2, 0);
+    }
+
+    @Test
+    void everyChunkIsCommitted() throws Exception {
+        log.info("Testing a payload spanning several chunks, uploaded twice");
+        String[] novels = new String[5];
+        for (int i = 0; i < novels.length; i++) {
+            novels[i] = novel("Chunked " + i, "chunked-" + i);
+        }
+        expect(upload(novels), 5, 5, 0, 0);
+        expect(upload(novels), 5, 0, 5, 0);
+    }
+
+    private static NovelRequestDTO dto(String name, String link) {
+        NovelRequestDTO dto = new NovelRequestDTO();
+        dto.setName(name);
+        dto.setLink(link);
+        dto.setGenre("Xianxia");
+        return dto;
+    }
+
+    @Test
+    void recordsOfAFailedChunkAreNotTreatedAsRepeated() throws Exception {
+        log.info("Testing that a rolled back chunk does not shadow later records of the payload");
+        List<List<NovelRequestDTO>> failed = new ArrayList<>();
+        BulkProgress progress = new BulkProgress() {
+
+            @Override
+            public void chunkFailed(List<NovelRequestDTO> chunk, RuntimeException ex) {
+                failed.add(chunk);
+            }
+
+        };
+        BulkInsertResultDTO result = novelService.addNovelsInBulk(List.of(
+                dto("Retried One", "retried-1"),
+                // too long for the name column, rolls back the first chunk
+                dto("R".repeat(300), "retried-too-long"),
+                dto("Retried One", "retried-1"),
+                dto("Retried Two", "retried-2")), progress);
+
+        assertEquals(1, failed.size());
+        assertEquals(2, result.getRequested());
+        assertEquals(2, result.getInserted());
+        assertEquals(0, result.getSkippedIntraBatch());
+        mockMvc.perform(get("/novels").param("name", "retried"))
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+}
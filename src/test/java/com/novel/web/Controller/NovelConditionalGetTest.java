@@ -0,0 +1,220 @@
+package com.novel.web.Controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.novel.web.progress.ReadingProgressBuffer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Checks that a novel revalidated with its entity tag or its modification date
+ * is answered with a 304 only as long as it did not change, whichever write
+ * changed it.
+ */
+@Slf4j
+@SpringBootTest(properties = {
+        "db.driver=org.h2.Driver",
+        "db.url=jdbc:h2:mem:behaviour;MODE=MySQL;DATABASE_TO_LOWER=TRUE;INIT=CREATE SCHEMA IF NOT EXISTS library",
+        "db.username=sa",
+        "db.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "novel.admission.rate-limit.enabled=false" })
+@AutoConfigureMockMvc
+class NovelConditionalGetTest {
+
+    private static final LocalDateTime LONG_AGO = LocalDateTime.of(2020, 1, 1, 12, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReadingProgressBuffer progressBuffer;
+
+    private long addNovel(String name) throws Exception {
+        String created = mockMvc.perform(post("/novels").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"" + name + "\",\"link\":\"" + name.toLowerCase().replace(' ', '-')
+                        + "\",\"genre\":\"Xianxia\",\"novelDetails\":{\"description\":\"d\"},"
+                        + "\"novelOpinion\":{\"rating\":3}}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return Long.parseLong(created.substring(created.lastIndexOf(' ') + 1));
+    }
+
+    /**
+     * moves the last modification of the novels back, so it is told in a
+     * Last-Modified (a modification of the running second is not)
+     */
+    private void modifiedLongAgo() {
+        jdbcTemplate.update("UPDATE library.novel SET modified_on = ?", Timestamp.valueOf(LONG_AGO));
+    }
+
+    /**
+     * asserts the date of the novel's last modification is told and validates
+     * the cached novel, then returns it
+     */
+    private String assertNotModifiedSince(String uri, Object... uriVariables) throws Exception {
+        String lastModified = mockMvc.perform(get(uri, uriVariables))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.LAST_MODIFIED, lastModified);
+        assertEquals(LONG_AGO.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(), headers.getLastModified());
+        mockMvc.perform(get(uri, uriVariables).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified());
+        return lastModified;
+    }
+
+    /**
+     * asserts the novel is not modified since the tag, then returns its tag
+     */
+    private String assertNotModified(long id) throws Exception {
+        String eTag = mockMvc.perform(get("/novels/{id}", id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+        mockMvc.perform(get("/novels/{id}", id).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        return eTag;
+    }
+
+    private String assertModified(long id, String eTag) throws Exception {
+        String current = mockMvc.perform(get("/novels/{id}", id).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(eTag, current);
+        return current;
+    }
+
+    @Test
+    void patchOfTheNovelChangesItsTag() throws Exception {
+        log.info("Testing revalidation after a PATCH of the novel's own columns");
+        long id = addNovel("Conditional Patch");
+        String eTag = assertNotModified(id);
+
+        mockMvc.perform(patch("/novels/{id}", id).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Conditional Patch Renamed\"}"))
+                .andExpect(status().isOk());
+        assertModified(id, eTag);
+    }
+
+    @Test
+    void ratingChangesTheTag() throws Exception {
+        log.info("Testing revalidation after a rating change");
+        long id = addNovel("Conditional Rating");
+        String eTag = assertNotModified(id);
+
+        mockMvc.perform(put("/novels/{id}/rating", id).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"rating\":5}"))
+                .andExpect(status().isOk());
+        assertModified(id, eTag);
+    }
+
+    @Test
+    void patchMovesTheModificationDate() throws Exception {
+        log.info("Testing revalidation by date after a PATCH of the novel's details");
+        long id = addNovel("Dated Patch");
+        modifiedLongAgo();
+        String lastModified = assertNotModifiedSince("/novels/{id}", id);
+
+        mockMvc.perform(patch("/novels/{id}", id).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"novelDetails\":{\"status\":\"Ongoing\"}}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/novels/{id}", id).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void ratingMovesTheModificationDate() throws Exception {
+        log.info("Testing revalidation by date after a rating change");
+        long id = addNovel("Dated Rating");
+        modifiedLongAgo();
+        String lastModified = assertNotModifiedSince("/novels/{id}", id);
+
+        mockMvc.perform(put("/novels/{id}/rating", id).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"favorite\":true}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/novels/{id}", id).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void writtenProgressMovesTheModificationDate() throws Exception {
+        log.info("Testing revalidation by date after buffered reading progress is written");
+        long id = addNovel("Dated Progress");
+        modifiedLongAgo();
+        String lastModified = assertNotModifiedSince("/novels/{id}", id);
+
+        mockMvc.perform(put("/novels/{id}/progress", id).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"chaptersRead\":42}"))
+                .andExpect(status().isAccepted());
+        // buffered, not written yet
+        mockMvc.perform(get("/novels/{id}", id).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified());
+
+        progressBuffer.flush();
+        mockMvc.perform(get("/novels/{id}", id).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void libraryDateFollowsEveryNovel() throws Exception {
+        log.info("Testing revalidation of the whole library by date after a rating change and an add");
+        long id = addNovel("Dated Library");
+        modifiedLongAgo();
+        String lastModified = assertNotModifiedSince("/novels/all");
+
+        mockMvc.perform(put("/novels/{id}/rating", id).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"rating\":2}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/novels/all").header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isOk());
+
+        modifiedLongAgo();
+        assertNotModifiedSince("/novels/all");
+        addNovel("Dated Library Added");
+        mockMvc.perform(get("/novels/all").header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void libraryTagFollowsRatings() throws Exception {
+        log.info("Testing revalidation of the whole library after a rating change");
+        long id = addNovel("Conditional Library");
+        String eTag = mockMvc.perform(get("/novels/all"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/novels/all").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(put("/novels/{id}/rating", id).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"rating\":1}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/novels/all").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+    }
+
+}
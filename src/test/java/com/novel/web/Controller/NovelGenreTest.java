@@ -0,0 +1,94 @@
+package com.novel.web.Controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.novel.web.index.GenreDictionary;
+import com.novel.web.repositories.GenreRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Checks that the genre dictionary only holds genres of the genre table, even
+ * when the request that brought a new genre is rejected or rolled back.
+ */
+@Slf4j
+@SpringBootTest(properties = {
+        "db.driver=org.h2.Driver",
+        "db.url=jdbc:h2:mem:genre;MODE=MySQL;DATABASE_TO_LOWER=TRUE;IGNORECASE=TRUE;INIT=CREATE SCHEMA IF NOT EXISTS library",
+        "db.username=sa",
+        "db.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "novel.admission.rate-limit.enabled=false" })
+@AutoConfigureMockMvc
+class NovelGenreTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private GenreDictionary genreDictionary;
+
+    @Autowired
+    private GenreRepository genreRepo;
+
+    private ResultActions addNovel(String name, String genre) throws Exception {
+        return mockMvc.perform(post("/novels").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"" + name + "\",\"link\":\"" + name.toLowerCase().replace(' ', '-')
+                        + "\",\"genre\":\"" + genre + "\","
+                        + "\"novelDetails\":{\"description\":\"d\",\"mcName\":\"mc\",\"tags\":\"system\"},"
+                        + "\"novelOpinion\":{\"rating\":3,\"chaptersRead\":10}}"));
+    }
+
+    private long idOf(ResultActions created) throws Exception {
+        String body = created.andExpect(status().isCreated()).andReturn().getResponse().getContentAsString();
+        return Long.parseLong(body.substring(body.lastIndexOf(' ') + 1));
+    }
+
+    @Test
+    void duplicateNovelDoesNotAddItsGenre() throws Exception {
+        log.info("Testing that a novel rejected as a duplicate leaves the genre dictionary alone");
+        idOf(addNovel("Genre Duplicate", "Xianxia"));
+
+        addNovel("Genre Duplicate", "Cosmic Horror").andExpect(status().isConflict());
+
+        assertNull(genreDictionary.idOf("Cosmic Horror"));
+        assertTrue(genreRepo.findByNameIgnoreCase("Cosmic Horror").isEmpty());
+    }
+
+    @Test
+    void genreOfARolledBackPatchIsInTheGenreTable() throws Exception {
+        log.info("Testing that a genre added by a rolled back patch is still a row of the genre table");
+        long id = idOf(addNovel("Genre Rolled Back", "Xianxia"));
+
+        // the genre is resolved before the removal of the details is refused
+        mockMvc.perform(patch("/novels/{id}", id).contentType("application/merge-patch+json")
+                .content("{\"genre\":\"space opera\",\"novelDetails\":null}"))
+                .andExpect(status().isBadRequest());
+
+        Integer genreId = genreDictionary.idOf("Space Opera");
+        assertNotNull(genreId);
+        assertEquals("Space Opera", genreRepo.findById(genreId).orElseThrow().getName());
+
+        long other = idOf(addNovel("Genre Reused", "SPACE OPERA"));
+        mockMvc.perform(get("/novels/{id}", other)).andExpect(jsonPath("$.genre").value("Space Opera"));
+        mockMvc.perform(get("/novels/{id}", id)).andExpect(jsonPath("$.genre").value("Xianxia"));
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.novel.web.Controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Checks the NDJSON import (commits every two records here): the committed
+ * offset it reports, how it stops on a malformed record and how a resumed
+ * import carries on from the committed offset.
+ */
+@Slf4j
+@SpringBootTest(properties = {
+        "db.driver=org.h2.Driver",
+        "db.url=jdbc:h2:mem:import;MODE=MySQL;DATABASE_TO_LOWER=TRUE;IGNORECASE=TRUE;INIT=CREATE SCHEMA IF NOT EXISTS library",
+        "db.username=sa",
+        "db.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "novel.admission.rate-limit.enabled=false",
+        "novel.import.commit-interval=2" })
+@AutoConfigureMockMvc
+class NovelImportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private static String record(String name) {
+        return "{\"name\":\"" + name + "\",\"link\":\"" + name.toLowerCase().replace(' ', '-')
+                + "\",\"genre\":\"Xianxia\",\"novelDetails\":{\"description\":\"d\"}}\n";
+    }
+
+    private ResultActions importNovels(String ndjson, long resumeFrom) throws Exception {
+        return mockMvc.perform(post("/novels/import").param("resumeFrom", String.valueOf(resumeFrom))
+                .contentType("application/x-ndjson").content(ndjson));
+    }
+
+    private void expectNovels(String name, int count) throws Exception {
+        mockMvc.perform(get("/novels").param("name", name))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(count));
+    }
+
+    @Test
+    void wholeStreamIsCommitted() throws Exception {
+        log.info("Testing an import spanning several commits");
+        importNovels(record("Streamed 1") + record("Streamed 2") + record("Streamed 3"), 0)
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.requested").value(3))
+                .andExpect(jsonPath("$.inserted").value(3))
+                .andExpect(jsonPath("$.lastCommittedOffset").value(3));
+        expectNovels("streamed", 3);
+    }
+
+    @Test
+    void malformedRecordStopsTheImportAtTheCommittedOffset() throws Exception {
+        log.info("Testing that a malformed record reports the last committed offset");
+        String head = record("Broken 1") + record("Broken 2") + record("Broken 3");
+        importNovels(head + "{\"name\": \"Broken 4\n" + record("Broken 5"), 0)
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.inserted").value(2))
+                .andExpect(jsonPath("$.lastCommittedOffset").value(2))
+                .andExpect(jsonPath("$.error").isNotEmpty());
+        // the third record was parsed but its chunk never committed
+        expectNovels("broken", 2);
+
+        log.info("Testing that the corrected stream resumes after the committed records");
+        importNovels(head + record("Broken 4") + record("Broken 5"), 2)
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.requested").value(3))
+                .andExpect(jsonPath("$.inserted").value(3))
+                .andExpect(jsonPath("$.skippedExisting").value(0))
+                .andExpect(jsonPath("$.lastCommittedOffset").value(5));
+        expectNovels("broken", 5);
+    }
+
+    @Test
+    void recordsBeforeTheResumeOffsetAreSkipped() throws Exception {
+        log.info("Testing that resumeFrom skips the leading records");
+        importNovels(record("Resumed 1") + record("Resumed 2") + record("Resumed 3"), 2)
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.requested").value(1))
+                .andExpect(jsonPath("$.inserted").value(1))
+                .andExpect(jsonPath("$.lastCommittedOffset").value(3));
+        expectNovels("resumed", 1);
+    }
+
+    @Test
+    void negativeResumeOffsetIsRejected() throws Exception {
+        importNovels(record("Negative"), -1).andExpect(status().isBadRequest());
+    }
+
+}
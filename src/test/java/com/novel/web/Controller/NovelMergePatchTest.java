@@ -0,0 +1,165 @@
+package com.novel.web.Controller;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.novel.web.progress.ReadingProgressBuffer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Checks that PATCH /novels/{id} follows JSON merge patch semantics: absent
+ * fields are kept, null removes a field, nested objects are merged field by
+ * field and read-only fields cannot be written.
+ */
+@Slf4j
+@SpringBootTest(properties = {
+        "db.driver=org.h2.Driver",
+        "db.url=jdbc:h2:mem:patch;MODE=MySQL;DATABASE_TO_LOWER=TRUE;IGNORECASE=TRUE;INIT=CREATE SCHEMA IF NOT EXISTS library",
+        "db.username=sa",
+        "db.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "novel.admission.rate-limit.enabled=false" })
+@AutoConfigureMockMvc
+class NovelMergePatchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ReadingProgressBuffer progressBuffer;
+
+    private long addNovel(String name) throws Exception {
+        String created = mockMvc.perform(post("/novels").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"" + name + "\",\"originalName\":\"original\",\"link\":\""
+                        + name.toLowerCase().replace(' ', '-') + "\",\"genre\":\"Xianxia\","
+                        + "\"novelDetails\":{\"description\":\"d\",\"mcName\":\"mc\",\"tags\":\"system\"},"
+                        + "\"novelOpinion\":{\"rating\":3,\"chaptersRead\":10}}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return Long.parseLong(created.substring(created.lastIndexOf(' ') + 1));
+    }
+
+    private ResultActions patchNovel(long id, String patch) throws Exception {
+        return mockMvc.perform(patch("/novels/{id}", id).contentType("application/merge-patch+json").content(patch));
+    }
+
+    private String eTag(long id) throws Exception {
+        return mockMvc.perform(get("/novels/{id}", id)).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    @Test
+    void absentFieldsAreKeptAndNestedObjectsMerged() throws Exception {
+        log.info("Testing that only the fields present in the patch change");
+        long id = addNovel("Patched Merge");
+        patchNovel(id, "{\"link\":\"patched-merge-2\",\"novelDetails\":{\"mcName\":\"hero\"}}")
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/novels/{id}", id))
+                .andExpect(jsonPath("$.name").value("Patched Merge"))
+                .andExpect(jsonPath("$.link").value("patched-merge-2"))
+                .andExpect(jsonPath("$.novelDetails.mcName").value("hero"))
+                .andExpect(jsonPath("$.novelDetails.description").value("d"))
+                .andExpect(jsonPath("$.novelDetails.tags").value("system"))
+                .andExpect(jsonPath("$.novelOpinion.chaptersRead").value(10));
+    }
+
+    @Test
+    void nullRemovesAField() throws Exception {
+        log.info("Testing that null removes optional fields, at the top level and nested");
+        long id = addNovel("Patched Null");
+        patchNovel(id, "{\"originalName\":null,\"novelDetails\":{\"mcName\":null}}")
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/novels/{id}", id))
+                .andExpect(jsonPath("$.originalName").value(Matchers.nullValue()))
+                .andExpect(jsonPath("$.novelDetails.mcName").value(Matchers.nullValue()))
+                .andExpect(jsonPath("$.novelDetails.description").value("d"));
+    }
+
+    @Test
+    void requiredFieldsAndChildrenCannotBeRemoved() throws Exception {
+        log.info("Testing the removals a novel does not support");
+        long id = addNovel("Patched Required");
+        patchNovel(id, "{\"name\":null}").andExpect(status().isBadRequest());
+        patchNovel(id, "{\"novelDetails\":null}").andExpect(status().isBadRequest());
+        patchNovel(id, "{\"novelOpinion\":{\"chaptersRead\":\"many\"}}").andExpect(status().isBadRequest());
+        patchNovel(id, "[]").andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/novels/{id}", id))
+                .andExpect(jsonPath("$.name").value("Patched Required"))
+                .andExpect(jsonPath("$.novelDetails.description").value("d"))
+                .andExpect(jsonPath("$.novelOpinion.chaptersRead").value(10));
+    }
+
+    @Test
+    void readOnlyFieldsAreIgnored() throws Exception {
+        log.info("Testing that ids and audit dates cannot be patched");
+        long id = addNovel("Patched Read Only");
+        String addedOn = mockMvc.perform(get("/novels/{id}", id)).andReturn().getResponse().getContentAsString()
+                .replaceAll("(?s).*\"addedOn\":\"([^\"]*)\".*", "$1");
+
+        patchNovel(id, "{\"novelDetails\":{\"id\":999,\"addedOn\":\"2000-01-01T00:00:00\",\"description\":\"new\"},"
+                + "\"novelOpinion\":{\"id\":999,\"rating\":4}}")
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/novels/{id}", id))
+                .andExpect(jsonPath("$.novelDetails.id").value(id))
+                .andExpect(jsonPath("$.novelDetails.addedOn").value(addedOn))
+                .andExpect(jsonPath("$.novelDetails.description").value("new"))
+                .andExpect(jsonPath("$.novelOpinion.id").value(id))
+                .andExpect(jsonPath("$.novelOpinion.rating").value(4));
+    }
+
+    @Test
+    void patchingOnlyAChildMovesTheNovelVersion() throws Exception {
+        log.info("Testing that a child-only patch changes the novel's entity tag");
+        long id = addNovel("Patched Child");
+        String before = eTag(id);
+
+        patchNovel(id, "{\"novelOpinion\":{\"chaptersRead\":11}}").andExpect(status().isOk());
+        String afterOpinion = eTag(id);
+        assertNotEquals(before, afterOpinion);
+
+        patchNovel(id, "{\"novelDetails\":{\"status\":\"Completed\"}}").andExpect(status().isOk());
+        assertNotEquals(afterOpinion, eTag(id));
+    }
+
+    @Test
+    void patchedProgressWinsOverReportsOnlyOnceCommitted() throws Exception {
+        log.info("Testing how a patched chaptersRead and buffered progress reports interact");
+        long id = addNovel("Patched Progress");
+        mockMvc.perform(put("/novels/{id}/progress", id).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"chaptersRead\":50}")).andExpect(status().isAccepted());
+
+        // rolled back: the buffered report still gets written
+        patchNovel(id, "{\"novelOpinion\":{\"chaptersRead\":60},\"novelDetails\":null}")
+                .andExpect(status().isBadRequest());
+        progressBuffer.flush();
+        mockMvc.perform(get("/novels/{id}", id)).andExpect(jsonPath("$.novelOpinion.chaptersRead").value(50));
+
+        mockMvc.perform(put("/novels/{id}/progress", id).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"chaptersRead\":55}")).andExpect(status().isAccepted());
+        patchNovel(id, "{\"novelOpinion\":{\"chaptersRead\":70}}").andExpect(status().isOk());
+        progressBuffer.flush();
+        mockMvc.perform(get("/novels/{id}", id)).andExpect(jsonPath("$.novelOpinion.chaptersRead").value(70));
+    }
+
+}
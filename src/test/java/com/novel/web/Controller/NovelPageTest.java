@@ -0,0 +1,125 @@
+package com.novel.web.Controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Walks the keyset-paginated listing with the cursors it hands out and feeds
+ * it cursors it never issued.
+ */
+@Slf4j
+@SpringBootTest(properties = {
+        "db.driver=org.h2.Driver",
+        "db.url=jdbc:h2:mem:page;MODE=MySQL;DATABASE_TO_LOWER=TRUE;IGNORECASE=TRUE;INIT=CREATE SCHEMA IF NOT EXISTS library",
+        "db.username=sa",
+        "db.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "novel.admission.rate-limit.enabled=false",
+        "novel.page.max-size=3" })
+@AutoConfigureMockMvc
+class NovelPageTest {
+
+    private static final int NOVELS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < NOVELS; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append("{\"name\":\"Paged ").append(i).append("\",\"link\":\"paged-").append(i)
+                    .append("\",\"genre\":\"Xianxia\",\"novelDetails\":{\"description\":\"d\"}}");
+        }
+        // repeated runs skip the novels as already existing
+        mockMvc.perform(post("/novels/bulk").contentType(MediaType.APPLICATION_JSON).content(body.append(']').toString()))
+                .andExpect(status().isCreated());
+    }
+
+    private JsonNode page(String cursor, int size) throws Exception {
+        String body = mockMvc.perform(get("/novels/page").param("size", String.valueOf(size))
+                .param("cursor", cursor == null ? "" : cursor))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    @Test
+    void cursorsWalkTheLibraryOnceInIdOrder() throws Exception {
+        log.info("Testing that following nextCursor visits every novel once");
+        List<String> names = new ArrayList<>();
+        List<Integer> sizes = new ArrayList<>();
+        String cursor = null;
+        do {
+            JsonNode page = page(cursor, 2);
+            sizes.add(page.get("size").asInt());
+            page.get("items").forEach(novel -> names.add(novel.get("name").asText()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+        } while (cursor != null);
+
+        assertEquals(List.of(2, 2, 1), sizes);
+        assertEquals(List.of("Paged 0", "Paged 1", "Paged 2", "Paged 3", "Paged 4"), names);
+    }
+
+    @Test
+    void pageSizeIsCapped() throws Exception {
+        log.info("Testing that the page size is capped at novel.page.max-size");
+        JsonNode page = page(null, 100);
+        assertEquals(3, page.get("size").asInt());
+        assertEquals(3, page.get("items").size());
+
+        JsonNode last = page(page.get("nextCursor").asText(), 100);
+        assertEquals(2, last.get("size").asInt());
+        assertNull(last.get("nextCursor").textValue());
+    }
+
+    @Test
+    void cursorsNotIssuedByTheServerAreRejected() throws Exception {
+        log.info("Testing invalid cursors and sizes");
+        String foreign = Base64.getUrlEncoder().encodeToString("x1:3".getBytes(StandardCharsets.UTF_8));
+        String negative = Base64.getUrlEncoder().encodeToString("n1:-3".getBytes(StandardCharsets.UTF_8));
+        for (String cursor : List.of("not-base64!", foreign, negative)) {
+            mockMvc.perform(get("/novels/page").param("cursor", cursor))
+                    .andExpect(status().isBadRequest());
+        }
+        mockMvc.perform(get("/novels/page").param("size", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void emptyCursorStartsAtTheFirstPage() throws Exception {
+        mockMvc.perform(get("/novels/page").param("cursor", " ").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].name").value("Paged 0"));
+    }
+
+}
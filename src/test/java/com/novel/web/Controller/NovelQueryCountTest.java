@@ -0,0 +1,116 @@
+package com.novel.web.Controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Guards the search and list endpoints against N+1 selects: each request must
+ * read the novels, with their details and opinion, in a fixed number of
+ * statements whatever the number of novels returned.
+ */
+@Slf4j
+@SpringBootTest(properties = {
+        "db.driver=org.h2.Driver",
+        "db.url=jdbc:h2:mem:library;MODE=MySQL;DATABASE_TO_LOWER=TRUE;INIT=CREATE SCHEMA IF NOT EXISTS library",
+        "db.username=sa",
+        "db.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true" })
+@AutoConfigureMockMvc
+class NovelQueryCountTest {
+
+    private static final int NOVELS = 6;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < NOVELS; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append("{\"name\":\"Star Novel ").append(i).append("\",\"link\":\"star-").append(i)
+                    .append("\",\"genre\":\"Xianxia\",\"novelDetails\":{\"description\":\"d\",\"tags\":\"t\"},")
+                    .append("\"novelOpinion\":{\"rating\":3,\"chaptersRead\":").append(i).append("}}");
+        }
+        // repeated runs skip the novels as already existing
+        mockMvc.perform(post("/novels/bulk").contentType(MediaType.APPLICATION_JSON).content(body.append(']').toString()))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void searchByNameRunsOneQuery() throws Exception {
+        log.info("Testing the statements run by a search by name");
+        assertStatements(1, get("/novels").param("name", "star novel"));
+    }
+
+    @Test
+    void searchByGenreRunsOneQuery() throws Exception {
+        log.info("Testing the statements run by a search by genre");
+        assertStatements(1, get("/novels").param("genre", "xianxia"));
+    }
+
+    @Test
+    void pageRunsOneQuery() throws Exception {
+        log.info("Testing the statements run by a page of novels");
+        statistics.clear();
+        mockMvc.perform(get("/novels/page").param("size", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(NOVELS))
+                .andExpect(jsonPath("$.items[0].novelOpinion.rating").value(3));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void allRunsTheVersionQueryAndOneQuery() throws Exception {
+        log.info("Testing the statements run by listing the library");
+        assertStatements(2, get("/novels/all"));
+    }
+
+    private void assertStatements(long expected, RequestBuilder request) throws Exception {
+        statistics.clear();
+        ResultActions result = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(NOVELS))
+                .andExpect(jsonPath("$[0].novelDetails.description").value("d"))
+                .andExpect(jsonPath("$[0].novelOpinion.rating").value(3));
+        log.info("{} statement(s) for {}", statistics.getPrepareStatementCount(),
+                result.andReturn().getRequest().getRequestURI());
+        assertEquals(expected, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+}
@@ -0,0 +1,145 @@
+package com.novel.web.admission;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+class AdmissionFilterTest {
+
+    private AdmissionProperties properties;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AdmissionProperties();
+        properties.getHeavyRead().setMaxConcurrent(1);
+        properties.getHeavyRead().setMaxQueue(0);
+        properties.getRateLimit().setRequestsPerSecond(1);
+        properties.getRateLimit().setBurst(3);
+        properties.getRateLimit().setClientHeader("X-Client-Id");
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void classifiesEndpoints() {
+        log.info("Testing endpoint classification");
+        assertEquals(EndpointClass.CHEAP_READ, EndpointClass.of("GET", "/novels/42"));
+        assertEquals(EndpointClass.CHEAP_READ, EndpointClass.of("GET", "/novels/bulk/jobs/abc"));
+        assertEquals(EndpointClass.SEARCH, EndpointClass.of("GET", "/novels"));
+        assertEquals(EndpointClass.SEARCH, EndpointClass.of("GET", "/novels/page"));
+        assertEquals(EndpointClass.SEARCH, EndpointClass.of("GET", "/novels/tags/search"));
+        assertEquals(EndpointClass.CHEAP_READ, EndpointClass.of("GET", "/novels/facets"));
+        assertEquals(EndpointClass.CHEAP_READ, EndpointClass.of("GET", "/novels/ratings/genres"));
+        assertEquals(EndpointClass.SEARCH, EndpointClass.of("GET", "/novels/favorites"));
+        assertEquals(EndpointClass.CHEAP_READ, EndpointClass.of("GET", "/novels/leaderboards/top-rated"));
+        assertEquals(EndpointClass.HEAVY_READ, EndpointClass.of("GET", "/novels/all"));
+        assertEquals(EndpointClass.HEAVY_READ, EndpointClass.of("GET", "/novels/export"));
+        assertEquals(EndpointClass.HEAVY_WRITE, EndpointClass.of("POST", "/novels/bulk"));
+        assertEquals(EndpointClass.HEAVY_WRITE, EndpointClass.of("POST", "/novels/import"));
+        assertEquals(EndpointClass.WRITE, EndpointClass.of("POST", "/novels/bulk/jobs"));
+        assertEquals(EndpointClass.WRITE, EndpointClass.of("POST", "/novels"));
+        assertEquals(EndpointClass.WRITE, EndpointClass.of("PATCH", "/novels/42"));
+        assertEquals(EndpointClass.WRITE, EndpointClass.of("PUT", "/novels/42/progress"));
+        assertEquals(EndpointClass.WRITE, EndpointClass.of("PUT", "/novels/42/rating"));
+        assertNull(EndpointClass.of("GET", "/actuator/health"));
+        assertNull(EndpointClass.of("GET", "/novelsfoo"));
+        assertNull(EndpointClass.of("OPTIONS", "/novels/42"));
+    }
+
+    @Test
+    void rateLimitsEachClientSeparately() throws Exception {
+        log.info("Testing the per-client rate limit");
+        AdmissionFilter filter = filter();
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, call(filter, "GET", "/novels/1", "alice").getStatus());
+        }
+        MockHttpServletResponse limited = call(filter, "GET", "/novels/1", "alice");
+        assertEquals(429, limited.getStatus());
+        assertEquals("1", limited.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(200, call(filter, "GET", "/novels/1", "bob").getStatus());
+        assertEquals(1.0, meterRegistry.get("novel.admission.rejected").tag("reason", "rate-limit").counter().count());
+    }
+
+    @Test
+    void fullBulkheadRejectsOnlyItsOwnClass() throws Exception {
+        log.info("Testing that a saturated heavy read bulkhead leaves cheap reads alone");
+        properties.getRateLimit().setEnabled(false);
+        AdmissionFilter filter = filter();
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<MockHttpServletResponse> slow = CompletableFuture.supplyAsync(() -> {
+            try {
+                return call(filter, "GET", "/novels/all", "alice", (req, res) -> {
+                    inside.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        try {
+            assertEquals(true, inside.await(5, TimeUnit.SECONDS));
+            MockHttpServletResponse rejected = call(filter, "GET", "/novels/export", "bob");
+            assertEquals(503, rejected.getStatus());
+            assertEquals("1", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+            assertEquals(200, call(filter, "GET", "/novels/1", "bob").getStatus());
+        } finally {
+            release.countDown();
+        }
+        assertEquals(200, slow.get(5, TimeUnit.SECONDS).getStatus());
+        // the slot is free again
+        assertEquals(200, call(filter, "GET", "/novels/all", "bob").getStatus());
+    }
+
+    @Test
+    void queuedRequestGivesUpAfterMaxWait() throws Exception {
+        log.info("Testing the bounded wait of a bulkhead");
+        Bulkhead bulkhead = new Bulkhead(1, 1, Duration.ofMillis(50));
+        assertEquals(Bulkhead.Admission.ADMITTED, bulkhead.tryEnter());
+        assertEquals(Bulkhead.Admission.TIMED_OUT, bulkhead.tryEnter());
+        assertEquals(0, bulkhead.getQueued());
+        bulkhead.exit();
+        assertEquals(Bulkhead.Admission.ADMITTED, bulkhead.tryEnter());
+        assertEquals(1, bulkhead.getActive());
+    }
+
+    private AdmissionFilter filter() {
+        return new AdmissionFilter(properties, new ClientRateLimiter(properties), meterRegistry);
+    }
+
+    private static MockHttpServletResponse call(AdmissionFilter filter, String method, String path, String client)
+            throws Exception {
+        return call(filter, method, path, client, (req, res) -> {
+        });
+    }
+
+    private static MockHttpServletResponse call(AdmissionFilter filter, String method, String path, String client,
+            FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.addHeader("X-Client-Id", client);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+}
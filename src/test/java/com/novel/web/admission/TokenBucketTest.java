@@ -0,0 +1,74 @@
+package com.novel.web.admission;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void allowsTheBurstThenTheRate() {
+        log.info("Testing burst and sustained rate of a token bucket");
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryAcquire(0));
+        }
+        // the next token is one emission interval (100 ms) away
+        assertEquals(SECOND / 10, bucket.tryAcquire(0));
+        assertEquals(SECOND / 20, bucket.tryAcquire(SECOND / 20));
+        assertEquals(0, bucket.tryAcquire(SECOND / 10));
+        assertFalse(bucket.isFull(SECOND / 10));
+
+        assertTrue(bucket.isFull(SECOND));
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryAcquire(SECOND));
+        }
+        assertTrue(bucket.tryAcquire(SECOND) > 0);
+    }
+
+    @Test
+    void concurrentCallersNeverExceedTheBurst() throws Exception {
+        log.info("Testing that racing callers share the tokens exactly");
+        TokenBucket bucket = new TokenBucket(1, 1_000, 0);
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> callers = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                callers.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 500; i++) {
+                        if (bucket.tryAcquire(0) == 0) {
+                            granted.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> caller : callers) {
+                caller.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1_000, granted.get());
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.novel.web.configuration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.sql.Connection;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+class DbPoolLifecycleTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void wrappedPoolIsClosedWithTheConfiguration() throws Exception {
+        log.info("Testing that a pool behind the connection limit is closed on shutdown");
+        DbPoolProperties pool = new DbPoolProperties();
+        pool.setConcurrencyLimit(2);
+        pool.setMinimumIdle(1);
+        DbConfig config = new DbConfig(pool, new DbReplicaProperties(), mock(ObjectProvider.class));
+        ReflectionTestUtils.setField(config, "dbUrl", "jdbc:h2:mem:lifecycle");
+        ReflectionTestUtils.setField(config, "username", "sa");
+        ReflectionTestUtils.setField(config, "password", "");
+        ReflectionTestUtils.setField(config, "driverclassString", "org.h2.Driver");
+
+        DataSource dataSource = config.dataSource();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.createStatement().execute("SELECT 1");
+        }
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+        assertFalse(hikari.isClosed());
+
+        config.closePools();
+        assertTrue(hikari.isClosed());
+    }
+
+}
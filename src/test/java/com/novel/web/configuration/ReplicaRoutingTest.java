@@ -0,0 +1,106 @@
+package com.novel.web.configuration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs the application against two in-memory databases standing in for the
+ * primary and its replica, "replicating" by copying the primary over on
+ * demand, and checks which of them serves the reads.
+ */
+@Slf4j
+@SpringBootTest(properties = {
+        "db.driver=org.h2.Driver",
+        "db.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1;MODE=MySQL;DATABASE_TO_LOWER=TRUE;INIT=CREATE SCHEMA IF NOT EXISTS library",
+        "db.replica.url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1;MODE=MySQL;DATABASE_TO_LOWER=TRUE;INIT=CREATE SCHEMA IF NOT EXISTS library",
+        "db.replica.max-lag=1s",
+        // heartbeats are driven by the test
+        "db.replica.heartbeat-interval=1h",
+        "db.username=sa",
+        "db.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false" })
+@AutoConfigureMockMvc
+class ReplicaRoutingTest {
+
+    private static final String FIRST = "{\"name\":\"Replicated Novel\",\"link\":\"replicated\",\"genre\":\"Xianxia\","
+            + "\"novelDetails\":{\"description\":\"d\",\"tags\":\"t\"},\"novelOpinion\":{\"rating\":3}}";
+
+    private static final String SECOND = "{\"name\":\"Unreplicated Novel\",\"link\":\"unreplicated\",\"genre\":\"Xianxia\","
+            + "\"novelDetails\":{\"description\":\"d\",\"tags\":\"t\"},\"novelOpinion\":{\"rating\":3}}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ReplicaLagMonitor monitor;
+
+    @Test
+    void readsGoToTheReplicaWhileItKeepsUp() throws Exception {
+        ReplicaRoutingDataSource routing = dataSource.unwrap(ReplicaRoutingDataSource.class);
+        addNovel(FIRST);
+
+        // nothing replicated yet, not even the heartbeat
+        monitor.check();
+        assertFalse(routing.isReplicaUsable());
+
+        replicate(routing);
+        monitor.check();
+        assertTrue(routing.isReplicaUsable(), "lag " + routing.getLag());
+
+        log.info("Testing that reads are served by the replica");
+        addNovel(SECOND);
+        mockMvc.perform(get("/novels/page"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].name", Matchers.hasItem("Replicated Novel")))
+                .andExpect(jsonPath("$.items[*].name", Matchers.not(Matchers.hasItem("Unreplicated Novel"))));
+
+        log.info("Testing that the duplicate check of a write reads the primary");
+        mockMvc.perform(post("/novels").contentType(MediaType.APPLICATION_JSON).content(SECOND))
+                .andExpect(status().isConflict());
+
+        log.info("Testing that reads fall back to the primary once the replica lags");
+        Thread.sleep(1100);
+        monitor.check();
+        assertFalse(routing.isReplicaUsable(), "lag " + routing.getLag());
+        mockMvc.perform(get("/novels/page"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].name", Matchers.hasItem("Unreplicated Novel")));
+    }
+
+    private void addNovel(String body) throws Exception {
+        mockMvc.perform(post("/novels").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated());
+    }
+
+    /** copies the whole primary database over the replica */
+    private static void replicate(ReplicaRoutingDataSource routing) {
+        List<String> script = new JdbcTemplate(routing.getPrimary()).queryForList("SCRIPT", String.class);
+        JdbcTemplate replica = new JdbcTemplate(routing.getReplica());
+        replica.execute("DROP ALL OBJECTS");
+        script.forEach(replica::execute);
+    }
+
+}
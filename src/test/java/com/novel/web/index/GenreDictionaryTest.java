@@ -0,0 +1,116 @@
+package com.novel.web.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.novel.web.domain.Genre;
+import com.novel.web.domain.Novel;
+import com.novel.web.repositories.GenreRepository;
+import com.novel.web.repositories.NovelRepository;
+import com.novel.web.repositories.projection.NovelStateView;
+import com.novel.web.service.NovelSnapshot;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+class GenreDictionaryTest {
+
+    private GenreRepository genreRepo;
+
+    private NovelRepository novelRepo;
+
+    private GenreDictionary dictionary;
+
+    @BeforeEach
+    void setUp() {
+        genreRepo = mock(GenreRepository.class);
+        novelRepo = mock(NovelRepository.class);
+        dictionary = new GenreDictionary(genreRepo, novelRepo, mock(PlatformTransactionManager.class));
+        when(genreRepo.findAll()).thenReturn(List.of(genre(1, "Xianxia"), genre(2, "Action")));
+        when(novelRepo.findUnlinkedGenres()).thenReturn(List.of());
+    }
+
+    private static Genre genre(int id, String name) {
+        Genre genre = new Genre(name);
+        genre.setID(id);
+        return genre;
+    }
+
+    private static NovelStateView state(long id, long version, Integer genreId) {
+        NovelStateView view = mock(NovelStateView.class);
+        when(view.getId()).thenReturn(id);
+        when(view.getVersion()).thenReturn(version);
+        when(view.getGenreId()).thenReturn(genreId);
+        return view;
+    }
+
+    private static Novel novel(long id, long version, Integer genreId) {
+        Novel novel = new Novel("Novel " + id, null, null, null);
+        novel.setID(id);
+        novel.setVersion(version);
+        novel.setGenreId(genreId);
+        return novel;
+    }
+
+    private static NovelSnapshot snapshot(long id, Integer genreId) {
+        return new NovelSnapshot(id, "Novel " + id, null, genreId, null, null, null, false);
+    }
+
+    private String counts() {
+        return dictionary.genreCounts().stream().map(count -> count.getGenre() + "=" + count.getCount())
+                .collect(Collectors.joining(", "));
+    }
+
+    @Test
+    void countsAreSeededAndFollowWrites() {
+        log.info("Testing the seeded genre counts and the deltas of writes");
+        List<NovelStateView> seeded = List.of(state(1L, 0, 1), state(2L, 0, 1), state(3L, 0, 2), state(4L, 0, null));
+        when(novelRepo.findStates()).thenReturn(seeded);
+        dictionary.load();
+        assertEquals("Xianxia=2, Action=1", counts());
+
+        dictionary.novelAdded(novel(5L, 0, 2));
+        dictionary.novelUpdated(snapshot(1L, 1), novel(1L, 1, 2));
+        assertEquals("Action=3, Xianxia=1", counts());
+    }
+
+    @Test
+    void changesSeenDuringTheReadAreReplayedUnlessAlreadyRead() {
+        log.info("Testing that a reconcile keeps the changes its read misses and counts the others once");
+        when(novelRepo.findStates()).thenAnswer(invocation -> {
+            // committed after the statement took its snapshot: not in the rows
+            dictionary.novelUpdated(snapshot(1L, 1), novel(1L, 1, 2));
+            // committed before the snapshot, notified while the statement runs
+            dictionary.novelAdded(novel(5L, 0, 2));
+            return List.of(state(1L, 0, 1), state(2L, 0, 1), state(5L, 0, 2));
+        });
+
+        dictionary.load();
+
+        assertEquals("Action=2, Xianxia=1", counts());
+    }
+
+    @Test
+    void reconcileCorrectsDrift() {
+        log.info("Testing that a reconcile corrects counts moved behind the service's back");
+        List<NovelStateView> seeded = List.of(state(1L, 0, 1), state(2L, 0, 1));
+        when(novelRepo.findStates()).thenReturn(seeded);
+        dictionary.load();
+        assertEquals("Xianxia=2", counts());
+
+        List<NovelStateView> read = List.of(state(1L, 0, 1), state(2L, 0, 2), state(3L, 0, 2));
+        doReturn(read).when(novelRepo).findStates();
+        dictionary.reconcile();
+        assertEquals("Action=2, Xianxia=1", counts());
+    }
+
+}
@@ -0,0 +1,144 @@
+package com.novel.web.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.TaskScheduler;
+
+import com.novel.web.domain.Novel;
+import com.novel.web.domain.NovelOpinion;
+import com.novel.web.repositories.NovelRepository;
+import com.novel.web.repositories.projection.NovelListView;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+class LeaderboardsTest {
+
+    private NovelRepository novelRepo;
+
+    private TaskScheduler taskScheduler;
+
+    private Leaderboards leaderboards;
+
+    @BeforeEach
+    void setUp() {
+        novelRepo = mock(NovelRepository.class);
+        taskScheduler = mock(TaskScheduler.class);
+        leaderboards = new Leaderboards(novelRepo, taskScheduler, 3);
+        when(novelRepo.findMostRead(any(Limit.class))).thenReturn(List.of());
+        when(novelRepo.findRecentlyUpdated(any(Limit.class))).thenReturn(List.of());
+    }
+
+    private static NovelListView rated(long id, int rating) {
+        NovelListView view = mock(NovelListView.class);
+        when(view.getId()).thenReturn(id);
+        when(view.getRating()).thenReturn(rating);
+        return view;
+    }
+
+    private static Novel novel(long id, Integer rating, int chaptersRead) {
+        Novel novel = new Novel("Novel " + id, null, null, null);
+        novel.setID(id);
+        NovelOpinion opinion = new NovelOpinion();
+        opinion.setRating(rating);
+        opinion.setChaptersRead(chaptersRead);
+        novel.setNovelOpinion(opinion);
+        return novel;
+    }
+
+    /**
+     * loads the top-rated board from the given novels, best first
+     */
+    private void loadTopRated(NovelListView... novels) {
+        List<NovelListView> loaded = new ArrayList<>(List.of(novels));
+        when(novelRepo.findTopRated(Limit.of(4))).thenReturn(loaded);
+        leaderboards.reload();
+    }
+
+    @Test
+    void boardsAreUnavailableUntilLoaded() {
+        log.info("Testing that an unloaded board sends readers to the database once");
+        assertNull(leaderboards.top(Leaderboard.TOP_RATED, 2));
+        assertNull(leaderboards.top(Leaderboard.TOP_RATED, 2));
+        verify(taskScheduler, times(1)).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void smallLibraryIsHeldEntirely() {
+        log.info("Testing that a library smaller than the capacity is ranked exactly");
+        loadTopRated(rated(2L, 5), rated(1L, 3));
+
+        // every ranked novel is held, so fewer than asked is still the answer
+        assertEquals(List.of(2L, 1L), leaderboards.top(Leaderboard.TOP_RATED, 3));
+        leaderboards.novelAdded(novel(3L, 4, 0));
+        leaderboards.novelAdded(novel(4L, 4, 0));
+        assertEquals(List.of(2L, 4L, 3L), leaderboards.top(Leaderboard.TOP_RATED, 3));
+        // the fifth ranked novel pushes the last one out
+        leaderboards.novelAdded(novel(5L, 5, 0));
+        assertEquals(List.of(5L, 2L, 4L), leaderboards.top(Leaderboard.TOP_RATED, 3));
+        verify(taskScheduler, never()).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void novelDroppingOutOfABoundedBoardShrinksIt() {
+        log.info("Testing that a demoted novel leaves a board that does not hold every novel");
+        loadTopRated(rated(4L, 5), rated(3L, 5), rated(2L, 4), rated(1L, 1));
+        assertEquals(List.of(4L, 3L, 2L), leaderboards.top(Leaderboard.TOP_RATED, 3));
+
+        // still ranks before novel 1, the best novel not held
+        leaderboards.novelUpdated(null, novel(2L, 2, 0));
+        assertEquals(List.of(4L, 3L, 2L), leaderboards.top(Leaderboard.TOP_RATED, 3));
+
+        // novel 1 (not held) may rank before the demoted novel 3
+        leaderboards.novelUpdated(null, novel(3L, 0, 0));
+        assertEquals(List.of(4L, 2L), leaderboards.top(Leaderboard.TOP_RATED, 2));
+        assertNull(leaderboards.top(Leaderboard.TOP_RATED, 3));
+        verify(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+
+        // a novel beating the last held one still enters
+        leaderboards.novelUpdated(null, novel(1L, 5, 0));
+        assertEquals(List.of(4L, 1L, 2L), leaderboards.top(Leaderboard.TOP_RATED, 3));
+    }
+
+    @Test
+    void progressMovesTheMostReadBoard() {
+        log.info("Testing that written-behind progress updates the most-read board");
+        leaderboards.reload();
+        leaderboards.progressWritten(Map.of(1L, 10, 2L, 30));
+        leaderboards.novelAdded(novel(3L, null, 20));
+        assertEquals(List.of(2L, 3L, 1L), leaderboards.top(Leaderboard.MOST_READ, 3));
+
+        // resetting the progress unranks the novel
+        leaderboards.progressWritten(Map.of(2L, 0));
+        assertEquals(List.of(3L, 1L), leaderboards.top(Leaderboard.MOST_READ, 3));
+    }
+
+    @Test
+    void changesDuringALoadAreReplayed() {
+        log.info("Testing that a write seen while the board loads is not lost");
+        when(novelRepo.findTopRated(Limit.of(4))).thenAnswer(invocation -> {
+            // committed after the query read novel 2
+            leaderboards.novelUpdated(null, novel(2L, 1, 0));
+            return new ArrayList<>(List.of(rated(2L, 5), rated(1L, 3)));
+        });
+        leaderboards.reload();
+
+        assertEquals(List.of(1L, 2L), leaderboards.top(Leaderboard.TOP_RATED, 3));
+    }
+
+}
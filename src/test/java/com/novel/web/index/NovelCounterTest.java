@@ -0,0 +1,62 @@
+package com.novel.web.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.novel.web.domain.Novel;
+import com.novel.web.repositories.NovelRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+class NovelCounterTest {
+
+    private NovelRepository novelRepo;
+
+    private NovelCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        novelRepo = mock(NovelRepository.class);
+        counter = new NovelCounter(novelRepo);
+    }
+
+    @Test
+    void countIsUnknownUntilSeeded() {
+        log.info("Testing that an unseeded counter defers to the database");
+        assertNull(counter.get());
+    }
+
+    @Test
+    void addsMoveTheCountAndReconcileCorrectsDrift() {
+        log.info("Testing incremental count and reconciliation");
+        when(novelRepo.count()).thenReturn(10L);
+        counter.reconcile();
+        assertEquals(10L, counter.get());
+
+        counter.novelAdded(new Novel());
+        counter.novelAdded(new Novel());
+        assertEquals(12L, counter.get());
+
+        // rows written behind the service's back
+        when(novelRepo.count()).thenReturn(15L);
+        counter.reconcile();
+        assertEquals(15L, counter.get());
+    }
+
+    @Test
+    void failedReconcileKeepsTheLastCount() {
+        log.info("Testing that a database error leaves the count untouched");
+        when(novelRepo.count()).thenReturn(3L);
+        counter.reconcile();
+        when(novelRepo.count()).thenThrow(new IllegalStateException("db down"));
+        counter.reconcile();
+        assertEquals(3L, counter.get());
+    }
+
+}
@@ -0,0 +1,146 @@
+package com.novel.web.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.novel.web.domain.Novel;
+import com.novel.web.domain.NovelDetails;
+import com.novel.web.domain.NovelOpinion;
+import com.novel.web.dto.response.FacetCountDTO;
+import com.novel.web.repositories.NovelRepository;
+import com.novel.web.repositories.projection.NovelStateView;
+import com.novel.web.service.NovelSnapshot;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+class NovelFacetsTest {
+
+    private NovelRepository novelRepo;
+
+    private NovelFacets facets;
+
+    @BeforeEach
+    void setUp() {
+        novelRepo = mock(NovelRepository.class);
+        facets = new NovelFacets(novelRepo);
+    }
+
+    private static NovelStateView state(long id, long version, String status, Boolean favorite) {
+        NovelStateView view = mock(NovelStateView.class);
+        when(view.getId()).thenReturn(id);
+        when(view.getVersion()).thenReturn(version);
+        when(view.getStatus()).thenReturn(status);
+        when(view.getFavorite()).thenReturn(favorite);
+        return view;
+    }
+
+    private static Novel novel(long id, String status, Boolean favorite) {
+        Novel novel = new Novel("Novel " + id, null, null, null);
+        novel.setID(id);
+        if (status != null) {
+            NovelDetails details = new NovelDetails();
+            details.setStatus(status);
+            novel.setNovelDetails(details);
+        }
+        if (favorite != null) {
+            NovelOpinion opinion = new NovelOpinion();
+            opinion.setFavorite(favorite);
+            novel.setNovelOpinion(opinion);
+        }
+        return novel;
+    }
+
+    private static String text(List<FacetCountDTO> counts) {
+        return counts.stream().map(count -> count.getValue() + "=" + count.getCount())
+                .collect(Collectors.joining(", "));
+    }
+
+    private void seed(NovelStateView... states) {
+        when(novelRepo.findStates()).thenReturn(List.of(states));
+        facets.reconcile();
+    }
+
+    @Test
+    void countsAreUnknownUntilSeeded() {
+        log.info("Testing that unseeded facets report themselves unavailable");
+        assertNull(facets.statusCounts());
+        assertNull(facets.favoriteCounts());
+    }
+
+    @Test
+    void writesMoveTheCounts() {
+        log.info("Testing that adds and updates apply deltas to the facet counts");
+        seed(state(1L, 0, "Reading", false), state(2L, 0, "Reading", false), state(3L, 0, "Reading", null),
+                state(4L, 0, "Reading", false), state(5L, 0, "Completed", true), state(6L, 0, "Completed", false));
+        assertEquals("Reading=4, Completed=2", text(facets.statusCounts()));
+        assertEquals("false=5, true=1", text(facets.favoriteCounts()));
+
+        facets.novelAdded(novel(7L, " completed ", true));
+        facets.novelAdded(novel(8L, "Dropped", null));
+        assertEquals("Reading=4, Completed=3, Dropped=1", text(facets.statusCounts()));
+        assertEquals("false=6, true=2", text(facets.favoriteCounts()));
+
+        Novel updated = novel(1L, "Completed", true);
+        facets.novelUpdated(new NovelSnapshot(1L, "Novel 1", null, null, null, "READING", null, false), updated);
+        assertEquals("Completed=4, Reading=3, Dropped=1", text(facets.statusCounts()));
+        assertEquals("false=5, true=3", text(facets.favoriteCounts()));
+
+        facets.novelUpdated(new NovelSnapshot(8L, "Novel 8", null, null, null, "Dropped", null, false),
+                novel(8L, "Reading", null));
+        assertEquals("Completed=4, Reading=4", text(facets.statusCounts()));
+    }
+
+    @Test
+    void reconcileKeepsWritesMadeBeforeSeedingAndCorrectsDrift() {
+        log.info("Testing seeding over early writes and reconciliation");
+        facets.novelAdded(novel(1L, "Reading", false));
+        // the seeding read already sees novel 1
+        seed(state(1L, 0, "Reading", false), state(2L, 0, "Reading", false), state(3L, 0, "Reading", false));
+        assertEquals("Reading=3", text(facets.statusCounts()));
+
+        // rows written behind the service's back
+        seed(state(1L, 0, "reading", false), state(2L, 0, "reading", true), state(3L, 0, "reading", false),
+                state(4L, 0, "Completed", true), state(5L, 0, "Completed", null));
+        assertEquals("Reading=3, Completed=2", text(facets.statusCounts()));
+        assertEquals("false=3, true=2", text(facets.favoriteCounts()));
+    }
+
+    @Test
+    void changesSeenDuringTheReadAreReplayedUnlessAlreadyRead() {
+        log.info("Testing that a reconcile keeps the changes its read misses and counts the others once");
+        when(novelRepo.findStates()).thenAnswer(invocation -> {
+            // committed after the statement took its snapshot: not in the rows
+            Novel updated = novel(2L, "Completed", true);
+            updated.setVersion(1);
+            facets.novelUpdated(new NovelSnapshot(2L, "Novel 2", null, null, null, "Reading", null, false), updated);
+            // committed before the snapshot, notified while the statement runs
+            facets.novelAdded(novel(7L, "Reading", true));
+            return List.of(state(1L, 0, "Reading", false), state(2L, 0, "Reading", false),
+                    state(7L, 0, "Reading", true));
+        });
+
+        facets.reconcile();
+
+        assertEquals("Reading=2, Completed=1", text(facets.statusCounts()));
+        assertEquals("true=2, false=1", text(facets.favoriteCounts()));
+
+        // the next reconcile reads the change and does not replay it again
+        List<NovelStateView> read = List.of(state(1L, 0, "Reading", false), state(2L, 1, "Completed", true),
+                state(7L, 0, "Reading", true));
+        doReturn(read).when(novelRepo).findStates();
+        facets.reconcile();
+        assertEquals("Reading=2, Completed=1", text(facets.statusCounts()));
+        assertEquals("true=2, false=1", text(facets.favoriteCounts()));
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.novel.web.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.novel.web.domain.Novel;
+import com.novel.web.repositories.NovelRepository;
+import com.novel.web.repositories.projection.NovelNameView;
+import com.novel.web.service.NovelSnapshot;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+class NovelNameIndexTest {
+
+    private NovelRepository novelRepo;
+
+    private NovelNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        novelRepo = mock(NovelRepository.class);
+        index = new NovelNameIndex(novelRepo);
+    }
+
+    private static NovelNameView view(long id, String name, String originalName) {
+        NovelNameView view = mock(NovelNameView.class);
+        when(view.getId()).thenReturn(id);
+        when(view.getName()).thenReturn(name);
+        when(view.getOriginalName()).thenReturn(originalName);
+        return view;
+    }
+
+    private static Novel novel(long id, String name, String originalName) {
+        Novel novel = new Novel(name, null, null, originalName);
+        novel.setID(id);
+        return novel;
+    }
+
+    @Test
+    void searchReturnsNullUntilBuilt() {
+        log.info("Testing that an unbuilt index defers to the database");
+        assertNull(index.search("star"));
+    }
+
+    @Test
+    void searchMatchesSubstringsOfNameAndOriginalNameIgnoringCase() {
+        log.info("Testing trigram search over name and original name");
+        List<NovelNameView> library = List.of(
+                view(1L, "Nine Star Hegemon Body Art", "九星霸体诀"),
+                view(2L, "Sign in to the Ancient Saint Body at the beginning", "開局簽到荒古聖體"),
+                view(3L, "Star Martial God Technique", null));
+        when(novelRepo.findAllNames()).thenReturn(library);
+        index.rebuild();
+
+        assertEquals(List.of(1L, 3L), index.search("STAR"));
+        assertEquals(List.of(1L, 2L), index.search("body"));
+        assertEquals(List.of(2L), index.search("荒古聖"));
+        assertEquals(List.of(1L), index.search("九星"));
+        assertTrue(index.search("star body").isEmpty());
+    }
+
+    @Test
+    void writesKeepTheIndexInSync() {
+        log.info("Testing that adds and updates are reflected in searches");
+        List<NovelNameView> library = List.of(view(1L, "Martial Peak", null));
+        when(novelRepo.findAllNames()).thenReturn(library);
+        index.rebuild();
+
+        index.novelAdded(novel(2L, "Peak of True Martial Arts", null));
+        assertEquals(List.of(1L, 2L), index.search("martial"));
+
+        index.novelUpdated(new NovelSnapshot(1L, "Martial Peak", null, null, null, null, null, false), novel(1L, "Against the Gods", null));
+        assertEquals(List.of(2L), index.search("martial"));
+        assertEquals(List.of(1L), index.search("gods"));
+    }
+
+}
@@ -0,0 +1,170 @@
+package com.novel.web.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.novel.web.domain.Novel;
+import com.novel.web.domain.NovelOpinion;
+import com.novel.web.dto.response.RatingStatsDTO;
+import com.novel.web.repositories.NovelRepository;
+import com.novel.web.repositories.projection.NovelStateView;
+import com.novel.web.service.NovelSnapshot;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+class NovelRatingsTest {
+
+    private NovelRepository novelRepo;
+
+    private GenreDictionary genreDictionary;
+
+    private NovelRatings ratings;
+
+    @BeforeEach
+    void setUp() {
+        novelRepo = mock(NovelRepository.class);
+        genreDictionary = mock(GenreDictionary.class);
+        when(genreDictionary.nameOf(1)).thenReturn("Xianxia");
+        when(genreDictionary.nameOf(2)).thenReturn("Action");
+        ratings = new NovelRatings(novelRepo, genreDictionary);
+    }
+
+    private static NovelStateView state(long id, long version, Integer genreId, Integer rating, boolean favorite) {
+        NovelStateView view = mock(NovelStateView.class);
+        when(view.getId()).thenReturn(id);
+        when(view.getVersion()).thenReturn(version);
+        when(view.getGenreId()).thenReturn(genreId);
+        when(view.getRating()).thenReturn(rating);
+        when(view.getFavorite()).thenReturn(favorite);
+        return view;
+    }
+
+    private static Novel novel(long id, long version, Integer genreId, Integer rating, boolean favorite) {
+        Novel novel = new Novel("Novel " + id, null, null, null);
+        novel.setID(id);
+        novel.setVersion(version);
+        novel.setGenreId(genreId);
+        NovelOpinion opinion = new NovelOpinion();
+        opinion.setRating(rating);
+        opinion.setFavorite(favorite);
+        novel.setNovelOpinion(opinion);
+        return novel;
+    }
+
+    private static NovelSnapshot snapshot(long id, Integer genreId, Integer rating, boolean favorite) {
+        return new NovelSnapshot(id, "Novel " + id, null, genreId, null, null, rating, favorite);
+    }
+
+    private String genres() {
+        return ratings.genreRatings().stream().map(genre -> genre.getGenre() + "=" + genre.getRated() + "/"
+                + genre.getAverage()).collect(Collectors.joining(", "));
+    }
+
+    /**
+     * novels 1-2 rated 5 and novel 3 rated 3 in Xianxia, novel 4 rated 4 in
+     * Action; novels 1 and 4 are favorites
+     */
+    private void buildLibrary() {
+        List<NovelStateView> states = List.of(state(1L, 0, 1, 5, true), state(2L, 0, 1, 5, false),
+                state(3L, 0, 1, 3, false), state(4L, 0, 2, 4, true));
+        when(novelRepo.findStates()).thenReturn(states);
+        ratings.rebuild();
+    }
+
+    @Test
+    void readsReturnNullUntilBuilt() {
+        log.info("Testing that unbuilt aggregates report themselves unavailable");
+        assertNull(ratings.stats());
+        assertNull(ratings.genreRatings());
+        assertNull(ratings.favorites(0, 10));
+    }
+
+    @Test
+    void statsAreSeededFromTheDatabase() {
+        log.info("Testing the seeded histogram, genre averages and favorites");
+        buildLibrary();
+
+        RatingStatsDTO stats = ratings.stats();
+        assertEquals(Map.of(0, 0L, 1, 0L, 2, 0L, 3, 1L, 4, 1L, 5, 2L), stats.getHistogram());
+        assertEquals(4, stats.getRated());
+        assertEquals(4.25, stats.getAverage());
+        assertEquals("Xianxia=3/4.333333333333333, Action=1/4.0", genres());
+        assertEquals(List.of(1L, 4L), ratings.favorites(0, 10).ids());
+    }
+
+    @Test
+    void ratingChangesMoveTheAggregates() {
+        log.info("Testing that adds and updates are reflected in the aggregates");
+        buildLibrary();
+
+        ratings.novelAdded(novel(5L, 0, 2, 2, true));
+        ratings.novelUpdated(snapshot(3L, 1, 3, false), novel(3L, 1, 1, 5, false));
+        // moving a rated novel to another genre moves its rating along
+        ratings.novelUpdated(snapshot(2L, 1, 5, false), novel(2L, 1, 2, 5, false));
+        ratings.novelUpdated(snapshot(1L, 1, 5, true), novel(1L, 1, 1, 5, false));
+
+        RatingStatsDTO stats = ratings.stats();
+        assertEquals(0L, stats.getHistogram().get(3));
+        assertEquals(3L, stats.getHistogram().get(5));
+        assertEquals(5, stats.getRated());
+        assertEquals("Xianxia=2/5.0, Action=3/3.6666666666666665", genres());
+        assertEquals(List.of(4L, 5L), ratings.favorites(0, 10).ids());
+    }
+
+    @Test
+    void favoritesArePagedInIdOrder() {
+        log.info("Testing pagination of the favorites");
+        buildLibrary();
+        ratings.novelAdded(novel(7L, 0, null, null, true));
+
+        NovelRatings.FavoriteIds first = ratings.favorites(0, 2);
+        assertEquals(List.of(1L, 4L), first.ids());
+        assertEquals(3, first.total());
+        assertTrue(first.hasMore());
+
+        NovelRatings.FavoriteIds last = ratings.favorites(4, 2);
+        assertEquals(List.of(7L), last.ids());
+        assertFalse(last.hasMore());
+    }
+
+    @Test
+    void changesSeenDuringTheReadAreReplayedUnlessAlreadyRead() {
+        log.info("Testing that a rebuild keeps the changes its read misses and counts the others once");
+        when(novelRepo.findStates()).thenAnswer(invocation -> {
+            // committed after the statement took its snapshot: not in the rows
+            ratings.novelUpdated(snapshot(3L, 1, 3, false), novel(3L, 1, 1, 5, true));
+            // committed before the snapshot, notified while the statement runs
+            ratings.novelAdded(novel(5L, 0, 2, 2, false));
+            return List.of(state(1L, 0, 1, 5, true), state(2L, 0, 1, 5, false), state(3L, 0, 1, 3, false),
+                    state(4L, 0, 2, 4, true), state(5L, 0, 2, 2, false));
+        });
+
+        ratings.rebuild();
+
+        RatingStatsDTO stats = ratings.stats();
+        assertEquals(Map.of(0, 0L, 1, 0L, 2, 1L, 3, 0L, 4, 1L, 5, 3L), stats.getHistogram());
+        assertEquals(5, stats.getRated());
+        assertEquals(List.of(1L, 3L, 4L), ratings.favorites(0, 10).ids());
+
+        // the next rebuild reads the change and does not replay it again
+        List<NovelStateView> read = List.of(state(1L, 0, 1, 5, true), state(2L, 0, 1, 5, false),
+                state(3L, 1, 1, 5, true), state(4L, 0, 2, 4, true), state(5L, 0, 2, 2, false));
+        doReturn(read).when(novelRepo).findStates();
+        ratings.rebuild();
+        assertEquals(Map.of(0, 0L, 1, 0L, 2, 1L, 3, 0L, 4, 1L, 5, 3L), ratings.stats().getHistogram());
+    }
+
+}
@@ -0,0 +1,173 @@
+package com.novel.web.index;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.novel.web.domain.Novel;
+import com.novel.web.domain.NovelDetails;
+import com.novel.web.domain.Tag;
+import com.novel.web.repositories.NovelRepository;
+import com.novel.web.repositories.NovelTagRepository;
+import com.novel.web.repositories.NovelTagRepository.LinkConsumer;
+import com.novel.web.repositories.TagRepository;
+import com.novel.web.service.NovelSnapshot;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+class TagIndexTest {
+
+    private TagRepository tagRepo;
+
+    private NovelTagRepository novelTagRepo;
+
+    private NovelRepository novelRepo;
+
+    private TagIndex index;
+
+    @BeforeEach
+    void setUp() {
+        tagRepo = mock(TagRepository.class);
+        novelTagRepo = mock(NovelTagRepository.class);
+        novelRepo = mock(NovelRepository.class);
+        index = new TagIndex(tagRepo, novelTagRepo, novelRepo, mock(PlatformTransactionManager.class));
+    }
+
+    private static Tag tag(int id, String name) {
+        Tag tag = new Tag(name);
+        tag.setID(id);
+        return tag;
+    }
+
+    private static Novel novel(long id, String tags) {
+        Novel novel = new Novel("Novel " + id, null, null, null);
+        novel.setID(id);
+        novel.setNovelDetails(new NovelDetails(null, null, tags, 0, null));
+        return novel;
+    }
+
+    /**
+     * library of novels 1-6 tagged cultivation (1), system (2), harem (3) and
+     * weak to strong (4)
+     */
+    private void buildLibrary() {
+        when(tagRepo.findAll()).thenReturn(
+                List.of(tag(1, "cultivation"), tag(2, "system"), tag(3, "harem"), tag(4, "weak to strong")));
+        when(novelTagRepo.findUnlinkedTags()).thenReturn(Map.of());
+        when(novelRepo.findAllIds()).thenReturn(List.of(1L, 2L, 3L, 4L, 5L, 6L));
+        long[][] links = { { 1, 1 }, { 1, 2 }, { 2, 1 }, { 2, 3 }, { 3, 1 }, { 3, 2 }, { 3, 3 }, { 4, 2 },
+                { 5, 4 } };
+        doAnswer(invocation -> {
+            LinkConsumer consumer = invocation.getArgument(0);
+            for (long[] link : links) {
+                consumer.accept(link[0], (int) link[1]);
+            }
+            return null;
+        }).when(novelTagRepo).forEachLink(any());
+        index.rebuild();
+    }
+
+    private List<Long> search(String query) {
+        return index.search(TagExpression.parse(query), 0, 100).ids();
+    }
+
+    @Test
+    void parseBindsAndTighterThanOr() {
+        log.info("Testing operator precedence, implicit AND and quoting");
+        assertEquals("(\"a\" OR (\"b\" AND \"c\"))", TagExpression.parse("a or b AND c").toString());
+        assertEquals("((\"a\" OR \"b\") AND \"c\")", TagExpression.parse("(a OR b) c").toString());
+        assertEquals("(\"weak to strong\" AND NOT \"harem\")",
+                TagExpression.parse("\"Weak  To Strong\" not HAREM").toString());
+    }
+
+    @Test
+    void parseRejectsMalformedExpressions() {
+        log.info("Testing that malformed expressions are rejected");
+        for (String query : List.of("", "a AND", "(a OR b", "a )", "OR a", "\"a", "\" \"")) {
+            assertThrows(IllegalArgumentException.class, () -> TagExpression.parse(query), query);
+        }
+        assertThrows(IllegalArgumentException.class, () -> TagExpression.parse("(".repeat(40) + "a" + ")".repeat(40)));
+    }
+
+    @Test
+    void searchReturnsNullUntilBuilt() {
+        log.info("Testing that an unbuilt index reports itself unavailable");
+        assertNull(index.search(TagExpression.parse("system"), 0, 10));
+    }
+
+    @Test
+    void searchEvaluatesBooleanExpressions() {
+        log.info("Testing AND / OR / NOT over the tag bitmaps");
+        buildLibrary();
+
+        assertEquals(List.of(1L, 3L), search("cultivation AND system"));
+        assertEquals(List.of(1L), search("cultivation system NOT harem"));
+        assertEquals(List.of(1L, 3L, 4L, 5L), search("system OR \"weak to strong\""));
+        assertEquals(List.of(4L, 5L, 6L), search("NOT cultivation"));
+        assertEquals(List.of(2L, 4L), search("(harem OR system) AND NOT (cultivation system)"));
+        assertTrue(search("romance").isEmpty());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L), search("NOT romance"));
+    }
+
+    @Test
+    void searchPagesInIdOrder() {
+        log.info("Testing pagination of the matches");
+        buildLibrary();
+        TagExpression expression = TagExpression.parse("cultivation OR system");
+
+        TagIndex.TagMatches first = index.search(expression, 0, 2);
+        assertEquals(List.of(1L, 2L), first.ids());
+        assertEquals(4, first.total());
+        assertTrue(first.hasMore());
+
+        TagIndex.TagMatches last = index.search(expression, 2, 2);
+        assertEquals(List.of(3L, 4L), last.ids());
+        assertFalse(last.hasMore());
+    }
+
+    @Test
+    void writesKeepTheIndexInSync() {
+        log.info("Testing that adds and updates are reflected in searches");
+        buildLibrary();
+
+        index.novelAdded(novel(7L, "System, Harem"));
+        assertEquals(List.of(3L, 7L), search("system harem"));
+
+        index.novelUpdated(new NovelSnapshot(1L, "Novel 1", null, null, "cultivation, system", null, null, false),
+                novel(1L, "Cultivation, Weak to Strong"));
+        assertEquals(List.of(3L, 4L, 7L), search("system"));
+        assertEquals(List.of(1L, 5L), search("\"weak to strong\""));
+        assertEquals(Map.of("cultivation", 3, "system", 3, "harem", 3, "weak to strong", 2), index.tagCounts());
+    }
+
+    @Test
+    void resolveNormalizesAndCreatesTags() {
+        log.info("Testing that tags are normalized and new ones added to the dictionary");
+        buildLibrary();
+        when(tagRepo.save(any(Tag.class))).thenAnswer(invocation -> {
+            Tag tag = invocation.getArgument(0);
+            tag.setID(5);
+            return tag;
+        });
+
+        assertArrayEquals(new int[] { 2, 4 }, index.resolve(" weak   to STRONG ,System,, system"));
+        assertArrayEquals(new int[] { 1, 5 }, index.resolve("Cultivation, Romance"));
+        assertArrayEquals(new int[] { 5 }, index.idsOf("romance, unknown"));
+    }
+
+}
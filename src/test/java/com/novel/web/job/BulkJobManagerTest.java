@@ -0,0 +1,120 @@
+package com.novel.web.job;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.novel.web.dto.request.NovelRequestDTO;
+import com.novel.web.dto.response.BulkInsertResultDTO;
+import com.novel.web.dto.response.BulkJobDTO;
+import com.novel.web.service.BulkProgress;
+import com.novel.web.service.NovelService;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+class BulkJobManagerTest {
+
+    private final NovelService novelService = mock(NovelService.class);
+
+    private BulkJobManager manager;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        manager.shutdown();
+    }
+
+    @Test
+    void jobReportsCommittedAndFailedChunks() throws Exception {
+        log.info("Testing the counts reported by a finished job");
+        manager = new BulkJobManager(novelService, 1, 1, Duration.ofHours(1), 10);
+        when(novelService.addNovelsInBulk(anyList(), any())).thenAnswer(invocation -> {
+            BulkProgress progress = invocation.getArgument(1);
+            BulkInsertResultDTO chunk = new BulkInsertResultDTO();
+            chunk.setRequested(3);
+            chunk.setInserted(2);
+            chunk.setSkippedExisting(1);
+            progress.chunkCommitted(chunk);
+            progress.chunkFailed(Collections.nCopies(2, new NovelRequestDTO()), new IllegalStateException("down"));
+            return chunk;
+        });
+
+        String id = manager.submit(novels(5)).getId();
+        BulkJobDTO job = awaitFinished(id);
+
+        assertEquals(BulkJobStatus.COMPLETED, job.getStatus());
+        assertEquals(5, job.getTotal());
+        assertEquals(5, job.getProcessed());
+        assertEquals(2, job.getInserted());
+        assertEquals(1, job.getSkippedExisting());
+        assertEquals(2, job.getFailed());
+        assertEquals("down", job.getError());
+    }
+
+    @Test
+    void queuedJobIsCancelledWithoutRunning() throws Exception {
+        log.info("Testing cancellation of a job waiting for a worker");
+        manager = new BulkJobManager(novelService, 1, 1, Duration.ofHours(1), 10);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(novelService.addNovelsInBulk(anyList(), any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new BulkInsertResultDTO();
+        });
+
+        String running = manager.submit(novels(1)).getId();
+        String queued = manager.submit(novels(1)).getId();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertEquals(BulkJobStatus.CANCELLED, manager.cancel(queued).getStatus());
+        manager.cancel(running);
+        release.countDown();
+
+        assertEquals(BulkJobStatus.CANCELLED, awaitFinished(running).getStatus());
+        verify(novelService, times(1)).addNovelsInBulk(anyList(), any());
+    }
+
+    @Test
+    void finishedJobsAreForgottenAfterRetention() throws Exception {
+        log.info("Testing the retention of finished jobs");
+        manager = new BulkJobManager(novelService, 1, 1, Duration.ZERO, 10);
+        when(novelService.addNovelsInBulk(anyList(), any())).thenReturn(new BulkInsertResultDTO());
+
+        String id = manager.submit(novels(1)).getId();
+        awaitFinished(id);
+        Thread.sleep(5);
+        manager.purgeExpired();
+
+        assertNull(manager.get(id));
+    }
+
+    private BulkJobDTO awaitFinished(String id) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        BulkJobDTO job = manager.get(id);
+        while (!job.getStatus().isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            job = manager.get(id);
+        }
+        return job;
+    }
+
+    private static List<NovelRequestDTO> novels(int count) {
+        return Collections.nCopies(count, new NovelRequestDTO());
+    }
+
+}
@@ -0,0 +1,170 @@
+package com.novel.web.progress;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.novel.web.repositories.NovelBatchRepository;
+import com.novel.web.service.NovelChangePublisher;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+class ReadingProgressBufferTest {
+
+    private NovelBatchRepository novelBatchRepo;
+
+    private NovelChangePublisher changePublisher;
+
+    private TaskScheduler taskScheduler;
+
+    private ReadingProgressBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        novelBatchRepo = mock(NovelBatchRepository.class);
+        changePublisher = mock(NovelChangePublisher.class);
+        taskScheduler = mock(TaskScheduler.class);
+        buffer = new ReadingProgressBuffer(novelBatchRepo, changePublisher, taskScheduler, new SimpleMeterRegistry(),
+                3, 4);
+        when(novelBatchRepo.updateChaptersRead(anyMap())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void repeatedReportsAreCoalescedIntoTheLatest() {
+        log.info("Testing that a flush writes one row per novel with its latest progress");
+        buffer.record(1L, 10);
+        buffer.record(1L, 11);
+        buffer.record(2L, 5);
+        buffer.record(1L, 12);
+
+        assertEquals(2, buffer.flush());
+        verify(novelBatchRepo).updateChaptersRead(Map.of(1L, 12, 2L, 5));
+        verify(changePublisher).progressWritten(Map.of(1L, 12, 2L, 5));
+        assertEquals(0, buffer.getPending());
+        assertEquals(0, buffer.flush());
+        verify(novelBatchRepo, times(1)).updateChaptersRead(anyMap());
+    }
+
+    @Test
+    void flushWritesInBatchesOfTheThreshold() {
+        log.info("Testing that large buffers are written a batch at a time");
+        buffer.record(1L, 1);
+        buffer.record(2L, 2);
+        buffer.record(3L, 3);
+        buffer.record(4L, 4);
+
+        assertEquals(4, buffer.flush());
+        verify(novelBatchRepo, times(2)).updateChaptersRead(anyMap());
+    }
+
+    @Test
+    void reachingTheThresholdSchedulesAFlushOnce() {
+        log.info("Testing that a full batch triggers an early flush");
+        buffer.record(1L, 1);
+        buffer.record(2L, 2);
+        verify(taskScheduler, never()).schedule(any(Runnable.class), any(Instant.class));
+
+        buffer.record(3L, 3);
+        buffer.record(3L, 4);
+        verify(taskScheduler, times(1)).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void failedFlushKeepsTheProgressWithoutOverwritingNewerReports() {
+        log.info("Testing that a failed flush puts its batch back");
+        buffer.record(1L, 10);
+        buffer.record(2L, 20);
+        when(novelBatchRepo.updateChaptersRead(anyMap())).thenAnswer(invocation -> {
+            // reported while the failing batch was being written
+            buffer.record(1L, 11);
+            throw new IllegalStateException("db down");
+        });
+
+        assertEquals(0, buffer.flush());
+        assertEquals(2, buffer.getPending());
+        verify(changePublisher, never()).progressWritten(anyMap());
+
+        doAnswer(invocation -> invocation.getArgument(0)).when(novelBatchRepo).updateChaptersRead(anyMap());
+        buffer.flush();
+        verify(novelBatchRepo).updateChaptersRead(Map.of(1L, 11, 2L, 20));
+    }
+
+    @Test
+    void fullBufferRefusesNewNovelsOnly() {
+        log.info("Testing that a full buffer still accepts updates of waiting novels");
+        for (long id = 1; id <= 4; id++) {
+            assertTrue(buffer.record(id, 1));
+        }
+        assertFalse(buffer.record(5L, 1));
+        assertTrue(buffer.record(4L, 2));
+
+        buffer.shutdown();
+        assertEquals(0, buffer.getPending());
+    }
+
+    @Test
+    void updatedProgressIsRecordedOnlyOnceItsTransactionCommits() {
+        log.info("Testing that chaptersRead set by an update waits for its commit");
+        buffer.record(1L, 10);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            buffer.recordCommitted(1L, 30);
+        } finally {
+            // rolled back: the synchronizations are dropped without afterCommit
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        buffer.flush();
+        verify(novelBatchRepo).updateChaptersRead(Map.of(1L, 10));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            buffer.recordCommitted(1L, 30);
+            assertEquals(0, buffer.getPending());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        buffer.flush();
+        verify(novelBatchRepo).updateChaptersRead(Map.of(1L, 30));
+    }
+
+    @Test
+    void updateCommittedWhileABatchIsWrittenIsWrittenAfterIt() {
+        log.info("Testing that a batch taken before an update cannot leave its older value behind");
+        buffer.record(1L, 10);
+        when(novelBatchRepo.updateChaptersRead(anyMap())).thenAnswer(invocation -> {
+            // the update commits while the older batch is being written
+            buffer.recordCommitted(1L, 30);
+            return invocation.getArgument(0);
+        }).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertEquals(2, buffer.flush());
+        InOrder order = inOrder(novelBatchRepo);
+        order.verify(novelBatchRepo).updateChaptersRead(Map.of(1L, 10));
+        order.verify(novelBatchRepo).updateChaptersRead(Map.of(1L, 30));
+        assertEquals(0, buffer.getPending());
+    }
+
+}